@@ -1,5 +1,7 @@
 
 -- SCRIPT DE BASE DE DATOS - SISTEMA BANCARIO
+-- El esquema lo gestionan las migraciones de src/main/resources/db/migration (Flyway);
+-- este script queda como referencia y para cargar los datos de ejemplo.
 
 
 -- ============================================
@@ -0,0 +1,92 @@
+#!/usr/bin/env bash
+# Tiempo hasta el primer /actuator/health exitoso para el jar normal, el jar AOT y AOT + AppCDS.
+#
+#   mvn -Pfast-startup -DskipTests package
+#   scripts/startup-benchmark.sh [repeticiones]
+#
+# Usa el perfil embedded (H2) para no depender de la base de datos. El resultado queda en
+# target/startup-<version>.json para comparar entre releases.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${STARTUP_BENCHMARK_PORT:-18181}"
+PROFILES="${STARTUP_BENCHMARK_PROFILES:-embedded}"
+TIMEOUT_SECONDS=120
+VERSION="$(sed -n 's:^\t<version>\(.*\)</version>:\1:p' pom.xml | head -1)"
+FAT_JAR="target/ejercicio-tecnico-${VERSION}.jar"
+FAST_DIR="target/fast-startup"
+REPORT="target/startup-${VERSION}.json"
+
+for required in "$FAT_JAR" "$FAST_DIR/app.jar" "$FAST_DIR/app.jsa"; do
+    if [[ ! -f "$required" ]]; then
+        echo "Falta $required; ejecute primero: mvn -Pfast-startup -DskipTests package" >&2
+        exit 1
+    fi
+done
+
+now_ms() {
+    date +%s%3N
+}
+
+# Arranca la variante, espera el primer health 200 y devuelve los milisegundos transcurridos
+measure() {
+    local start pid elapsed
+    start="$(now_ms)"
+    java "$@" --server.port="$PORT" --spring.profiles.active="$PROFILES" > /dev/null 2>&1 &
+    pid=$!
+    elapsed=""
+    while (( $(now_ms) - start < TIMEOUT_SECONDS * 1000 )); do
+        if curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null 2>&1; then
+            elapsed=$(( $(now_ms) - start ))
+            break
+        fi
+        if ! kill -0 "$pid" 2> /dev/null; then
+            break
+        fi
+        sleep 0.05
+    done
+    kill "$pid" 2> /dev/null || true
+    wait "$pid" 2> /dev/null || true
+    if [[ -z "$elapsed" ]]; then
+        echo "La variante no respondió en ${TIMEOUT_SECONDS}s: $*" >&2
+        exit 1
+    fi
+    echo "$elapsed"
+}
+
+run_variant() {
+    local name="$1"
+    shift
+    local samples=()
+    for ((i = 1; i <= RUNS; i++)); do
+        samples+=("$(measure "$@")")
+        echo "  ${name} #${i}: ${samples[-1]} ms" >&2
+    done
+    printf '%s\n' "${samples[@]}" | sort -n | awk -v name="$name" '
+        { v[NR] = $1 }
+        END {
+            median = (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2
+            printf "    \"%s\": {\"minMs\": %d, \"medianaMs\": %d, \"maxMs\": %d, \"muestras\": %d}", name, v[1], median, v[NR], NR
+        }'
+}
+
+echo "Midiendo arranque (${RUNS} repeticiones por variante)" >&2
+{
+    echo "{"
+    echo "  \"version\": \"${VERSION}\","
+    echo "  \"java\": \"$(java -version 2>&1 | head -1 | sed 's/"//g')\","
+    echo "  \"perfiles\": \"${PROFILES}\","
+    echo "  \"variantes\": {"
+    run_variant "jar" -jar "$FAT_JAR"
+    echo ","
+    run_variant "aot" -Dspring.aot.enabled=true -jar "$FAST_DIR/app.jar"
+    echo ","
+    run_variant "aot-cds" -XX:SharedArchiveFile="$FAST_DIR/app.jsa" -Dspring.aot.enabled=true -jar "$FAST_DIR/app.jar"
+    echo
+    echo "  }"
+    echo "}"
+} > "$REPORT"
+
+cat "$REPORT"
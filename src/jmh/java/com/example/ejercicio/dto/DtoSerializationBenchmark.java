@@ -0,0 +1,54 @@
+package com.example.ejercicio.dto;
+
+import com.example.ejercicio.model.Money;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response DTOs, with an ObjectMapper built the way Spring MVC builds it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ClienteResponseDTO cliente;
+    private CuentaResponseDTO cuenta;
+    private MovimientoResponseDTO movimiento;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.now();
+        cliente = new ClienteResponseDTO(1L, "María García", "FEMENINO", 28, "1234567890",
+                "Av. Libertador 123, Caracas", "+58-212-1234567", "CLI001", true, now, now);
+        cuenta = new CuentaResponseDTO(1L, "4001234567890001", "AHORRO", Money.valueOf("1000.00"),
+                Money.valueOf("1250.00"), true, now, now, 1L, "María García");
+        movimiento = new MovimientoResponseDTO(1L, now, "CREDITO", Money.valueOf("250.00"),
+                Money.valueOf("1250.00"), "Depósito inicial", now, 1L, "4001234567890001", "María García");
+    }
+
+    @Benchmark
+    public byte[] clienteResponseDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cliente);
+    }
+
+    @Benchmark
+    public byte[] cuentaResponseDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cuenta);
+    }
+
+    @Benchmark
+    public byte[] movimientoResponseDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(movimiento);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ejercicio.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost paid on the request thread for one saldo read: Spring MVC dispatch lines, one SQL
+ * statement with its bind parameter and the request log line. SINCRONO_DEBUG mirrors the former
+ * defaults (DEBUG/TRACE, pattern layout, synchronous file append); PROD mirrors logback-spring.xml
+ * in the prod profile (INFO for Spring MVC, sampled SQL and request logs, async JSON).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+    private static final String SQL = "select c1_0.id,c1_0.saldo_actual from cuentas c1_0 where c1_0.id=?";
+
+    public enum Pipeline {
+        SINCRONO_DEBUG,
+        PROD
+    }
+
+    @Param({"SINCRONO_DEBUG", "PROD"})
+    public Pipeline pipeline;
+
+    private LoggerContext context;
+    private Logger web;
+    private Logger sql;
+    private Logger binder;
+    private Logger requests;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        context = new LoggerContext();
+        Appender<ILoggingEvent> appender = pipeline == Pipeline.PROD ? prodAppender() : syncAppender();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.addAppender(appender);
+        root.setLevel(Level.INFO);
+
+        web = context.getLogger("org.springframework.web.servlet.DispatcherServlet");
+        sql = context.getLogger("org.hibernate.SQL");
+        binder = context.getLogger("org.hibernate.orm.jdbc.bind");
+        requests = context.getLogger(RequestLogFilter.class);
+        web.setLevel(pipeline == Pipeline.PROD ? Level.INFO : Level.DEBUG);
+        sql.setLevel(Level.DEBUG);
+        binder.setLevel(Level.TRACE);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void saldoRequest() {
+        web.debug("GET \"/cuentas/{}/saldo\", parameters={}", 1L, "{}");
+        web.debug("Mapped to {}", "com.example.ejercicio.controller.CuentaController#getAccountBalance(Long)");
+        sql.debug(SQL);
+        binder.trace("binding parameter [{}] as [BIGINT] - [{}]", 1, 1L);
+        web.debug("Using 'application/json', given [*/*] and supported {}", "[application/json]");
+        web.debug("Writing [{}]", "1000.00");
+        web.debug("Completed 200 OK");
+        requests.info("{} {} -> {} en {} ms", "GET", "/cuentas/1/saldo", 200, 3L);
+    }
+
+    private Appender<ILoggingEvent> syncAppender() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setPattern(PATTERN);
+        return fileAppender(encoder);
+    }
+
+    private Appender<ILoggingEvent> prodAppender() {
+        SamplingFilter sampling = new SamplingFilter();
+        sampling.addLogger("org.hibernate.SQL");
+        sampling.addLogger("org.hibernate.orm.jdbc.bind");
+        sampling.addLogger(RequestLogFilter.class.getName());
+        sampling.setOneIn(100);
+        sampling.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC");
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addFilter(sampling);
+        async.addAppender(fileAppender(new LogstashEncoder()));
+        async.start();
+        return async;
+    }
+
+    private Appender<ILoggingEvent> fileAppender(Encoder<ILoggingEvent> encoder) {
+        encoder.setContext(context);
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile("target/jmh-logging-" + pipeline.name().toLowerCase() + ".log");
+        file.setAppend(false);
+        file.setEncoder(encoder);
+        file.start();
+        return file;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ejercicio.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money arithmetic done on every posting: the debit check of MovimientoServiceImpl.validatePosting
+ * (Cuenta.hasSufficientBalance) and Cuenta.updateBalance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CuentaBalanceBenchmark {
+
+    private Cuenta cuenta;
+    private Money debito;
+    private Money credito;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        cuenta = new Cuenta("4001234567890001", TipoCuenta.AHORRO, Money.valueOf("1000000.00"), null);
+        debito = Money.valueOf("-125.37");
+        credito = Money.valueOf("125.37");
+    }
+
+    @Benchmark
+    public boolean hasSufficientBalance() {
+        return cuenta.hasSufficientBalance(debito);
+    }
+
+    @Benchmark
+    public Money debitAndCredit() {
+        cuenta.updateBalance(debito);
+        cuenta.updateBalance(credito);
+        return cuenta.getSaldoActual();
+    }
+
+    @Benchmark
+    public Money checkedDebit() {
+        if (cuenta.hasSufficientBalance(debito)) {
+            cuenta.updateBalance(debito);
+        }
+        cuenta.updateBalance(credito);
+        return cuenta.getSaldoActual();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.ejercicio.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money against the BigDecimal code it replaced, for one posting (validation, new saldo, balance
+ * update) and for the JSON round trip of an amount. Run with the default gc profiler to compare
+ * gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final String VALOR_JSON = "-125.37";
+
+    private ObjectMapper objectMapper;
+    private BigDecimal saldoDecimal;
+    private BigDecimal valorDecimal;
+    private Money saldo;
+    private Money valor;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        saldoDecimal = new BigDecimal("1000000.00");
+        valorDecimal = new BigDecimal(VALOR_JSON);
+        saldo = Money.valueOf("1000000.00");
+        valor = Money.valueOf(VALOR_JSON);
+    }
+
+    @Benchmark
+    public void postingBigDecimal(Blackhole blackhole) {
+        // validatePosting, movimiento.setSaldo, cuenta.updateBalance and hasSufficientBalance before Money
+        if (valorDecimal.compareTo(BigDecimal.ZERO) < 0 && saldoDecimal.add(valorDecimal).compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalStateException();
+        }
+        blackhole.consume(saldoDecimal.add(valorDecimal));
+        blackhole.consume(saldoDecimal.compareTo(valorDecimal.abs()) >= 0);
+        saldoDecimal = saldoDecimal.add(valorDecimal).add(valorDecimal.negate());
+    }
+
+    @Benchmark
+    public void postingMoney(Blackhole blackhole) {
+        if (valor.isNegative() && saldo.getCents() + valor.getCents() < 0) {
+            throw new IllegalStateException();
+        }
+        blackhole.consume(saldo.plus(valor));
+        blackhole.consume(saldo.getCents() >= Math.abs(valor.getCents()));
+        saldo = saldo.plus(valor).minus(valor);
+    }
+
+    @Benchmark
+    public BigDecimal jsonBigDecimal() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(valorDecimal), BigDecimal.class);
+    }
+
+    @Benchmark
+    public Money jsonMoney() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(valor), Money.class);
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.example.ejercicio.repository;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date-range queries of MovimientoRepository against the same rows in a plain and in a monthly
+ * partitioned table. Needs PostgreSQL: BENCH_DB_URL, BENCH_DB_USER, BENCH_DB_PASSWORD and
+ * BENCH_FILAS (default 100M). Tables live in the bench_particiones schema and are reused by
+ * later runs with the same row count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MovimientoPartitionBenchmark {
+
+    private static final String SCHEMA = "bench_particiones";
+    private static final int MONTHS = 24;
+    private static final int ROWS_PER_ACCOUNT = 500;
+    private static final long INSERT_CHUNK = 5_000_000L;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    public enum Tabla {
+        PLANA("movimientos_plana"),
+        PARTICIONADA("movimientos_particionada");
+
+        private final String table;
+
+        Tabla(String table) {
+            this.table = table;
+        }
+    }
+
+    @Param({"PLANA", "PARTICIONADA"})
+    public Tabla tabla;
+
+    private Connection connection;
+    private PreparedStatement accountMonth;
+    private PreparedStatement globalDay;
+    private long accounts;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws SQLException {
+        long rows = Long.parseLong(env("BENCH_FILAS", "100000000"));
+        accounts = Math.max(1, rows / ROWS_PER_ACCOUNT);
+        connection = DriverManager.getConnection(env("BENCH_DB_URL", "jdbc:postgresql://localhost:5432/postgres"),
+                env("BENCH_DB_USER", "postgres"), env("BENCH_DB_PASSWORD", ""));
+        populate(rows);
+
+        String table = SCHEMA + "." + tabla.table;
+        accountMonth = connection.prepareStatement("SELECT id, fecha, valor, saldo FROM " + table +
+                " WHERE cuenta_id = ? AND fecha BETWEEN ? AND ? ORDER BY fecha DESC");
+        globalDay = connection.prepareStatement("SELECT COUNT(*), SUM(valor) FROM " + table + " WHERE fecha BETWEEN ? AND ?");
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * findByCuentaIdAndFechaBetween over one month of one account.
+     */
+    @Benchmark
+    public long rangoMensualPorCuenta() throws SQLException {
+        LocalDateTime month = START.plusMonths(random.nextInt(MONTHS));
+        accountMonth.setLong(1, 1 + random.nextLong(accounts));
+        accountMonth.setTimestamp(2, Timestamp.valueOf(month));
+        accountMonth.setTimestamp(3, Timestamp.valueOf(month.plusMonths(1).minusNanos(1000)));
+        return consume(accountMonth);
+    }
+
+    /**
+     * findByFechaBetween over one day, aggregated so the result transfer does not dominate.
+     */
+    @Benchmark
+    public long rangoDiarioGlobal() throws SQLException {
+        LocalDateTime day = START.plusDays(random.nextInt(MONTHS * 30));
+        globalDay.setTimestamp(1, Timestamp.valueOf(day));
+        globalDay.setTimestamp(2, Timestamp.valueOf(day.plusDays(1).minusNanos(1000)));
+        return consume(globalDay);
+    }
+
+    private static long consume(PreparedStatement statement) throws SQLException {
+        long rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows += resultSet.getLong(1);
+            }
+        }
+        return rows;
+    }
+
+    private void populate(long rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+            if (rows == count(statement, "movimientos_plana") && rows == count(statement, "movimientos_particionada")) {
+                return;
+            }
+            statement.execute("DROP TABLE IF EXISTS " + SCHEMA + ".movimientos_plana, " + SCHEMA + ".movimientos_particionada");
+            String columns = "(id BIGINT NOT NULL, fecha TIMESTAMP NOT NULL, tipo_movimiento VARCHAR(20) NOT NULL, " +
+                    "valor DECIMAL(15,2) NOT NULL, saldo DECIMAL(15,2) NOT NULL, descripcion VARCHAR(200), cuenta_id BIGINT NOT NULL";
+            statement.execute("CREATE TABLE " + SCHEMA + ".movimientos_plana " + columns + ", PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE " + SCHEMA + ".movimientos_particionada " + columns + ", PRIMARY KEY (id, fecha)) PARTITION BY RANGE (fecha)");
+            for (int m = 0; m < MONTHS; m++) {
+                LocalDateTime month = START.plusMonths(m);
+                statement.execute(String.format("CREATE TABLE %s.movimientos_particionada_p%d PARTITION OF %s.movimientos_particionada " +
+                        "FOR VALUES FROM ('%s') TO ('%s')", SCHEMA, m, SCHEMA, Timestamp.valueOf(month), Timestamp.valueOf(month.plusMonths(1))));
+            }
+
+            long seconds = TimeUnit.DAYS.toSeconds(MONTHS * 30L);
+            for (long from = 1; from <= rows; from += INSERT_CHUNK) {
+                long to = Math.min(rows, from + INSERT_CHUNK - 1);
+                statement.execute(String.format("INSERT INTO %s.movimientos_plana SELECT g, TIMESTAMP '%s' + ((g * 7919) %% %d) * INTERVAL '1 second', " +
+                        "CASE WHEN g %% 2 = 0 THEN 'CREDITO' ELSE 'DEBITO' END, (g %% 1000) - 450, g %% 100000, 'Movimiento de prueba', " +
+                        "1 + (g * 104729) %% %d FROM generate_series(%d::bigint, %d::bigint) g", SCHEMA, Timestamp.valueOf(START), seconds, accounts, from, to));
+            }
+            statement.execute("INSERT INTO " + SCHEMA + ".movimientos_particionada SELECT * FROM " + SCHEMA + ".movimientos_plana");
+            for (Tabla target : Tabla.values()) {
+                statement.execute("CREATE INDEX ON " + SCHEMA + "." + target.table + " (cuenta_id, fecha DESC)");
+                statement.execute("CREATE INDEX ON " + SCHEMA + "." + target.table + " (fecha)");
+                statement.execute("VACUUM ANALYZE " + SCHEMA + "." + target.table);
+            }
+        }
+    }
+
+    private static long count(Statement statement, String table) throws SQLException {
+        try (ResultSet exists = statement.executeQuery("SELECT to_regclass('" + SCHEMA + "." + table + "') IS NOT NULL")) {
+            exists.next();
+            if (!exists.getBoolean(1)) {
+                return -1;
+            }
+        }
+        try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + SCHEMA + "." + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+}
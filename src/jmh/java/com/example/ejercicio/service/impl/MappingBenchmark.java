@@ -0,0 +1,75 @@
+package com.example.ejercicio.service.impl;
+
+import com.example.ejercicio.dto.ClienteResponseDTO;
+import com.example.ejercicio.dto.CuentaResponseDTO;
+import com.example.ejercicio.dto.MovimientoResponseDTO;
+import com.example.ejercicio.model.Cliente;
+import com.example.ejercicio.model.Cuenta;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.model.Movimiento;
+import com.example.ejercicio.model.TipoCuenta;
+import com.example.ejercicio.model.TipoMovimiento;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response DTO mapping used by every read endpoint.
+ * The services are built without repositories because the converters never touch them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private MovimientoServiceImpl movimientoService;
+    private CuentaServiceImpl cuentaService;
+    private ClienteServiceImpl clienteService;
+
+    private Cliente cliente;
+    private Cuenta cuenta;
+    private Movimiento movimiento;
+
+    @Setup
+    public void setUp() {
+        movimientoService = new MovimientoServiceImpl(null, null, null, null, null);
+        cuentaService = new CuentaServiceImpl(null, null, null, null, null, null, null);
+        clienteService = new ClienteServiceImpl(null, null, null, null);
+
+        LocalDateTime now = LocalDateTime.now();
+        cliente = new Cliente("María García", "FEMENINO", 28, "1234567890",
+                "Av. Libertador 123, Caracas", "+58-212-1234567", "CLI001", "password123");
+        cliente.setId(1L);
+        cliente.setFechaCreacion(now);
+        cliente.setFechaActualizacion(now);
+
+        cuenta = new Cuenta("4001234567890001", TipoCuenta.AHORRO, Money.valueOf("1000.00"), cliente);
+        cuenta.setId(1L);
+        cuenta.setFechaCreacion(now);
+        cuenta.setFechaActualizacion(now);
+
+        movimiento = new Movimiento(now, TipoMovimiento.CREDITO, Money.valueOf("250.00"),
+                Money.valueOf("1250.00"), "Depósito inicial", cuenta);
+        movimiento.setId(1L);
+        movimiento.setFechaCreacion(now);
+    }
+
+    @Benchmark
+    public MovimientoResponseDTO movimientoToResponseDTO() {
+        return movimientoService.convertToResponseDTO(movimiento);
+    }
+
+    @Benchmark
+    public CuentaResponseDTO cuentaToResponseDTO() {
+        return cuentaService.convertToResponseDTO(cuenta);
+    }
+
+    @Benchmark
+    public ClienteResponseDTO clienteToResponseDTO() {
+        return clienteService.convertirAClienteResponseDTO(cliente);
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.ejercicio.admission;
+
+import com.example.ejercicio.exception.TooManyRequestsException;
+import com.example.ejercicio.repository.ClienteRepository;
+import com.example.ejercicio.repository.CuentaRepository;
+import com.example.ejercicio.repository.CuentaTitularView;
+import com.example.ejercicio.repository.MovimientoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-client and per-account admission control for the posting and account mutation endpoints.
+ * Buckets live in bounded Caffeine caches and are dropped once they have not been used for
+ * {@code app.admission.idle-timeout}; a full cache evicts in constant time. An id without a bucket
+ * is looked up only after taking a token from the global lookup bucket, so ids that are not cached
+ * cannot drive queries faster than {@code app.admission.consulta}. Ids that do not exist get no
+ * bucket of their own: they are remembered for {@code app.admission.unknown-ttl} and share one
+ * bucket per scope, so bogus ids can neither fill the caches, nor repeat the lookup, nor escape
+ * throttling.
+ */
+@Component
+public class AdmissionControl {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+
+    private static final String THROTTLED_METRIC = "admission.throttled";
+    private static final String EVICTED_METRIC = "admission.evicted";
+    private static final String SCOPE_CLIENT = "cliente";
+    private static final String SCOPE_ACCOUNT = "cuenta";
+    private static final String SCOPE_MOVEMENT = "movimiento";
+    private static final String UNKNOWN_TYPE = "desconocido";
+    private static final String TOO_MANY_REQUESTS_MESSAGE = "Demasiadas solicitudes para %s %d. Intente nuevamente en %d segundo(s)";
+
+    private final AdmissionProperties properties;
+    private final ClienteRepository clienteRepository;
+    private final CuentaRepository cuentaRepository;
+    private final MovimientoRepository movimientoRepository;
+    private final MeterRegistry meterRegistry;
+    private final Counter evictedCounter;
+
+    private final Cache<Long, Entry> clientBuckets;
+    private final Cache<Long, AccountEntry> accountBuckets;
+    private final Cache<Long, Boolean> unknownClientIds;
+    private final Cache<Long, Boolean> unknownAccountIds;
+    private final Entry unknownClients;
+    private final AccountEntry unknownAccounts;
+    private final Entry lookups;
+
+    public AdmissionControl(AdmissionProperties properties, ClienteRepository clienteRepository,
+                            CuentaRepository cuentaRepository, MovimientoRepository movimientoRepository,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clienteRepository = clienteRepository;
+        this.cuentaRepository = cuentaRepository;
+        this.movimientoRepository = movimientoRepository;
+        this.meterRegistry = meterRegistry;
+        this.evictedCounter = meterRegistry.counter(EVICTED_METRIC);
+        this.clientBuckets = newBucketCache();
+        this.accountBuckets = newBucketCache();
+        this.unknownClientIds = newUnknownIdCache();
+        this.unknownAccountIds = newUnknownIdCache();
+        this.unknownClients = new Entry(newBucket(properties.getCliente()));
+        this.unknownAccounts = new AccountEntry(newBucket(properties.getCuenta()), null, null);
+        this.lookups = new Entry(newBucket(properties.getConsulta()));
+    }
+
+    /**
+     * Charges one request against the account bucket and the bucket of its owner. The client
+     * token is given back when the account bucket rejects the request.
+     */
+    public void checkAccount(Long cuentaId) {
+        if (!properties.isEnabled() || cuentaId == null) {
+            return;
+        }
+        checkAccounts(List.of(cuentaId));
+    }
+
+    /**
+     * Charges one request against every account the given movements belong to, and their
+     * owners, as if each account had been changed on its own. Finding the accounts is a lookup
+     * and takes a token from the lookup bucket first; if any bucket rejects the request, every
+     * token already taken is given back.
+     */
+    public void checkMovements(Collection<Long> movimientoIds) {
+        if (!properties.isEnabled() || movimientoIds == null || movimientoIds.isEmpty()) {
+            return;
+        }
+        acquire(lookups, SCOPE_MOVEMENT, movimientoIds.iterator().next(), null);
+        checkAccounts(movimientoRepository.findCuentaIdsByIdIn(movimientoIds));
+    }
+
+    /**
+     * Charges one request against the client bucket.
+     */
+    public void checkClient(Long clienteId) {
+        if (!properties.isEnabled() || clienteId == null) {
+            return;
+        }
+        Entry entry = clientBuckets.getIfPresent(clienteId);
+        if (entry == null) {
+            entry = lookupClient(clienteId);
+        }
+        acquire(entry, SCOPE_CLIENT, clienteId, null);
+    }
+
+    /**
+     * Keys that have been shed the most since their bucket was created, for the admission actuator endpoint.
+     */
+    public Map<String, Object> snapshot(int limit) {
+        clientBuckets.cleanUp();
+        accountBuckets.cleanUp();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("clientesActivos", clientBuckets.asMap().size());
+        result.put("cuentasActivas", accountBuckets.asMap().size());
+        result.put("consultasLimitadas", lookups.throttled.sum());
+        result.put("clientesLimitados", topThrottled(clientBuckets.asMap(), limit));
+        result.put("cuentasLimitadas", topThrottled(accountBuckets.asMap(), limit));
+        return result;
+    }
+
+    private void checkAccounts(Collection<Long> cuentaIds) {
+        List<Entry> charged = new ArrayList<>();
+        try {
+            for (Long cuentaId : cuentaIds) {
+                AccountEntry entry = accountBuckets.getIfPresent(cuentaId);
+                if (entry == null) {
+                    entry = lookupAccount(cuentaId);
+                }
+                if (entry.clienteId != null) {
+                    Entry client = clientEntry(entry.clienteId);
+                    acquire(client, SCOPE_CLIENT, entry.clienteId, null);
+                    charged.add(client);
+                }
+                acquire(entry, SCOPE_ACCOUNT, cuentaId, entry.tipoCuenta);
+                charged.add(entry);
+            }
+        } catch (TooManyRequestsException e) {
+            charged.forEach(entry -> entry.bucket.refund());
+            throw e;
+        }
+    }
+
+    private AccountEntry lookupAccount(Long cuentaId) {
+        if (unknownAccountIds.getIfPresent(cuentaId) != null) {
+            return unknownAccounts;
+        }
+        acquire(lookups, SCOPE_ACCOUNT, cuentaId, null);
+        CuentaTitularView titular = cuentaRepository.findTitularById(cuentaId).orElse(null);
+        if (titular == null) {
+            // No bucket of its own: a flood of bad ids shares one bucket instead of filling the cache
+            unknownAccountIds.put(cuentaId, Boolean.TRUE);
+            return unknownAccounts;
+        }
+        String tipoCuenta = titular.getTipoCuenta().name();
+        return accountBuckets.get(cuentaId,
+                id -> new AccountEntry(newBucket(properties.limitForAccountType(tipoCuenta)), titular.getClienteId(), tipoCuenta));
+    }
+
+    private Entry lookupClient(Long clienteId) {
+        if (unknownClientIds.getIfPresent(clienteId) != null) {
+            return unknownClients;
+        }
+        acquire(lookups, SCOPE_CLIENT, clienteId, null);
+        if (!clienteRepository.existsById(clienteId)) {
+            unknownClientIds.put(clienteId, Boolean.TRUE);
+            return unknownClients;
+        }
+        return clientEntry(clienteId);
+    }
+
+    /**
+     * Bucket of a client known to exist, as the owner of an account or checked by the caller
+     */
+    private Entry clientEntry(Long clienteId) {
+        return clientBuckets.get(clienteId, id -> new Entry(newBucket(properties.getCliente())));
+    }
+
+    private static TokenBucket newBucket(AdmissionProperties.Limit limit) {
+        return new TokenBucket(limit.getRatePerSecond(), limit.getBurst());
+    }
+
+    /**
+     * Bounded by {@code max-entries}. A bucket unused for {@code idle-timeout} has refilled, so
+     * dropping it loses no state; only evictions for size are counted.
+     */
+    private <V> Cache<Long, V> newBucketCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .scheduler(Scheduler.systemScheduler())
+                .evictionListener((Long id, V entry, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evictedCounter.increment();
+                    }
+                })
+                .build();
+    }
+
+    private Cache<Long, Boolean> newUnknownIdCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getUnknownTtl())
+                .build();
+    }
+
+    private void acquire(Entry entry, String scope, Long id, String tipoCuenta) {
+        long waitNanos = entry.bucket.tryAcquire();
+        if (waitNanos == 0L) {
+            return;
+        }
+        entry.throttled.increment();
+        meterRegistry.counter(THROTTLED_METRIC, "scope", scope, "tipoCuenta", tipoCuenta != null ? tipoCuenta : UNKNOWN_TYPE)
+                .increment();
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.debug("Solicitud limitada: {} {} (reintentar en {}s)", scope, id, retryAfterSeconds);
+        throw new TooManyRequestsException(String.format(TOO_MANY_REQUESTS_MESSAGE, scope, id, retryAfterSeconds), retryAfterSeconds);
+    }
+
+    private Map<Long, Long> topThrottled(Map<Long, ? extends Entry> buckets, int limit) {
+        Map<Long, Long> top = new LinkedHashMap<>();
+        buckets.entrySet().stream()
+                .filter(e -> e.getValue().throttled.sum() > 0)
+                .sorted(Comparator.comparingLong((Map.Entry<Long, ? extends Entry> e) -> e.getValue().throttled.sum()).reversed())
+                .limit(limit)
+                .forEach(e -> top.put(e.getKey(), e.getValue().throttled.sum()));
+        return top;
+    }
+
+    private static class Entry {
+        final TokenBucket bucket;
+        final LongAdder throttled = new LongAdder();
+
+        Entry(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+
+    private static class AccountEntry extends Entry {
+        final Long clienteId;
+        final String tipoCuenta;
+
+        AccountEntry(TokenBucket bucket, Long clienteId, String tipoCuenta) {
+            super(bucket);
+            this.clienteId = clienteId;
+            this.tipoCuenta = tipoCuenta;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.ejercicio.admission;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Exposes the clients and accounts currently being shed at /actuator/admission
+ */
+@Component
+@Endpoint(id = "admission")
+public class AdmissionEndpoint {
+
+    private static final int TOP_KEYS = 20;
+
+    private final AdmissionControl admissionControl;
+
+    public AdmissionEndpoint(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @ReadOperation
+    public Map<String, Object> admission() {
+        return admissionControl.snapshot(TOP_KEYS);
+    }
+}
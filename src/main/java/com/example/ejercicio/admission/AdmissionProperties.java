@@ -0,0 +1,123 @@
+package com.example.ejercicio.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    /**
+     * How long an id found not to exist shares the unknown bucket without being looked up again
+     */
+    private Duration unknownTtl = Duration.ofMinutes(1);
+    private Limit cliente = new Limit(20, 40);
+    private Limit cuenta = new Limit(10, 20);
+
+    /**
+     * Global limit on the lookups made for ids that have no bucket yet
+     */
+    private Limit consulta = new Limit(200, 400);
+
+    /**
+     * Per tipoCuenta overrides of the account limit, e.g. app.admission.tipos-cuenta.CORRIENTE.rate-per-second=50
+     */
+    private Map<String, Limit> tiposCuenta = new HashMap<>();
+
+    public Limit limitForAccountType(String tipoCuenta) {
+        if (tipoCuenta == null) {
+            return cuenta;
+        }
+        return tiposCuenta.getOrDefault(tipoCuenta, cuenta);
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Duration getUnknownTtl() {
+        return unknownTtl;
+    }
+
+    public void setUnknownTtl(Duration unknownTtl) {
+        this.unknownTtl = unknownTtl;
+    }
+
+    public Limit getCliente() {
+        return cliente;
+    }
+
+    public void setCliente(Limit cliente) {
+        this.cliente = cliente;
+    }
+
+    public Limit getCuenta() {
+        return cuenta;
+    }
+
+    public void setCuenta(Limit cuenta) {
+        this.cuenta = cuenta;
+    }
+
+    public Limit getConsulta() {
+        return consulta;
+    }
+
+    public void setConsulta(Limit consulta) {
+        this.consulta = consulta;
+    }
+
+    public Map<String, Limit> getTiposCuenta() {
+        return tiposCuenta;
+    }
+
+    public void setTiposCuenta(Map<String, Limit> tiposCuenta) {
+        this.tiposCuenta = tiposCuenta;
+    }
+
+    public static class Limit {
+        private double ratePerSecond;
+        private int burst;
+
+        public Limit() {
+        }
+
+        public Limit(double ratePerSecond, int burst) {
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+        }
+
+        public double getRatePerSecond() { return ratePerSecond; }
+        public void setRatePerSecond(double ratePerSecond) { this.ratePerSecond = ratePerSecond; }
+
+        public int getBurst() { return burst; }
+        public void setBurst(int burst) { this.burst = burst; }
+    }
+}
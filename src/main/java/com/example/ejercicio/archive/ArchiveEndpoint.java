@@ -0,0 +1,56 @@
+package com.example.ejercicio.archive;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lists the archived months at /actuator/archive; a POST runs the archival job right away.
+ */
+@Component
+@Endpoint(id = "archive")
+public class ArchiveEndpoint {
+
+    private final MovementArchive archive;
+    private final ObjectProvider<MovementArchiver> archiver;
+
+    public ArchiveEndpoint(MovementArchive archive, ObjectProvider<MovementArchiver> archiver) {
+        this.archive = archive;
+        this.archiver = archiver;
+    }
+
+    @ReadOperation
+    public Map<String, Object> archive() {
+        List<Map<String, Object>> months = new ArrayList<>();
+        for (YearMonth month : archive.archivedMonths()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("mes", month.toString());
+            entry.put("bytes", archive.sizeInBytes(month));
+            months.add(entry);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("habilitado", archiver.getIfAvailable() != null);
+        result.put("meses", months);
+        return result;
+    }
+
+    @WriteOperation
+    public Map<String, Object> run() {
+        MovementArchiver job = archiver.getIfAvailable();
+        if (job == null) {
+            throw new IllegalStateException("El archivado está desactivado (app.archive.enabled=false)");
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("primerMesVivo", job.firstLiveMonth().toString());
+        result.put("archivados", job.archiveBefore(job.firstLiveMonth()).stream().map(YearMonth::toString).toList());
+        return result;
+    }
+}
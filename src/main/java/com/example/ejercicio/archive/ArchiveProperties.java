@@ -0,0 +1,74 @@
+package com.example.ejercicio.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+
+    /**
+     * Enables the archival job. Reads always include whatever is already archived.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Must be storage every instance shares and that honours fsync (not a per-node local disk):
+     * the archived months are deleted from the database, so this is their only copy.
+     */
+    private String directory = "data/archive";
+
+    /**
+     * Months kept in the live table, counting the current one; older closed months are archived.
+     */
+    private int liveMonths = 3;
+
+    /**
+     * Consecutive account ids sharing one segment file per month.
+     */
+    private int accountsPerSegment = 10_000;
+
+    /**
+     * Rows per compressed block, the granularity of the sparse index.
+     */
+    private int rowsPerBlock = 1_024;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getLiveMonths() {
+        return liveMonths;
+    }
+
+    public void setLiveMonths(int liveMonths) {
+        this.liveMonths = liveMonths;
+    }
+
+    public int getAccountsPerSegment() {
+        return accountsPerSegment;
+    }
+
+    public void setAccountsPerSegment(int accountsPerSegment) {
+        this.accountsPerSegment = accountsPerSegment;
+    }
+
+    public int getRowsPerBlock() {
+        return rowsPerBlock;
+    }
+
+    public void setRowsPerBlock(int rowsPerBlock) {
+        this.rowsPerBlock = rowsPerBlock;
+    }
+}
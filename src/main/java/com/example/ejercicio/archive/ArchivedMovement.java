@@ -0,0 +1,64 @@
+package com.example.ejercicio.archive;
+
+import com.example.ejercicio.model.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * One movement read back from an archive segment.
+ */
+public class ArchivedMovement {
+
+    private final long id;
+    private final long cuentaId;
+    private final LocalDateTime fecha;
+    private final String tipoMovimiento;
+    private final Money valor;
+    private final Money saldo;
+    private final String descripcion;
+    private final LocalDateTime fechaCreacion;
+
+    public ArchivedMovement(long id, long cuentaId, LocalDateTime fecha, String tipoMovimiento, Money valor,
+                            Money saldo, String descripcion, LocalDateTime fechaCreacion) {
+        this.id = id;
+        this.cuentaId = cuentaId;
+        this.fecha = fecha;
+        this.tipoMovimiento = tipoMovimiento;
+        this.valor = valor;
+        this.saldo = saldo;
+        this.descripcion = descripcion;
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getCuentaId() {
+        return cuentaId;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public String getTipoMovimiento() {
+        return tipoMovimiento;
+    }
+
+    public Money getValor() {
+        return valor;
+    }
+
+    public Money getSaldo() {
+        return saldo;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+}
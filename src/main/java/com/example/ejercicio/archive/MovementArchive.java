@@ -0,0 +1,169 @@
+package com.example.ejercicio.archive;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Read side of the movement archive: {@code <directory>/<yyyyMM>/cuentas_<desde>-<hasta>.seg},
+ * one segment per account range and month. A month is visible only once its COMPLETO marker
+ * exists, i.e. after all its segments were written; until then its rows are still live.
+ */
+@Component
+public class MovementArchive {
+
+    static final String COMPLETE_MARKER = "COMPLETO";
+    static final DateTimeFormatter MONTH_DIRECTORY = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final Pattern MONTH_NAME = Pattern.compile("\\d{6}");
+    private static final Pattern SEGMENT_NAME = Pattern.compile("cuentas_(\\d+)-(\\d+)\\.seg");
+    private static final Comparator<ArchivedMovement> CHRONOLOGICAL =
+            Comparator.comparing(ArchivedMovement::getFecha).thenComparingLong(ArchivedMovement::getId);
+
+    private final Path root;
+    private final Map<Path, CachedIndex> indexes = new ConcurrentHashMap<>();
+
+    public MovementArchive(ArchiveProperties properties) {
+        this.root = Paths.get(properties.getDirectory());
+    }
+
+    /**
+     * Archived movements of one account (any account when null) between two dates (unbounded
+     * when null), oldest first.
+     */
+    public List<ArchivedMovement> find(Long cuentaId, LocalDateTime fechaInicio, LocalDateTime fechaFin) {
+        long fromMicros = fechaInicio == null ? Long.MIN_VALUE : SegmentFormat.toMicros(fechaInicio);
+        long toMicros = fechaFin == null ? Long.MAX_VALUE : SegmentFormat.toMicros(fechaFin);
+        List<ArchivedMovement> movements = new ArrayList<>();
+        for (YearMonth month : archivedMonths()) {
+            if ((fechaInicio != null && month.isBefore(YearMonth.from(fechaInicio)))
+                    || (fechaFin != null && month.isAfter(YearMonth.from(fechaFin)))) {
+                continue;
+            }
+            for (Path segment : cuentaId == null ? segments(month, Long.MIN_VALUE, Long.MAX_VALUE) : segments(month, cuentaId, cuentaId)) {
+                try {
+                    SegmentReader.scan(segment, index(segment), cuentaId, fromMicros, toMicros, movements::add);
+                } catch (IOException e) {
+                    throw new IllegalStateException("No se pudo leer el segmento histórico " + segment, e);
+                }
+            }
+        }
+        movements.sort(CHRONOLOGICAL);
+        return movements;
+    }
+
+    /**
+     * Hands every archived movement of the accounts in [desdeCuenta, hastaCuenta] to {@code sink},
+     * month by month, without collecting them; only the segments overlapping the range are read.
+     */
+    public void scan(long desdeCuenta, long hastaCuenta, Consumer<ArchivedMovement> sink) {
+        Consumer<ArchivedMovement> inRange = movement -> {
+            if (movement.getCuentaId() >= desdeCuenta && movement.getCuentaId() <= hastaCuenta) {
+                sink.accept(movement);
+            }
+        };
+        // A single account also lets the block index skip the blocks of its neighbours
+        Long cuentaId = desdeCuenta == hastaCuenta ? desdeCuenta : null;
+        for (YearMonth month : archivedMonths()) {
+            for (Path segment : segments(month, desdeCuenta, hastaCuenta)) {
+                try {
+                    SegmentReader.scan(segment, index(segment), cuentaId, Long.MIN_VALUE, Long.MAX_VALUE, inRange);
+                } catch (IOException e) {
+                    throw new IllegalStateException("No se pudo leer el segmento histórico " + segment, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Months whose archive is complete, oldest first.
+     */
+    public List<YearMonth> archivedMonths() {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> months = Files.list(root)) {
+            return months.filter(dir -> MONTH_NAME.matcher(dir.getFileName().toString()).matches())
+                    .filter(dir -> Files.exists(dir.resolve(COMPLETE_MARKER)))
+                    .map(dir -> YearMonth.parse(dir.getFileName().toString(), MONTH_DIRECTORY))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo listar el archivo histórico " + root, e);
+        }
+    }
+
+    public long sizeInBytes(YearMonth month) {
+        try (Stream<Path> files = Files.list(monthDirectory(month))) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo listar el mes histórico " + month, e);
+        }
+    }
+
+    public boolean isArchived(YearMonth month) {
+        return Files.exists(monthDirectory(month).resolve(COMPLETE_MARKER));
+    }
+
+    Path monthDirectory(YearMonth month) {
+        return root.resolve(month.format(MONTH_DIRECTORY));
+    }
+
+    static String segmentName(long firstCuenta, long lastCuenta) {
+        return "cuentas_" + firstCuenta + "-" + lastCuenta + ".seg";
+    }
+
+    /**
+     * Segments of a month whose account range overlaps [desdeCuenta, hastaCuenta].
+     */
+    private List<Path> segments(YearMonth month, long desdeCuenta, long hastaCuenta) {
+        try (Stream<Path> files = Files.list(monthDirectory(month))) {
+            return files.filter(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                return matcher.matches()
+                        && desdeCuenta <= Long.parseLong(matcher.group(2)) && hastaCuenta >= Long.parseLong(matcher.group(1));
+            }).sorted().toList();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo listar el mes histórico " + month, e);
+        }
+    }
+
+    /**
+     * Sparse index of a segment, reloaded only if the file was rewritten.
+     */
+    private List<SegmentFormat.BlockIndex> index(Path segment) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(segment);
+        CachedIndex cached = indexes.get(segment);
+        if (cached == null || !cached.modified.equals(modified)) {
+            cached = new CachedIndex(modified, SegmentReader.readIndex(segment));
+            indexes.put(segment, cached);
+        }
+        return cached.blocks;
+    }
+
+    private static final class CachedIndex {
+        final FileTime modified;
+        final List<SegmentFormat.BlockIndex> blocks;
+
+        CachedIndex(FileTime modified, List<SegmentFormat.BlockIndex> blocks) {
+            this.modified = modified;
+            this.blocks = blocks;
+        }
+    }
+}
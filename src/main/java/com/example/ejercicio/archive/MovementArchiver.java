@@ -0,0 +1,265 @@
+package com.example.ejercicio.archive;
+
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.model.TipoMovimiento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves closed months of movimientos older than {@code app.archive.live-months} into segment
+ * files. Each month is streamed in (cuenta_id, fecha, id) order into one segment per account
+ * range; once all are written a COMPLETO marker records the highest archived id, and only then
+ * are the month's rows removed from the live table, by dropping its partition when it has one.
+ * Segments, marker and directory are all synced to disk before that removal, so a power loss
+ * cannot leave a month deleted from the table with its archive still in the page cache.
+ * A crash in between leaves rows in both places, which readers de-duplicate by id and the next
+ * run removes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true")
+public class MovementArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(MovementArchiver.class);
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final String MAX_ID_KEY = "maxId=";
+    private static final String OLDEST_MOVEMENT_QUERY = "SELECT MIN(fecha) FROM movimientos";
+    private static final String MONTH_QUERY = "SELECT id, cuenta_id, fecha, tipo_movimiento, valor, saldo, descripcion, fecha_creacion " +
+            "FROM movimientos WHERE fecha >= ? AND fecha < ? ORDER BY cuenta_id, fecha, id";
+    private static final String NEWER_ROWS_QUERY = "SELECT COUNT(*) FROM movimientos WHERE fecha >= ? AND fecha < ? AND id > ?";
+    private static final String DELETE_ARCHIVED = "DELETE FROM movimientos WHERE fecha >= ? AND fecha < ? AND id <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MovementArchive archive;
+    private final ArchiveProperties properties;
+
+    public MovementArchiver(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, MovementArchive archive,
+                            ArchiveProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = transactionTemplate;
+        this.archive = archive;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 45 2 * * *}")
+    public void archiveClosedMonths() {
+        try {
+            archiveBefore(firstLiveMonth());
+        } catch (RuntimeException e) {
+            log.error("Falló el archivado de movimientos", e);
+        }
+    }
+
+    public YearMonth firstLiveMonth() {
+        return YearMonth.now().minusMonths(properties.getLiveMonths() - 1L);
+    }
+
+    /**
+     * Archives every month before {@code firstLiveMonth} that still has live rows and returns
+     * the months newly written to the archive.
+     */
+    public List<YearMonth> archiveBefore(YearMonth firstLiveMonth) {
+        List<YearMonth> archived = new ArrayList<>();
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_MOVEMENT_QUERY, Timestamp.class);
+        if (oldest == null) {
+            return archived;
+        }
+        for (YearMonth month = YearMonth.from(oldest.toLocalDateTime()); month.isBefore(firstLiveMonth); month = month.plusMonths(1)) {
+            try {
+                if (archiveMonth(month)) {
+                    archived.add(month);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo archivar el mes " + month, e);
+            }
+        }
+        return archived;
+    }
+
+    private boolean archiveMonth(YearMonth month) throws IOException {
+        Path directory = archive.monthDirectory(month);
+        Long maxId = archivedMaxId(directory);
+        boolean written = false;
+        if (maxId == null) {
+            maxId = writeSegments(month, directory);
+            if (maxId == null) {
+                return false;
+            }
+            written = true;
+        }
+        removeLive(month, maxId);
+        return written;
+    }
+
+    private Long writeSegments(YearMonth month, Path directory) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+        sync(directory.getParent());
+        try (Stream<Path> leftovers = Files.list(directory)) {
+            for (Path leftover : leftovers.toList()) {
+                Files.delete(leftover);
+            }
+        }
+
+        MonthWriter writer = new MonthWriter(directory);
+        try (writer) {
+            transactionTemplate.executeWithoutResult(status -> streamingJdbcTemplate.query(MONTH_QUERY, writer,
+                    from(month), from(month.plusMonths(1))));
+        }
+        if (writer.rows == 0) {
+            return null;
+        }
+        // The segments' renames must be on disk before the marker that vouches for them, and the marker before removeLive
+        sync(directory);
+        writeDurably(directory.resolve(MovementArchive.COMPLETE_MARKER),
+                MAX_ID_KEY + writer.maxId + System.lineSeparator() + "filas=" + writer.rows + System.lineSeparator());
+        sync(directory);
+        log.info("Mes {} archivado: {} movimientos en {} segmentos, {} KB, {} ms", month, writer.rows, writer.segments,
+                archive.sizeInBytes(month) / 1024, (System.nanoTime() - start) / 1_000_000);
+        return writer.maxId;
+    }
+
+    /**
+     * Drops the month's partition when nothing newer than the archive landed in it since;
+     * otherwise deletes just the archived rows.
+     */
+    private void removeLive(YearMonth month, long maxId) {
+        Timestamp from = from(month);
+        Timestamp to = from(month.plusMonths(1));
+        String partition = "movimientos_p" + month.format(MovementArchive.MONTH_DIRECTORY);
+        transactionTemplate.executeWithoutResult(status -> {
+            Integer newer = jdbcTemplate.queryForObject(NEWER_ROWS_QUERY, Integer.class, from, to, maxId);
+            if (newer != null && newer == 0 && hasPartition(partition)) {
+                jdbcTemplate.execute("ALTER TABLE movimientos DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Partición {} eliminada tras archivar el mes", partition);
+            }
+            int deleted = jdbcTemplate.update(DELETE_ARCHIVED, from, to, maxId);
+            if (deleted > 0) {
+                log.info("{} movimientos archivados de {} eliminados de la tabla viva", deleted, month);
+            }
+            if (newer != null && newer > 0) {
+                log.warn("{} movimientos de {} llegaron después de archivarlo y siguen en la tabla viva", newer, month);
+            }
+        });
+    }
+
+    private boolean hasPartition(String partition) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(database)
+                && Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition));
+    }
+
+    private static Long archivedMaxId(Path directory) throws IOException {
+        Path marker = directory.resolve(MovementArchive.COMPLETE_MARKER);
+        if (!Files.exists(marker)) {
+            return null;
+        }
+        List<String> lines = Files.readAllLines(marker);
+        return lines.stream().filter(line -> line.startsWith(MAX_ID_KEY))
+                .map(line -> Long.parseLong(line.substring(MAX_ID_KEY.length())))
+                .findFirst()
+                .orElseThrow(() -> new IOException("Marcador de archivo sin " + MAX_ID_KEY + ": " + marker));
+    }
+
+    private static void writeDurably(Path file, String content) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Syncs a directory so the entries created or renamed in it survive a crash (fsync on the
+     * directory, which POSIX file systems need and the JDK allows by opening it for reading).
+     */
+    private static void sync(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static Timestamp from(YearMonth month) {
+        return Timestamp.valueOf(month.atDay(1).atStartOfDay());
+    }
+
+    /**
+     * Streams a month's rows into one segment per account range, opening the next segment when
+     * the account id leaves the current range.
+     */
+    private final class MonthWriter implements RowCallbackHandler, Closeable {
+
+        private final Path directory;
+        private SegmentWriter segment;
+        private long rangeEnd = -1;
+        private long rows;
+        private long maxId = Long.MIN_VALUE;
+        private int segments;
+
+        MonthWriter(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            long cuentaId = rs.getLong(2);
+            try {
+                if (cuentaId > rangeEnd) {
+                    close();
+                    long rangeStart = cuentaId / properties.getAccountsPerSegment() * properties.getAccountsPerSegment();
+                    rangeEnd = rangeStart + properties.getAccountsPerSegment() - 1;
+                    segment = new SegmentWriter(directory.resolve(MovementArchive.segmentName(rangeStart, rangeEnd)),
+                            properties.getRowsPerBlock());
+                    segments++;
+                }
+                segment.append(id, cuentaId, rs.getTimestamp(3).toLocalDateTime(), TipoMovimiento.fromCode(rs.getShort(4)).name(), Money.of(rs.getBigDecimal(5)),
+                        Money.of(rs.getBigDecimal(6)), rs.getString(7), rs.getTimestamp(8).toLocalDateTime());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows++;
+            maxId = Math.max(maxId, id);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (segment != null) {
+                segment.close();
+                segment = null;
+            }
+        }
+    }
+}
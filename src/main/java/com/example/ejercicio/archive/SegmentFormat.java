@@ -0,0 +1,91 @@
+package com.example.ejercicio.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Layout and value encodings shared by {@link SegmentWriter} and {@link SegmentReader}.
+ * <p>
+ * A segment holds the movements of one account range and one month, sorted by cuenta_id, fecha
+ * and id, in blocks of up to {@code rowsPerBlock} rows. Each block stores its columns one after
+ * another (ids, accounts, dates and amounts as zigzag varint deltas, texts through a per-block
+ * dictionary) and is deflated on its own. A footer lists, per block, its offset, length, row
+ * count and account and date ranges: the sparse index readers use to skip blocks.
+ * <pre>
+ * MAGIC | block... | blockCount | (offset, length, rows, firstCuenta, lastCuenta, minFecha, maxFecha)... | indexOffset | MAGIC
+ * </pre>
+ */
+final class SegmentFormat {
+
+    static final int MAGIC = 0x4D4F5631;
+    static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private SegmentFormat() {
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+
+    static long readVarLong(DataInputStream in) throws IOException {
+        long zigzag = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    static void writeString(ByteArrayOutputStream out, String value) throws IOException {
+        new DataOutputStream(out).writeUTF(value);
+    }
+
+    /**
+     * Footer entry describing one block.
+     */
+    static final class BlockIndex {
+        final long offset;
+        final int length;
+        final int rows;
+        final long firstCuenta;
+        final long lastCuenta;
+        final long minFecha;
+        final long maxFecha;
+
+        BlockIndex(long offset, int length, int rows, long firstCuenta, long lastCuenta, long minFecha, long maxFecha) {
+            this.offset = offset;
+            this.length = length;
+            this.rows = rows;
+            this.firstCuenta = firstCuenta;
+            this.lastCuenta = lastCuenta;
+            this.minFecha = minFecha;
+            this.maxFecha = maxFecha;
+        }
+
+        boolean overlaps(Long cuentaId, long fromMicros, long toMicros) {
+            return (cuentaId == null || (cuentaId >= firstCuenta && cuentaId <= lastCuenta))
+                    && maxFecha >= fromMicros && minFecha <= toMicros;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.ejercicio.archive;
+
+import com.example.ejercicio.model.Money;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads segment files written by {@link SegmentWriter}. The sparse index of a file is loaded
+ * once and kept by {@link MovementArchive}; only the blocks whose account and date ranges
+ * overlap a query are read and inflated.
+ */
+final class SegmentReader {
+
+    private SegmentReader() {
+    }
+
+    static List<SegmentFormat.BlockIndex> readIndex(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer trailer = read(channel, size - SegmentFormat.TRAILER_BYTES, SegmentFormat.TRAILER_BYTES);
+            long indexOffset = trailer.getLong();
+            if (trailer.getInt() != SegmentFormat.MAGIC) {
+                throw new IOException("Segmento de archivo corrupto: " + file);
+            }
+            ByteBuffer footer = read(channel, indexOffset, (int) (size - SegmentFormat.TRAILER_BYTES - indexOffset));
+            int blocks = footer.getInt();
+            List<SegmentFormat.BlockIndex> index = new ArrayList<>(blocks);
+            for (int i = 0; i < blocks; i++) {
+                index.add(new SegmentFormat.BlockIndex(footer.getLong(), footer.getInt(), footer.getInt(),
+                        footer.getLong(), footer.getLong(), footer.getLong(), footer.getLong()));
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Hands every row of the matching blocks that belongs to {@code cuentaId} (any account when
+     * null) and falls within [fromMicros, toMicros] to {@code sink}.
+     */
+    static void scan(Path file, List<SegmentFormat.BlockIndex> index, Long cuentaId, long fromMicros, long toMicros,
+                     Consumer<ArchivedMovement> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Inflater inflater = new Inflater();
+            try {
+                for (SegmentFormat.BlockIndex block : index) {
+                    if (block.overlaps(cuentaId, fromMicros, toMicros)) {
+                        ByteBuffer compressed = read(channel, block.offset, block.length);
+                        decode(inflate(inflater, compressed), block.rows, cuentaId, fromMicros, toMicros, sink);
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Segmento de archivo corrupto: " + file, e);
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+
+    private static void decode(byte[] raw, int rows, Long cuentaId, long fromMicros, long toMicros,
+                               Consumer<ArchivedMovement> sink) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        long[] ids = readDeltas(in, rows);
+        long[] cuentas = readDeltas(in, rows);
+        long[] fechas = readDeltas(in, rows);
+        long[] fechasCreacion = readDeltas(in, rows);
+        long[] valores = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            valores[i] = SegmentFormat.readVarLong(in);
+        }
+        long[] saldos = readDeltas(in, rows);
+        String[] tipos = readDictionary(in, rows);
+        String[] descripciones = readDictionary(in, rows);
+        for (int i = 0; i < rows; i++) {
+            if ((cuentaId == null || cuentas[i] == cuentaId) && fechas[i] >= fromMicros && fechas[i] <= toMicros) {
+                sink.accept(new ArchivedMovement(ids[i], cuentas[i], SegmentFormat.fromMicros(fechas[i]), tipos[i],
+                        Money.ofCents(valores[i]), Money.ofCents(saldos[i]), descripciones[i],
+                        SegmentFormat.fromMicros(fechasCreacion[i])));
+            }
+        }
+    }
+
+    private static long[] readDeltas(DataInputStream in, int rows) throws IOException {
+        long[] column = new long[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += SegmentFormat.readVarLong(in);
+            column[i] = previous;
+        }
+        return column;
+    }
+
+    private static String[] readDictionary(DataInputStream in, int rows) throws IOException {
+        String[] values = new String[(int) SegmentFormat.readVarLong(in) + 1];
+        for (int i = 1; i < values.length; i++) {
+            values[i] = in.readUTF();
+        }
+        String[] column = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            column[i] = values[(int) SegmentFormat.readVarLong(in)];
+        }
+        return column;
+    }
+
+    private static byte[] inflate(Inflater inflater, ByteBuffer compressed) throws DataFormatException {
+        inflater.reset();
+        inflater.setInput(compressed);
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(compressed.remaining() * 4);
+        byte[] buffer = new byte[8192];
+        while (!inflater.finished()) {
+            int n = inflater.inflate(buffer);
+            if (n == 0 && inflater.needsInput()) {
+                throw new DataFormatException("Bloque truncado");
+            }
+            raw.write(buffer, 0, n);
+        }
+        return raw.toByteArray();
+    }
+
+    private static ByteBuffer read(FileChannel channel, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Fin de archivo inesperado en segmento");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.ejercicio.archive;
+
+import com.example.ejercicio.model.Money;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Writes one segment file. Rows must arrive sorted by cuenta_id, fecha and id; only the current
+ * block is held in memory. The file is written under a temporary name, forced to disk and moved
+ * into place by {@link #close()}, so readers never see a partial segment. Making the rename itself
+ * durable is up to the caller, which syncs the directory once all segments are in place.
+ */
+class SegmentWriter implements Closeable {
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private final int rowsPerBlock;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final List<SegmentFormat.BlockIndex> index = new ArrayList<>();
+
+    private final long[] ids;
+    private final long[] cuentas;
+    private final long[] fechas;
+    private final long[] fechasCreacion;
+    private final long[] valores;
+    private final long[] saldos;
+    private final String[] tipos;
+    private final String[] descripciones;
+    private int rows;
+    private long position;
+    private long totalRows;
+
+    SegmentWriter(Path target, int rowsPerBlock) throws IOException {
+        this.target = target;
+        this.temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        this.rowsPerBlock = rowsPerBlock;
+        this.ids = new long[rowsPerBlock];
+        this.cuentas = new long[rowsPerBlock];
+        this.fechas = new long[rowsPerBlock];
+        this.fechasCreacion = new long[rowsPerBlock];
+        this.valores = new long[rowsPerBlock];
+        this.saldos = new long[rowsPerBlock];
+        this.tipos = new String[rowsPerBlock];
+        this.descripciones = new String[rowsPerBlock];
+        writeInt(SegmentFormat.MAGIC);
+    }
+
+    void append(long id, long cuentaId, LocalDateTime fecha, String tipoMovimiento, Money valor, Money saldo,
+                String descripcion, LocalDateTime fechaCreacion) throws IOException {
+        ids[rows] = id;
+        cuentas[rows] = cuentaId;
+        fechas[rows] = SegmentFormat.toMicros(fecha);
+        fechasCreacion[rows] = SegmentFormat.toMicros(fechaCreacion);
+        valores[rows] = valor.getCents();
+        saldos[rows] = saldo.getCents();
+        tipos[rows] = tipoMovimiento;
+        descripciones[rows] = descripcion;
+        rows++;
+        totalRows++;
+        if (rows == rowsPerBlock) {
+            flushBlock();
+        }
+    }
+
+    long getRows() {
+        return totalRows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+            long indexOffset = position;
+            writeInt(index.size());
+            for (SegmentFormat.BlockIndex block : index) {
+                writeLong(block.offset);
+                writeInt(block.length);
+                writeInt(block.rows);
+                writeLong(block.firstCuenta);
+                writeLong(block.lastCuenta);
+                writeLong(block.minFecha);
+                writeLong(block.maxFecha);
+            }
+            writeLong(indexOffset);
+            writeInt(SegmentFormat.MAGIC);
+            out.flush();
+            channel.force(true);
+            out.close();
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            deflater.end();
+            out.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        ByteArrayOutputStream block = new ByteArrayOutputStream(rows * 16);
+        writeDeltas(block, ids);
+        writeDeltas(block, cuentas);
+        writeDeltas(block, fechas);
+        writeDeltas(block, fechasCreacion);
+        for (int i = 0; i < rows; i++) {
+            SegmentFormat.writeVarLong(block, valores[i]);
+        }
+        writeDeltas(block, saldos);
+        writeDictionary(block, tipos);
+        writeDictionary(block, descripciones);
+
+        byte[] compressed = deflate(block.toByteArray());
+        long minFecha = Long.MAX_VALUE;
+        long maxFecha = Long.MIN_VALUE;
+        for (int i = 0; i < rows; i++) {
+            minFecha = Math.min(minFecha, fechas[i]);
+            maxFecha = Math.max(maxFecha, fechas[i]);
+        }
+        index.add(new SegmentFormat.BlockIndex(position, compressed.length, rows, cuentas[0], cuentas[rows - 1], minFecha, maxFecha));
+        out.write(compressed);
+        position += compressed.length;
+        rows = 0;
+    }
+
+    private void writeDeltas(ByteArrayOutputStream block, long[] column) {
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            SegmentFormat.writeVarLong(block, column[i] - previous);
+            previous = column[i];
+        }
+    }
+
+    /**
+     * Distinct values first (null as code 0), then one code per row.
+     */
+    private void writeDictionary(ByteArrayOutputStream block, String[] column) throws IOException {
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> values = new ArrayList<>();
+        int[] rowCodes = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            if (column[i] != null) {
+                rowCodes[i] = codes.computeIfAbsent(column[i], value -> {
+                    values.add(value);
+                    return values.size();
+                });
+            }
+        }
+        SegmentFormat.writeVarLong(block, values.size());
+        for (String value : values) {
+            SegmentFormat.writeString(block, value);
+        }
+        for (int i = 0; i < rows; i++) {
+            SegmentFormat.writeVarLong(block, rowCodes[i]);
+        }
+    }
+
+    private byte[] deflate(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return compressed.toByteArray();
+    }
+
+    private void writeInt(int value) throws IOException {
+        out.writeInt(value);
+        position += Integer.BYTES;
+    }
+
+    private void writeLong(long value) throws IOException {
+        out.writeLong(value);
+        position += Long.BYTES;
+    }
+}
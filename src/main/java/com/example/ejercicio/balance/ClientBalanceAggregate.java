@@ -0,0 +1,108 @@
+package com.example.ejercicio.balance;
+
+import com.example.ejercicio.model.Cuenta;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.model.SaldoCliente;
+import com.example.ejercicio.repository.SaldoClienteRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Maintains saldos_cliente, the per-client sum of active account balances. Changes are applied
+ * as a delta with a single UPDATE inside the caller's transaction, so the aggregate commits or
+ * rolls back together with the account it follows and concurrent postings on other accounts of
+ * the same client never lose an update. ClienteServiceImpl creates the row with the client;
+ * clients loaded outside the services (DataInitializer, the synthetic data generator) get one
+ * computed from their accounts on their first change.
+ */
+@Component
+public class ClientBalanceAggregate {
+
+    private static final String ADD_DELTA = "UPDATE saldos_cliente SET saldo_total = saldo_total + ? WHERE cliente_id = ?";
+
+    private final SaldoClienteRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClientBalanceAggregate(SaldoClienteRepository repository, JdbcTemplate jdbcTemplate) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<Money> find(Long clienteId) {
+        return repository.findById(clienteId).map(SaldoCliente::getSaldoTotal);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void clientCreated(Long clienteId) {
+        repository.crear(clienteId);
+    }
+
+    /**
+     * Follows a change of {@code delta} in the balance of {@code cuenta}; inactive accounts do not count.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void balanceChanged(Cuenta cuenta, Money delta) {
+        if (Boolean.TRUE.equals(cuenta.getEstado())) {
+            add(cuenta.getCliente().getId(), delta);
+        }
+    }
+
+    /**
+     * Follows an account that has just been activated or deactivated, or opened with its initial balance.
+     * The delta is the account's saldo_actual, so {@code cuenta} must be new or read with its row locked
+     * (CuentaRepository.findVigenteByIdForUpdate): a cached copy may miss postings made since.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Cuenta cuenta) {
+        Money saldo = cuenta.getSaldoActual();
+        add(cuenta.getCliente().getId(), Boolean.TRUE.equals(cuenta.getEstado()) ? saldo : saldo.negate());
+    }
+
+    /**
+     * Follows balance changes written in bulk to active accounts, one delta per client, in JDBC batches.
+     * Rows are updated in client id order whatever the map's order, so concurrent callers sharing
+     * clients wait for each other instead of deadlocking.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void balancesChanged(Map<Long, Money> deltasByClient) {
+        List<Long> clientes = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        new TreeMap<>(deltasByClient).forEach((clienteId, delta) -> {
+            if (delta.signum() != 0) {
+                clientes.add(clienteId);
+                rows.add(new Object[]{delta.toBigDecimal(), clienteId});
+            }
+        });
+        int[] updated = jdbcTemplate.batchUpdate(ADD_DELTA, rows);
+        for (int i = 0; i < updated.length; i++) {
+            // Clients without a row yet get one built from their accounts, which already carry the change
+            if (updated[i] == 0 && repository.crearDesdeCuentas(clientes.get(i)) == 0) {
+                repository.sumarAlSaldoTotal(clientes.get(i), (BigDecimal) rows.get(i)[0]);
+            }
+        }
+    }
+
+    private void add(Long clienteId, Money delta) {
+        if (delta.signum() == 0) {
+            return;
+        }
+        if (repository.sumarAlSaldoTotal(clienteId, delta.toBigDecimal()) > 0) {
+            return;
+        }
+        // The account change is flushed first, so a row built from the accounts already includes it. If another
+        // transaction created the row in between, the insert does nothing (its sum could not see this uncommitted
+        // change) and the delta is added to that row instead
+        if (repository.crearDesdeCuentas(clienteId) == 0) {
+            repository.sumarAlSaldoTotal(clienteId, delta.toBigDecimal());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ejercicio.balance;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shows the last client balance reconciliation at /actuator/clientbalances; a POST runs one
+ * right away, repairing the mismatches when {@code reparar=true}.
+ */
+@Component
+@Endpoint(id = "clientbalances")
+public class ClientBalanceEndpoint {
+
+    private final ClientBalanceReconciler reconciler;
+
+    public ClientBalanceEndpoint(ClientBalanceReconciler reconciler) {
+        this.reconciler = reconciler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> lastReconciliation() {
+        return toMap(reconciler.last());
+    }
+
+    @WriteOperation
+    public Map<String, Object> reconcile(@Nullable Boolean reparar) {
+        return toMap(reconciler.reconcile(Boolean.TRUE.equals(reparar)));
+    }
+
+    private Map<String, Object> toMap(ClientBalanceReconciler.Reconciliation reconciliation) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (reconciliation == null) {
+            result.put("ejecutada", false);
+            return result;
+        }
+        result.put("ejecutada", true);
+        result.put("fecha", reconciliation.fecha().toString());
+        result.put("descuadrados", reconciliation.descuadrados().size());
+        result.put("reparados", reconciliation.reparados());
+        result.put("clientes", reconciliation.descuadrados());
+        return result;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.ejercicio.balance;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.client-balances")
+public class ClientBalanceProperties {
+
+    /**
+     * Enables the scheduled reconciliation; the actuator endpoint can run it either way.
+     */
+    private boolean reconcileEnabled = true;
+
+    /**
+     * Rewrites mismatched aggregates from the account sum instead of only reporting them.
+     */
+    private boolean repair = false;
+
+    // Getters and Setters
+    public boolean isReconcileEnabled() {
+        return reconcileEnabled;
+    }
+
+    public void setReconcileEnabled(boolean reconcileEnabled) {
+        this.reconcileEnabled = reconcileEnabled;
+    }
+
+    public boolean isRepair() {
+        return repair;
+    }
+
+    public void setRepair(boolean repair) {
+        this.repair = repair;
+    }
+}
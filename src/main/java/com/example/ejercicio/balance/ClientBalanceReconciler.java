@@ -0,0 +1,86 @@
+package com.example.ejercicio.balance;
+
+import com.example.ejercicio.repository.SaldoClienteRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks saldos_cliente against SUM(saldo_actual) of each client's active accounts. The
+ * comparison is a single statement, so on PostgreSQL it sees one snapshot in which every
+ * account change and its aggregate delta are either both visible or both absent. It runs in a
+ * read-write transaction to stay on the primary; replica lag would show up as false mismatches.
+ * With {@code app.client-balances.repair} the mismatched rows are recomputed, each one after
+ * locking it so postings in flight apply their delta on top of the recomputed value.
+ */
+@Component
+public class ClientBalanceReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientBalanceReconciler.class);
+
+    private static final String MISMATCH_METRIC = "saldos.cliente.descuadres";
+    private static final int LOGGED_CLIENTS = 20;
+
+    private final SaldoClienteRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ClientBalanceProperties properties;
+    private final AtomicLong mismatches = new AtomicLong();
+    private volatile Reconciliation last;
+
+    public ClientBalanceReconciler(SaldoClienteRepository repository, TransactionTemplate transactionTemplate,
+                                   ClientBalanceProperties properties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        Gauge.builder(MISMATCH_METRIC, mismatches, AtomicLong::get)
+                .description("Clientes cuyo saldo total mantenido no coincidía con sus cuentas en la última conciliación")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.client-balances.cron:0 30 3 * * *}")
+    public void reconcile() {
+        if (!properties.isReconcileEnabled()) {
+            return;
+        }
+        try {
+            reconcile(properties.isRepair());
+        } catch (RuntimeException e) {
+            log.error("Falló la conciliación de saldos totales por cliente", e);
+        }
+    }
+
+    public Reconciliation reconcile(boolean repair) {
+        List<Long> descuadrados = transactionTemplate.execute(status -> repository.findDescuadrados());
+        int reparados = 0;
+        if (repair) {
+            for (Long clienteId : descuadrados) {
+                reparados += transactionTemplate.execute(status -> {
+                    repository.bloquear(clienteId);
+                    return repository.recalcular(clienteId);
+                });
+            }
+        }
+        if (!descuadrados.isEmpty()) {
+            log.warn("{} clientes con saldo total descuadrado respecto a sus cuentas activas ({} reparados): {}",
+                    descuadrados.size(), reparados, descuadrados.subList(0, Math.min(LOGGED_CLIENTS, descuadrados.size())));
+        }
+        mismatches.set(descuadrados.size() - reparados);
+        last = new Reconciliation(Instant.now(), descuadrados, reparados);
+        return last;
+    }
+
+    public Reconciliation last() {
+        return last;
+    }
+
+    public record Reconciliation(Instant fecha, List<Long> descuadrados, int reparados) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.ejercicio.batch;
+
+import com.example.ejercicio.model.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a batch job over the accounts split into id ranges, on a pool of at most
+ * {@code threads} workers. Each range is one transaction that first claims it in
+ * lotes_particiones and then does the work, so the claim commits or rolls back with the
+ * writes: a rerun of the same process and period (after a crash, or on another node) skips
+ * the ranges already done and retries only the rest. Ranges are multiples of the partition
+ * size; a rerun keeps the size the period started with, so ranges never overlap.
+ */
+@Component
+public class AccountPartitionRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountPartitionRunner.class);
+
+    private static final String ID_BOUNDS_QUERY = "SELECT MIN(id) AS desde, MAX(id) AS hasta FROM cuentas";
+    private static final String DONE_QUERY = "SELECT desde_id, hasta_id FROM lotes_particiones WHERE proceso = ? AND periodo = ?";
+    private static final String CLAIM = "INSERT INTO lotes_particiones (proceso, periodo, desde_id, hasta_id, cuentas, total, completada_en) " +
+            "VALUES (?, ?, ?, ?, 0, 0, ?)";
+    private static final String COMPLETE = "UPDATE lotes_particiones SET cuentas = ?, total = ?, completada_en = ? " +
+            "WHERE proceso = ? AND periodo = ? AND desde_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public AccountPartitionRunner(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public Result run(String proceso, String periodo, long partitionSize, int threads, PartitionWork work) {
+        Instant started = Instant.now();
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(ID_BOUNDS_QUERY);
+        if (bounds.get("desde") == null) {
+            return new Result(proceso, periodo, started, 0, 0, 0, 0, Money.ZERO, Duration.between(started, Instant.now()));
+        }
+        long minId = ((Number) bounds.get("desde")).longValue();
+        long maxId = ((Number) bounds.get("hasta")).longValue();
+
+        Set<Long> done = new HashSet<>();
+        long size = partitionSize;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(DONE_QUERY, proceso, periodo)) {
+            long desde = ((Number) row.get("desde_id")).longValue();
+            done.add(desde);
+            size = ((Number) row.get("hasta_id")).longValue() - desde + 1;
+        }
+
+        List<long[]> pending = new ArrayList<>();
+        for (long k = (minId - 1) / size; k <= (maxId - 1) / size; k++) {
+            long desde = k * size + 1;
+            if (!done.contains(desde)) {
+                pending.add(new long[]{desde, desde + size - 1});
+            }
+        }
+
+        AtomicInteger skipped = new AtomicInteger(done.size());
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, pending.size())), runnable -> {
+            Thread thread = new Thread(runnable, "lote-" + proceso);
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<Outcome>> futures = new ArrayList<>();
+        try {
+            for (long[] range : pending) {
+                futures.add(executor.submit(() -> runPartition(proceso, periodo, range[0], range[1], work, skipped, failed)));
+            }
+            int particiones = 0;
+            int cuentas = 0;
+            Money total = Money.ZERO;
+            for (Future<Outcome> future : futures) {
+                Outcome outcome = future.get();
+                if (outcome != null) {
+                    particiones++;
+                    cuentas += outcome.cuentas();
+                    total = total.plus(outcome.total());
+                }
+            }
+            Result result = new Result(proceso, periodo, started, particiones, skipped.get(), failed.get(), cuentas, total,
+                    Duration.between(started, Instant.now()));
+            log.info("Proceso {} del periodo {}: {} rangos procesados, {} ya hechos, {} fallidos; {} cuentas por {} en {} ms",
+                    proceso, periodo, particiones, skipped.get(), failed.get(), cuentas, total, result.duracion().toMillis());
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Proceso " + proceso + " interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló el proceso " + proceso + " del periodo " + periodo, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Outcome runPartition(String proceso, String periodo, long desde, long hasta, PartitionWork work,
+                                 AtomicInteger skipped, AtomicInteger failed) {
+        try {
+            return transactionTemplate.execute(status -> {
+                try {
+                    jdbcTemplate.update(CLAIM, proceso, periodo, desde, hasta, Timestamp.valueOf(LocalDateTime.now()));
+                } catch (DuplicateKeyException e) {
+                    // Another run claimed the range first and committed it
+                    status.setRollbackOnly();
+                    skipped.incrementAndGet();
+                    return null;
+                }
+                Outcome outcome = work.process(desde, hasta);
+                jdbcTemplate.update(COMPLETE, outcome.cuentas(), outcome.total().toBigDecimal(),
+                        Timestamp.valueOf(LocalDateTime.now()), proceso, periodo, desde);
+                return outcome;
+            });
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("Falló el rango [{}, {}] del proceso {} del periodo {}; se reintentará en la siguiente ejecución",
+                    desde, hasta, proceso, periodo, e);
+            return null;
+        }
+    }
+
+    /**
+     * Work on the accounts with ids in [desde, hasta], inside the range's transaction
+     */
+    @FunctionalInterface
+    public interface PartitionWork {
+        Outcome process(long desde, long hasta);
+    }
+
+    public record Outcome(int cuentas, Money total) {
+    }
+
+    public record Result(String proceso, String periodo, Instant fecha, int particiones, int omitidas, int fallidas,
+                         int cuentas, Money total, Duration duracion) {
+
+        /**
+         * Summary for the actuator endpoints of the jobs
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("ejecutada", true);
+            map.put("periodo", periodo);
+            map.put("fecha", fecha.toString());
+            map.put("particiones", particiones);
+            map.put("omitidas", omitidas);
+            map.put("fallidas", fallidas);
+            map.put("cuentas", cuentas);
+            map.put("total", total.toBigDecimal());
+            map.put("duracionMs", duracion.toMillis());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ejercicio.batch;
+
+import com.example.ejercicio.balance.ClientBalanceAggregate;
+import com.example.ejercicio.model.Cuenta;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.model.TipoMovimiento;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes movements posted by batch jobs with plain JDBC batches: the movement rows, the new
+ * account balances and the per-client aggregate deltas, all in the caller's transaction. The
+ * caller must hold the account rows locked (SELECT ... FOR UPDATE) so the balances it computed
+ * are still current. Since Hibernate does not see these writes, the accounts are evicted from
+ * the second-level cache once the transaction commits.
+ */
+@Component
+public class AccountPostingWriter {
+
+    static final int BATCH_SIZE = 1_000;
+
+    private static final String INSERT_MOVIMIENTO = "INSERT INTO movimientos (fecha, tipo_movimiento, valor, saldo, descripcion, fecha_creacion, cuenta_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SALDO = "UPDATE cuentas SET saldo_actual = ?, fecha_actualizacion = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClientBalanceAggregate clientBalances;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public AccountPostingWriter(JdbcTemplate jdbcTemplate, ClientBalanceAggregate clientBalances,
+                                EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clientBalances = clientBalances;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void write(List<Posting> postings, LocalDateTime fecha) {
+        if (postings.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(fecha);
+        jdbcTemplate.batchUpdate(INSERT_MOVIMIENTO, postings, BATCH_SIZE, (ps, posting) -> {
+            ps.setTimestamp(1, timestamp);
+            ps.setShort(2, posting.tipo().getCode());
+            ps.setBigDecimal(3, posting.valor().toBigDecimal());
+            ps.setBigDecimal(4, posting.saldo().toBigDecimal());
+            ps.setString(5, posting.descripcion());
+            ps.setTimestamp(6, timestamp);
+            ps.setLong(7, posting.cuentaId());
+        });
+        jdbcTemplate.batchUpdate(UPDATE_SALDO, postings, BATCH_SIZE, (ps, posting) -> {
+            ps.setBigDecimal(1, posting.saldo().toBigDecimal());
+            ps.setTimestamp(2, timestamp);
+            ps.setLong(3, posting.cuentaId());
+        });
+
+        // Client id order: parallel ranges sharing clients lock their aggregate rows in the same order
+        Map<Long, Money> deltas = new TreeMap<>();
+        for (Posting posting : postings) {
+            deltas.merge(posting.clienteId(), posting.valor(), Money::plus);
+        }
+        clientBalances.balancesChanged(deltas);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                postings.forEach(posting -> entityManagerFactory.getCache().evict(Cuenta.class, posting.cuentaId()));
+            }
+        });
+    }
+
+    /**
+     * One movement on an active account; {@code saldo} is the balance after it
+     */
+    public record Posting(long cuentaId, long clienteId, TipoMovimiento tipo, Money valor, Money saldo, String descripcion) {
+    }
+}
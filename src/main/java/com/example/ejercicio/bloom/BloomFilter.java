@@ -0,0 +1,113 @@
+package com.example.ejercicio.bloom;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings. The k bit positions come from two 64-bit hashes combined
+ * as h1 + i * h2 (Kirsch-Mitzenmacher), so each key is hashed once whatever k is.
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong bitsSet = new AtomicLong();
+    private final AtomicLong insertions = new AtomicLong();
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.words = new AtomicLongArray(Math.toIntExact((bitCount + 63) / 64));
+        this.bitCount = (long) words.length() * 64;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Sized for {@code expectedKeys} keys at a false-positive probability of {@code fpp}
+     */
+    static BloomFilter create(long expectedKeys, double fpp) {
+        long keys = Math.max(1, expectedKeys);
+        long bits = Math.max(64, (long) Math.ceil(-keys * Math.log(fpp) / (LN2 * LN2)));
+        int hashes = Math.max(1, (int) Math.round((double) bits / keys * LN2));
+        return new BloomFilter(bits, hashes);
+    }
+
+    void put(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1L;
+        long combined = h1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bitCount;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word;
+            do {
+                word = words.get(index);
+                if ((word & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(index, word, word | mask));
+            if ((word & mask) == 0) {
+                bitsSet.incrementAndGet();
+            }
+            combined += h2;
+        }
+        insertions.incrementAndGet();
+    }
+
+    boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1L;
+        long combined = h1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (combined & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += h2;
+        }
+        return true;
+    }
+
+    /**
+     * False-positive probability implied by the bits set so far: (bits set / bits) ^ k
+     */
+    double expectedFpp() {
+        return Math.pow((double) bitsSet.get() / bitCount, hashCount);
+    }
+
+    long insertions() {
+        return insertions.get();
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 chars followed by the MurmurHash3 finalizer
+     */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            h = (h ^ (c & 0xff)) * 0x100000001b3L;
+            h = (h ^ (c >>> 8)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
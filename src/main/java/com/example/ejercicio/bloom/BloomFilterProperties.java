@@ -0,0 +1,70 @@
+package com.example.ejercicio.bloom;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.bloom")
+public class BloomFilterProperties {
+
+    /**
+     * Builds the filters at startup and on the cron; when off every existence check goes to the database.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Confirms that this is the only instance writing the keys. A key inserted on another node
+     * stays out of this node's filter until the next rebuild, and the existence endpoints would
+     * answer "does not exist" for it meanwhile, so without this flag the filters are never built.
+     */
+    private boolean singleNode = false;
+
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Capacity of each filter as a multiple of the keys found when it is built, so inserts
+     * until the next rebuild do not push the false-positive rate over the target.
+     */
+    private double capacityFactor = 2.0;
+
+    private long minCapacity = 10_000;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isSingleNode() {
+        return singleNode;
+    }
+
+    public void setSingleNode(boolean singleNode) {
+        this.singleNode = singleNode;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public double getCapacityFactor() {
+        return capacityFactor;
+    }
+
+    public void setCapacityFactor(double capacityFactor) {
+        this.capacityFactor = capacityFactor;
+    }
+
+    public long getMinCapacity() {
+        return minCapacity;
+    }
+
+    public void setMinCapacity(long minCapacity) {
+        this.minCapacity = minCapacity;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.ejercicio.bloom;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Bloom filters in front of the existence checks on clienteId, identificación and número de
+ * cuenta. They are built once the application is ready by streaming the keys from the tables,
+ * and rebuilt on {@code app.bloom.cron}. Reads run in a read-write transaction so they stay on
+ * the primary; a lagging replica could leave out committed keys, which would turn into wrong
+ * "does not exist" answers. For the same reason the filters are only built when
+ * {@code app.bloom.single-node} declares this the only instance: keys written by another one
+ * would be missing until the next rebuild.
+ */
+@Component
+public class ExistenceFilters {
+
+    private static final Logger log = LoggerFactory.getLogger(ExistenceFilters.class);
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BloomFilterProperties properties;
+    private final KeyFilter clienteIds;
+    private final KeyFilter identificaciones;
+    private final KeyFilter numerosCuenta;
+    private final List<Source> sources;
+
+    public ExistenceFilters(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            BloomFilterProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clienteIds = new KeyFilter("cliente-id", meterRegistry);
+        this.identificaciones = new KeyFilter("identificacion", meterRegistry);
+        this.numerosCuenta = new KeyFilter("numero-cuenta", meterRegistry);
+        this.sources = List.of(
+                new Source(clienteIds, "SELECT COUNT(*) FROM clientes", "SELECT clienteid FROM clientes"),
+                // personas carries the unique constraint, so the filter covers every persona and not only clients
+                new Source(identificaciones, "SELECT COUNT(identificacion) FROM personas",
+                        "SELECT identificacion FROM personas WHERE identificacion IS NOT NULL"),
+                new Source(numerosCuenta, "SELECT COUNT(*) FROM cuentas", "SELECT numero_cuenta FROM cuentas"));
+    }
+
+    public KeyFilter clienteIds() {
+        return clienteIds;
+    }
+
+    public KeyFilter identificaciones() {
+        return identificaciones;
+    }
+
+    public KeyFilter numerosCuenta() {
+        return numerosCuenta;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (properties.isEnabled() && !properties.isSingleNode()) {
+            log.info("Filtros de Bloom sin construir: app.bloom.single-node=false, las comprobaciones de existencia van a la base de datos");
+        }
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the filters from the tables. It is how keys inserted by plain JDBC loads become
+     * known, and it drops keys that no longer exist.
+     */
+    @Scheduled(cron = "${app.bloom.cron:0 0 * * * *}")
+    public void rebuild() {
+        if (!properties.isEnabled() || !properties.isSingleNode()) {
+            return;
+        }
+        for (Source source : sources) {
+            try {
+                rebuild(source);
+            } catch (RuntimeException e) {
+                log.error("Falló la reconstrucción del filtro de Bloom {}", source.filter().getName(), e);
+            }
+        }
+    }
+
+    private void rebuild(Source source) {
+        long started = System.nanoTime();
+        long[] keys = new long[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            Long count = jdbcTemplate.queryForObject(source.countQuery(), Long.class);
+            long capacity = Math.max(properties.getMinCapacity(), (long) Math.ceil(count * properties.getCapacityFactor()));
+            source.filter().rebuild(capacity, properties.getFalsePositiveRate(), sink -> jdbcTemplate.query(con -> {
+                PreparedStatement statement = con.prepareStatement(source.keysQuery());
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                sink.accept(rs.getString(1));
+                keys[0]++;
+            }));
+        });
+        log.info("Filtro de Bloom {} reconstruido con {} claves en {} ms", source.filter().getName(), keys[0],
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private record Source(KeyFilter filter, String countQuery, String keysQuery) {
+    }
+}
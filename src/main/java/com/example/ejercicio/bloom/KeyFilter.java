@@ -0,0 +1,148 @@
+package com.example.ejercicio.bloom;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Bloom filter over one unique key column. Until the first build every lookup goes to the
+ * database; afterwards a key the filter has never seen is reported as absent without a query.
+ * Keys are added after their transaction commits: a rebuild that started earlier either read
+ * the row or is still open and gets the key in the filter it is filling.
+ */
+public final class KeyFilter {
+
+    private static final String LOOKUPS_METRIC = "filtros.bloom.consultas";
+    private static final String FALSE_POSITIVES_METRIC = "filtros.bloom.falsos.positivos";
+
+    private final String name;
+    private final Counter definitelyAbsent;
+    private final Counter checked;
+    private final Counter falsePositives;
+    // Observed rate since the last rebuild: false positives over all lookups of absent keys
+    private final AtomicLong absentSinceRebuild = new AtomicLong();
+    private final AtomicLong falsePositivesSinceRebuild = new AtomicLong();
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+
+    KeyFilter(String name, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.definitelyAbsent = Counter.builder(LOOKUPS_METRIC).tag("filtro", name).tag("resultado", "ausente")
+                .description("Consultas de existencia resueltas por el filtro sin ir a la base de datos")
+                .register(meterRegistry);
+        this.checked = Counter.builder(LOOKUPS_METRIC).tag("filtro", name).tag("resultado", "posible")
+                .description("Consultas de existencia que el filtro dejó pasar a la base de datos")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder(FALSE_POSITIVES_METRIC).tag("filtro", name)
+                .description("Claves que el filtro daba por posibles y la base de datos no tenía")
+                .register(meterRegistry);
+        Gauge.builder("filtros.bloom.tasa.falsos.positivos", this, KeyFilter::observedFpp).tag("filtro", name)
+                .description("Falsos positivos sobre consultas de claves inexistentes desde la última reconstrucción")
+                .register(meterRegistry);
+        Gauge.builder("filtros.bloom.fpp.estimada", this, KeyFilter::expectedFpp).tag("filtro", name)
+                .description("Probabilidad de falso positivo según los bits activos del filtro")
+                .register(meterRegistry);
+        Gauge.builder("filtros.bloom.claves", this, KeyFilter::keys).tag("filtro", name)
+                .description("Claves añadidas al filtro desde la última reconstrucción")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answers from the filter when it rules the key out; otherwise asks {@code database}.
+     */
+    public boolean exists(String key, Predicate<String> database) {
+        BloomFilter filter = current;
+        if (filter == null || key == null) {
+            return database.test(key);
+        }
+        if (!filter.mightContain(key)) {
+            definitelyAbsent.increment();
+            absentSinceRebuild.incrementAndGet();
+            return false;
+        }
+        checked.increment();
+        boolean exists = database.test(key);
+        if (!exists) {
+            falsePositives.increment();
+            falsePositivesSinceRebuild.incrementAndGet();
+        }
+        return exists;
+    }
+
+    /**
+     * Adds a key once the current transaction commits, or right away outside a transaction.
+     */
+    public void add(String key) {
+        if (key == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(key);
+            }
+        });
+    }
+
+    private void put(String key) {
+        // building first: once it is seen as null the rebuilt filter is already current
+        BloomFilter next = building;
+        BloomFilter filter = current;
+        if (next != null) {
+            next.put(key);
+        }
+        if (filter != null && filter != next) {
+            filter.put(key);
+        }
+    }
+
+    /**
+     * Fills a new filter from {@code keys} and swaps it in; keys committed meanwhile go to both.
+     */
+    void rebuild(long capacity, double fpp, Consumer<Consumer<String>> keys) {
+        BloomFilter next = BloomFilter.create(capacity, fpp);
+        building = next;
+        try {
+            keys.accept(next::put);
+            current = next;
+            absentSinceRebuild.set(0);
+            falsePositivesSinceRebuild.set(0);
+        } finally {
+            building = null;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isBuilt() {
+        return current != null;
+    }
+
+    double observedFpp() {
+        long fp = falsePositivesSinceRebuild.get();
+        long negatives = fp + absentSinceRebuild.get();
+        return negatives == 0 ? 0 : (double) fp / negatives;
+    }
+
+    double expectedFpp() {
+        BloomFilter filter = current;
+        return filter == null ? 0 : filter.expectedFpp();
+    }
+
+    long keys() {
+        BloomFilter filter = current;
+        return filter == null ? 0 : filter.insertions();
+    }
+}
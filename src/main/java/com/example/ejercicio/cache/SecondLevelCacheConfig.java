@@ -0,0 +1,77 @@
+package com.example.ejercicio.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache on a local, bounded Caffeine JCache. Each region is created here
+ * with its own size limit and time to live, and Hibernate is told to fail on any other region
+ * rather than create an unbounded one. Every region exports the Caffeine cache metrics
+ * (cache.gets with result=hit|miss, cache.evictions, cache.size) plus cache.hit.ratio.
+ * {@link #CLIENTES_NATURAL_ID_REGION} is not a Hibernate region: ClienteNaturalIdRepositoryImpl
+ * keeps the clienteId → id mapping there.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SecondLevelCacheConfig {
+
+    public static final String CLIENTES_REGION = "clientes";
+    public static final String CLIENTES_NATURAL_ID_REGION = "clientes-natural-id";
+    public static final String CUENTAS_REGION = "cuentas";
+    public static final String CUENTAS_NATURAL_ID_REGION = "cuentas-natural-id";
+
+    private static final List<String> REGIONS = List.of(CLIENTES_REGION, CLIENTES_NATURAL_ID_REGION, CUENTAS_REGION, CUENTAS_NATURAL_ID_REGION);
+    private static final String HIT_RATIO_METRIC = "cache.hit.ratio";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties, MeterRegistry meterRegistry) {
+        // One manager per application context: the provider shares managers by URI, and several
+        // contexts in one JVM (tests) must not share regions holding rows of different databases
+        URI uri = URI.create("ejercicio-second-level-cache-" + UUID.randomUUID());
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(uri, getClass().getClassLoader());
+        for (String region : REGIONS) {
+            long maxEntries = properties.getMaxEntries().getOrDefault(region, properties.getDefaultMaxEntries());
+            Duration timeToLive = properties.getTimeToLive().getOrDefault(region, properties.getDefaultTimeToLive());
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+            configuration.setNativeStatisticsEnabled(true);
+            configuration.setStoreByValue(false);
+            Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+            monitor(region, cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class), meterRegistry);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void monitor(String region, com.github.benmanes.caffeine.cache.Cache<?, ?> cache, MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, region);
+        Gauge.builder(HIT_RATIO_METRIC, cache, c -> c.stats().hitRate())
+                .description("Proporción de aciertos de la región de caché de segundo nivel")
+                .tag("cache", region)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ejercicio.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.cache")
+public class SecondLevelCacheProperties {
+
+    /**
+     * Maximum entries per second-level cache region, keyed by region name.
+     */
+    private Map<String, Long> maxEntries = new LinkedHashMap<>();
+
+    private long defaultMaxEntries = 10_000;
+
+    /**
+     * Time an entry stays cached after it is written, which bounds how long a change made
+     * outside Hibernate (plain JDBC, another instance) can be served stale.
+     */
+    private Map<String, Duration> timeToLive = new LinkedHashMap<>();
+
+    private Duration defaultTimeToLive = Duration.ofMinutes(10);
+
+    // Getters and Setters
+    public Map<String, Long> getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(Map<String, Long> maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getDefaultMaxEntries() {
+        return defaultMaxEntries;
+    }
+
+    public void setDefaultMaxEntries(long defaultMaxEntries) {
+        this.defaultMaxEntries = defaultMaxEntries;
+    }
+
+    public Map<String, Duration> getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Map<String, Duration> timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public Duration getDefaultTimeToLive() {
+        return defaultTimeToLive;
+    }
+
+    public void setDefaultTimeToLive(Duration defaultTimeToLive) {
+        this.defaultTimeToLive = defaultTimeToLive;
+    }
+}
@@ -2,39 +2,46 @@ package com.example.ejercicio.config;
 
 import com.example.ejercicio.model.Cliente;
 import com.example.ejercicio.model.Cuenta;
+import com.example.ejercicio.model.Money;
 import com.example.ejercicio.model.Movimiento;
+import com.example.ejercicio.model.TipoCuenta;
+import com.example.ejercicio.model.TipoMovimiento;
 import com.example.ejercicio.repository.ClienteRepository;
 import com.example.ejercicio.repository.CuentaRepository;
 import com.example.ejercicio.repository.MovimientoRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
     
-    private static final String SAVINGS_ACCOUNT_TYPE = "AHORRO";
-    private static final String CHECKING_ACCOUNT_TYPE = "CORRIENTE";
-    private static final String CREDIT_MOVEMENT_TYPE = "CREDITO";
-    private static final String DEBIT_MOVEMENT_TYPE = "DEBITO";
+    private static final TipoCuenta SAVINGS_ACCOUNT_TYPE = TipoCuenta.AHORRO;
+    private static final TipoCuenta CHECKING_ACCOUNT_TYPE = TipoCuenta.CORRIENTE;
+    private static final TipoMovimiento CREDIT_MOVEMENT_TYPE = TipoMovimiento.CREDITO;
+    private static final TipoMovimiento DEBIT_MOVEMENT_TYPE = TipoMovimiento.DEBITO;
     private static final String FEMALE_GENDER = "FEMENINO";
     private static final String MALE_GENDER = "MASCULINO";
     
     private final ClienteRepository clienteRepository;
     private final CuentaRepository cuentaRepository;
     private final MovimientoRepository movimientoRepository;
+    private final boolean enabled;
     
-    public DataInitializer(ClienteRepository clienteRepository, CuentaRepository cuentaRepository, MovimientoRepository movimientoRepository) {
+    public DataInitializer(ClienteRepository clienteRepository, CuentaRepository cuentaRepository, MovimientoRepository movimientoRepository,
+                           @Value("${app.data-initializer.enabled:true}") boolean enabled) {
         this.clienteRepository = clienteRepository;
         this.cuentaRepository = cuentaRepository;
         this.movimientoRepository = movimientoRepository;
+        this.enabled = enabled;
     }
     
     @Override
     public void run(String... args) throws Exception {
-        if (shouldInitializeData()) {
+        // Checked at run time rather than with @ConditionalOnProperty, which AOT would fix at build time
+        if (enabled && shouldInitializeData()) {
             initializeTestData();
         }
     }
@@ -79,20 +86,20 @@ public class DataInitializer implements CommandLineRunner {
     }
     
     private Cuenta[] createAndSaveAccounts(Cliente[] clients) {
-        Cuenta cuenta1 = createAccount("4001234567890001", SAVINGS_ACCOUNT_TYPE, new BigDecimal("1000.00"), 
-                                     new BigDecimal("1250.00"), clients[0], true);
+        Cuenta cuenta1 = createAccount("4001234567890001", SAVINGS_ACCOUNT_TYPE, Money.valueOf("1000.00"), 
+                                     Money.valueOf("1250.00"), clients[0], true);
         
-        Cuenta cuenta2 = createAccount("4001234567890002", CHECKING_ACCOUNT_TYPE, new BigDecimal("2000.00"), 
-                                     new BigDecimal("1800.00"), clients[0], true);
+        Cuenta cuenta2 = createAccount("4001234567890002", CHECKING_ACCOUNT_TYPE, Money.valueOf("2000.00"), 
+                                     Money.valueOf("1800.00"), clients[0], true);
         
-        Cuenta cuenta3 = createAccount("4000987654321001", SAVINGS_ACCOUNT_TYPE, new BigDecimal("5000.00"), 
-                                     new BigDecimal("5500.00"), clients[1], true);
+        Cuenta cuenta3 = createAccount("4000987654321001", SAVINGS_ACCOUNT_TYPE, Money.valueOf("5000.00"), 
+                                     Money.valueOf("5500.00"), clients[1], true);
         
-        Cuenta cuenta4 = createAccount("4001122334455001", CHECKING_ACCOUNT_TYPE, new BigDecimal("3000.00"), 
-                                     new BigDecimal("2750.00"), clients[2], true);
+        Cuenta cuenta4 = createAccount("4001122334455001", CHECKING_ACCOUNT_TYPE, Money.valueOf("3000.00"), 
+                                     Money.valueOf("2750.00"), clients[2], true);
         
-        Cuenta cuenta5 = createAccount("4005566778899001", SAVINGS_ACCOUNT_TYPE, new BigDecimal("1500.00"), 
-                                     new BigDecimal("1500.00"), clients[3], false);
+        Cuenta cuenta5 = createAccount("4005566778899001", SAVINGS_ACCOUNT_TYPE, Money.valueOf("1500.00"), 
+                                     Money.valueOf("1500.00"), clients[3], false);
         
         // Save accounts
         cuenta1 = cuentaRepository.save(cuenta1);
@@ -104,8 +111,8 @@ public class DataInitializer implements CommandLineRunner {
         return new Cuenta[]{cuenta1, cuenta2, cuenta3, cuenta4, cuenta5};
     }
     
-    private Cuenta createAccount(String numeroCuenta, String tipoCuenta, BigDecimal saldoInicial, 
-                               BigDecimal saldoActual, Cliente cliente, boolean estado) {
+    private Cuenta createAccount(String numeroCuenta, TipoCuenta tipoCuenta, Money saldoInicial, 
+                               Money saldoActual, Cliente cliente, boolean estado) {
         Cuenta cuenta = new Cuenta(numeroCuenta, tipoCuenta, saldoInicial, cliente);
         cuenta.setSaldoActual(saldoActual);
         cuenta.setEstado(estado);
@@ -122,53 +129,53 @@ public class DataInitializer implements CommandLineRunner {
     }
     
     private void createMovementsForAccount(Cuenta cuenta, LocalDateTime now) {
-        Movimiento mov1 = createMovement(now.minusDays(5), CREDIT_MOVEMENT_TYPE, new BigDecimal("250.00"), 
-                                       new BigDecimal("1250.00"), "Depósito inicial", cuenta);
+        Movimiento mov1 = createMovement(now.minusDays(5), CREDIT_MOVEMENT_TYPE, Money.valueOf("250.00"), 
+                                       Money.valueOf("1250.00"), "Depósito inicial", cuenta);
         
-        Movimiento mov2 = createMovement(now.minusDays(3), DEBIT_MOVEMENT_TYPE, new BigDecimal("-100.00"), 
-                                       new BigDecimal("1150.00"), "Retiro cajero automático", cuenta);
+        Movimiento mov2 = createMovement(now.minusDays(3), DEBIT_MOVEMENT_TYPE, Money.valueOf("-100.00"), 
+                                       Money.valueOf("1150.00"), "Retiro cajero automático", cuenta);
         
-        Movimiento mov3 = createMovement(now.minusDays(1), CREDIT_MOVEMENT_TYPE, new BigDecimal("100.00"), 
-                                       new BigDecimal("1250.00"), "Transferencia recibida", cuenta);
+        Movimiento mov3 = createMovement(now.minusDays(1), CREDIT_MOVEMENT_TYPE, Money.valueOf("100.00"), 
+                                       Money.valueOf("1250.00"), "Transferencia recibida", cuenta);
         
         saveMovements(mov1, mov2, mov3);
     }
     
     private void createMovementsForAccount2(Cuenta cuenta, LocalDateTime now) {
-        Movimiento mov4 = createMovement(now.minusDays(4), DEBIT_MOVEMENT_TYPE, new BigDecimal("-200.00"), 
-                                       new BigDecimal("1800.00"), "Pago servicios", cuenta);
+        Movimiento mov4 = createMovement(now.minusDays(4), DEBIT_MOVEMENT_TYPE, Money.valueOf("-200.00"), 
+                                       Money.valueOf("1800.00"), "Pago servicios", cuenta);
         
         saveMovements(mov4);
     }
     
     private void createMovementsForAccount3(Cuenta cuenta, LocalDateTime now) {
-        Movimiento mov5 = createMovement(now.minusDays(7), CREDIT_MOVEMENT_TYPE, new BigDecimal("500.00"), 
-                                       new BigDecimal("5500.00"), "Depósito nómina", cuenta);
+        Movimiento mov5 = createMovement(now.minusDays(7), CREDIT_MOVEMENT_TYPE, Money.valueOf("500.00"), 
+                                       Money.valueOf("5500.00"), "Depósito nómina", cuenta);
         
-        Movimiento mov6 = createMovement(now.minusDays(2), DEBIT_MOVEMENT_TYPE, new BigDecimal("-300.00"), 
-                                       new BigDecimal("5200.00"), "Compra supermercado", cuenta);
+        Movimiento mov6 = createMovement(now.minusDays(2), DEBIT_MOVEMENT_TYPE, Money.valueOf("-300.00"), 
+                                       Money.valueOf("5200.00"), "Compra supermercado", cuenta);
         
-        Movimiento mov7 = createMovement(now.minusDays(1), CREDIT_MOVEMENT_TYPE, new BigDecimal("300.00"), 
-                                       new BigDecimal("5500.00"), "Devolución compra", cuenta);
+        Movimiento mov7 = createMovement(now.minusDays(1), CREDIT_MOVEMENT_TYPE, Money.valueOf("300.00"), 
+                                       Money.valueOf("5500.00"), "Devolución compra", cuenta);
         
         saveMovements(mov5, mov6, mov7);
     }
     
     private void createMovementsForAccount4(Cuenta cuenta, LocalDateTime now) {
-        Movimiento mov8 = createMovement(now.minusDays(6), DEBIT_MOVEMENT_TYPE, new BigDecimal("-250.00"), 
-                                       new BigDecimal("2750.00"), "Pago tarjeta crédito", cuenta);
+        Movimiento mov8 = createMovement(now.minusDays(6), DEBIT_MOVEMENT_TYPE, Money.valueOf("-250.00"), 
+                                       Money.valueOf("2750.00"), "Pago tarjeta crédito", cuenta);
         
-        Movimiento mov9 = createMovement(now.minusDays(4), CREDIT_MOVEMENT_TYPE, new BigDecimal("100.00"), 
-                                       new BigDecimal("2850.00"), "Transferencia familiar", cuenta);
+        Movimiento mov9 = createMovement(now.minusDays(4), CREDIT_MOVEMENT_TYPE, Money.valueOf("100.00"), 
+                                       Money.valueOf("2850.00"), "Transferencia familiar", cuenta);
         
-        Movimiento mov10 = createMovement(now.minusDays(2), DEBIT_MOVEMENT_TYPE, new BigDecimal("-100.00"), 
-                                        new BigDecimal("2750.00"), "Retiro cajero", cuenta);
+        Movimiento mov10 = createMovement(now.minusDays(2), DEBIT_MOVEMENT_TYPE, Money.valueOf("-100.00"), 
+                                        Money.valueOf("2750.00"), "Retiro cajero", cuenta);
         
         saveMovements(mov8, mov9, mov10);
     }
     
-    private Movimiento createMovement(LocalDateTime fecha, String tipoMovimiento, BigDecimal valor, 
-                                    BigDecimal saldo, String descripcion, Cuenta cuenta) {
+    private Movimiento createMovement(LocalDateTime fecha, TipoMovimiento tipoMovimiento, Money valor, 
+                                    Money saldo, String descripcion, Cuenta cuenta) {
         return new Movimiento(fecha, tipoMovimiento, valor, saldo, descripcion, cuenta);
     }
     
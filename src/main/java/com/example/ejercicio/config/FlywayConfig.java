@@ -0,0 +1,30 @@
+package com.example.ejercicio.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Runs the versioned migrations only when spring.flyway.enabled is true at run time. Without
+ * AOT the auto-configuration already backs off; with AOT its condition is fixed at build time,
+ * so a fast-startup build made for prod would otherwise migrate the embedded database too.
+ */
+@Configuration
+public class FlywayConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FlywayConfig.class);
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        return flyway -> {
+            if (environment.getProperty("spring.flyway.enabled", Boolean.class, true)) {
+                flyway.migrate();
+            } else {
+                log.info("Migraciones desactivadas (spring.flyway.enabled=false)");
+            }
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.ejercicio.config.routing;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
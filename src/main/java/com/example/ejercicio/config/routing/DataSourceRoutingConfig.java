@@ -0,0 +1,93 @@
+package com.example.ejercicio.config.routing;
+
+import com.example.ejercicio.tracing.ObservedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read/write splitting: read-only transactions use the replica pool, writes use the primary
+ * configured through spring.datasource.*. Enabled with app.datasource.replica.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private static final String PRIMARY_POOL_NAME = "primary";
+    private static final String REPLICA_POOL_NAME = "replica";
+
+    private final ReplicaDataSourceProperties replicaProperties;
+    private final PrimaryPinRegistry pinRegistry;
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+
+    public DataSourceRoutingConfig(ReplicaDataSourceProperties replicaProperties, ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.replicaProperties = replicaProperties;
+        this.observationRegistry = observationRegistry;
+        this.pinRegistry = new PrimaryPinRegistry(replicaProperties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(PRIMARY_POOL_NAME);
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(REPLICA_POOL_NAME);
+        dataSource.setJdbcUrl(replicaProperties.getUrl());
+        dataSource.setUsername(replicaProperties.getUsername());
+        dataSource.setPassword(replicaProperties.getPassword());
+        if (replicaProperties.getDriverClassName() != null) {
+            dataSource.setDriverClassName(replicaProperties.getDriverClassName());
+        }
+        dataSource.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        DataSource primary = new ObservedDataSource(primaryDataSource, PRIMARY_POOL_NAME, observationRegistry);
+        DataSource replica = new ObservedDataSource(replicaDataSource, REPLICA_POOL_NAME, observationRegistry);
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(pinRegistry);
+        routingDataSource.setTargetDataSources(Map.of(
+                DataSourceRoute.PRIMARY, primary,
+                DataSourceRoute.REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(replicaProperties.getCallerHeader()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.pin-sweep-interval-ms:60000}")
+    public void evictExpiredPins() {
+        pinRegistry.evictExpired();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ejercicio.config.routing;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which callers wrote recently so their reads stay on the primary
+ * until the replica has had time to catch up (read-your-writes).
+ */
+public class PrimaryPinRegistry {
+
+    private static final ThreadLocal<String> CURRENT_CALLER = new ThreadLocal<>();
+
+    private final long windowNanos;
+    private final ConcurrentHashMap<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public PrimaryPinRegistry(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public static void setCurrentCaller(String caller) {
+        CURRENT_CALLER.set(caller);
+    }
+
+    public static void clearCurrentCaller() {
+        CURRENT_CALLER.remove();
+    }
+
+    /**
+     * Pins the caller of the current thread to the primary for the configured window.
+     */
+    public void pinCurrentCaller() {
+        String caller = CURRENT_CALLER.get();
+        if (caller != null && windowNanos > 0) {
+            pinnedUntil.put(caller, System.nanoTime() + windowNanos);
+        }
+    }
+
+    public boolean isCurrentCallerPinned() {
+        String caller = CURRENT_CALLER.get();
+        if (caller == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(caller);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(caller, until);
+        return false;
+    }
+
+    /**
+     * Drops expired pins; callers that never read again would otherwise stay in the map.
+     */
+    public void evictExpired() {
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    public int size() {
+        return pinnedUntil.size();
+    }
+}
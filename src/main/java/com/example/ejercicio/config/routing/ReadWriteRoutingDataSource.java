@@ -0,0 +1,52 @@
+package com.example.ejercicio.config.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the connection is fetched after
+ * the transaction's read-only flag has been set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PIN_REGISTERED_KEY = ReadWriteRoutingDataSource.class.getName() + ".PIN_REGISTERED";
+
+    private final PrimaryPinRegistry pinRegistry;
+
+    public ReadWriteRoutingDataSource(PrimaryPinRegistry pinRegistry) {
+        this.pinRegistry = pinRegistry;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return DataSourceRoute.PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return pinRegistry.isCurrentCallerPinned() ? DataSourceRoute.PRIMARY : DataSourceRoute.REPLICA;
+        }
+        pinCallerOnCommit();
+        return DataSourceRoute.PRIMARY;
+    }
+
+    private void pinCallerOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(PIN_REGISTERED_KEY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(PIN_REGISTERED_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pinRegistry.pinCurrentCaller();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PIN_REGISTERED_KEY);
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.ejercicio.config.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Identifies the caller of each request so writes can pin its later reads to the primary.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final String callerHeader;
+
+    public ReadYourWritesFilter(String callerHeader) {
+        this.callerHeader = callerHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String caller = request.getHeader(callerHeader);
+        PrimaryPinRegistry.setCurrentCaller(caller != null && !caller.isBlank() ? caller : request.getRemoteAddr());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryPinRegistry.clearCurrentCaller();
+        }
+    }
+}
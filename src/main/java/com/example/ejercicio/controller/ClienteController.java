@@ -3,6 +3,7 @@ package com.example.ejercicio.controller;
 import com.example.ejercicio.dto.ClienteRequestDTO;
 import com.example.ejercicio.dto.ClienteResponseDTO;
 import com.example.ejercicio.service.ClienteService;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -24,6 +25,7 @@ import java.util.List;
 @RequestMapping("/clientes")
 @Tag(name = "Clientes", description = "API para gestión de clientes")
 @CrossOrigin(origins = "*")
+@Observed(name = "app.controller")
 public class ClienteController {
     
     private static final int DEFAULT_PAGE_SIZE = 10;
@@ -1,8 +1,11 @@
 package com.example.ejercicio.controller;
 
+import com.example.ejercicio.admission.AdmissionControl;
 import com.example.ejercicio.dto.CuentaRequestDTO;
 import com.example.ejercicio.dto.CuentaResponseDTO;
+import com.example.ejercicio.model.Money;
 import com.example.ejercicio.service.CuentaService;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,13 +21,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
 @RequestMapping("/cuentas")
 @Tag(name = "Cuentas", description = "API para gestión de cuentas bancarias")
 @CrossOrigin(origins = "*")
+@Observed(name = "app.controller")
 public class CuentaController {
     
     private static final int DEFAULT_PAGE_SIZE = 10;
@@ -42,11 +45,14 @@ public class CuentaController {
     private static final String CLIENT_NOT_FOUND_MESSAGE = "Cliente no encontrado";
     private static final String INVALID_DATA_MESSAGE = "Datos de entrada inválidos";
     private static final String ACCOUNT_ALREADY_EXISTS_MESSAGE = "Cuenta ya existe con ese número";
+    private static final String TOO_MANY_REQUESTS_MESSAGE = "Límite de solicitudes excedido para la cuenta o el cliente";
     
     private final CuentaService cuentaService;
+    private final AdmissionControl admissionControl;
     
-    public CuentaController(CuentaService cuentaService) {
+    public CuentaController(CuentaService cuentaService, AdmissionControl admissionControl) {
         this.cuentaService = cuentaService;
+        this.admissionControl = admissionControl;
     }
     
     @PostMapping
@@ -55,9 +61,11 @@ public class CuentaController {
             @ApiResponse(responseCode = "201", description = ACCOUNT_CREATED_MESSAGE,
                     content = @Content(schema = @Schema(implementation = CuentaResponseDTO.class))),
             @ApiResponse(responseCode = "400", description = INVALID_DATA_MESSAGE),
-            @ApiResponse(responseCode = "409", description = ACCOUNT_ALREADY_EXISTS_MESSAGE)
+            @ApiResponse(responseCode = "409", description = ACCOUNT_ALREADY_EXISTS_MESSAGE),
+            @ApiResponse(responseCode = "429", description = TOO_MANY_REQUESTS_MESSAGE)
     })
     public ResponseEntity<CuentaResponseDTO> createAccount(@Valid @RequestBody CuentaRequestDTO cuentaRequestDTO) {
+        admissionControl.checkClient(cuentaRequestDTO.getClienteId());
         CuentaResponseDTO cuentaResponse = cuentaService.createAccount(cuentaRequestDTO);
         return new ResponseEntity<>(cuentaResponse, HttpStatus.CREATED);
     }
@@ -133,9 +141,11 @@ public class CuentaController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = ACCOUNT_UPDATED_MESSAGE),
             @ApiResponse(responseCode = "404", description = ACCOUNT_NOT_FOUND_MESSAGE),
-            @ApiResponse(responseCode = "400", description = INVALID_DATA_MESSAGE)
+            @ApiResponse(responseCode = "400", description = INVALID_DATA_MESSAGE),
+            @ApiResponse(responseCode = "429", description = TOO_MANY_REQUESTS_MESSAGE)
     })
     public ResponseEntity<CuentaResponseDTO> updateAccount(@Parameter(description = "ID de la cuenta") @PathVariable Long id, @Valid @RequestBody CuentaRequestDTO cuentaRequestDTO) {
+        admissionControl.checkAccount(id);
         CuentaResponseDTO cuentaActualizada = cuentaService.updateAccount(id, cuentaRequestDTO);
         return ResponseEntity.ok(cuentaActualizada);
     }
@@ -144,9 +154,11 @@ public class CuentaController {
     @Operation(summary = "Eliminar una cuenta", description = "Realiza eliminación lógica (soft delete) de una cuenta")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = ACCOUNT_DELETED_MESSAGE),
-            @ApiResponse(responseCode = "404", description = ACCOUNT_NOT_FOUND_MESSAGE)
+            @ApiResponse(responseCode = "404", description = ACCOUNT_NOT_FOUND_MESSAGE),
+            @ApiResponse(responseCode = "429", description = TOO_MANY_REQUESTS_MESSAGE)
     })
     public ResponseEntity<Void> deleteAccount(@Parameter(description = "ID de la cuenta") @PathVariable Long id) {
+        admissionControl.checkAccount(id);
         cuentaService.deleteAccount(id);
         return ResponseEntity.noContent().build();
     }
@@ -155,9 +167,11 @@ public class CuentaController {
     @Operation(summary = "Activar una cuenta", description = "Cambia el estado de la cuenta a activo")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = ACCOUNT_ACTIVATED_MESSAGE),
-            @ApiResponse(responseCode = "404", description = ACCOUNT_NOT_FOUND_MESSAGE)
+            @ApiResponse(responseCode = "404", description = ACCOUNT_NOT_FOUND_MESSAGE),
+            @ApiResponse(responseCode = "429", description = TOO_MANY_REQUESTS_MESSAGE)
     })
     public ResponseEntity<CuentaResponseDTO> activateAccount(@Parameter(description = "ID de la cuenta") @PathVariable Long id) {
+        admissionControl.checkAccount(id);
         CuentaResponseDTO cuentaActivada = cuentaService.activateAccount(id);
         return ResponseEntity.ok(cuentaActivada);
     }
@@ -182,8 +196,8 @@ public class CuentaController {
             @ApiResponse(responseCode = "200", description = TOTAL_BALANCE_CALCULATED_MESSAGE),
             @ApiResponse(responseCode = "404", description = CLIENT_NOT_FOUND_MESSAGE)
     })
-    public ResponseEntity<BigDecimal> getTotalBalanceByClient(@Parameter(description = "ID del cliente") @PathVariable Long clienteId) {
-        BigDecimal saldoTotal = cuentaService.getTotalBalanceByClient(clienteId);
+    public ResponseEntity<Money> getTotalBalanceByClient(@Parameter(description = "ID del cliente") @PathVariable Long clienteId) {
+        Money saldoTotal = cuentaService.getTotalBalanceByClient(clienteId);
         return ResponseEntity.ok(saldoTotal);
     }
     
@@ -203,7 +217,7 @@ public class CuentaController {
     
     @GetMapping("/saldo-minimo/{saldoMinimo}")
     @Operation(summary = "Obtener cuentas con saldo mínimo", description = "Obtiene cuentas que tienen al menos el saldo especificado")
-    public ResponseEntity<List<CuentaResponseDTO>> getAccountsWithMinimumBalance(@Parameter(description = "Saldo mínimo") @PathVariable BigDecimal saldoMinimo) {
+    public ResponseEntity<List<CuentaResponseDTO>> getAccountsWithMinimumBalance(@Parameter(description = "Saldo mínimo") @PathVariable Money saldoMinimo) {
         List<CuentaResponseDTO> cuentas = cuentaService.getAccountsWithMinimumBalance(saldoMinimo);
         return ResponseEntity.ok(cuentas);
     }
@@ -212,9 +226,11 @@ public class CuentaController {
     @Operation(summary = "Cambiar estado de cuenta", description = "Alterna el estado de la cuenta (activo/inactivo)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = ACCOUNT_STATUS_CHANGED_MESSAGE),
-            @ApiResponse(responseCode = "404", description = ACCOUNT_NOT_FOUND_MESSAGE)
+            @ApiResponse(responseCode = "404", description = ACCOUNT_NOT_FOUND_MESSAGE),
+            @ApiResponse(responseCode = "429", description = TOO_MANY_REQUESTS_MESSAGE)
     })
     public ResponseEntity<CuentaResponseDTO> changeAccountStatus(@Parameter(description = "ID de la cuenta") @PathVariable Long id) {
+        admissionControl.checkAccount(id);
         CuentaResponseDTO cuentaActualizada = cuentaService.changeAccountStatus(id);
         return ResponseEntity.ok(cuentaActualizada);
     }
@@ -225,8 +241,8 @@ public class CuentaController {
             @ApiResponse(responseCode = "200", description = BALANCE_OBTAINED_MESSAGE),
             @ApiResponse(responseCode = "404", description = ACCOUNT_NOT_FOUND_MESSAGE)
     })
-    public ResponseEntity<BigDecimal> getAccountBalance(@Parameter(description = "ID de la cuenta") @PathVariable Long id) {
-        BigDecimal saldo = cuentaService.getAccountBalance(id);
+    public ResponseEntity<Money> getAccountBalance(@Parameter(description = "ID de la cuenta") @PathVariable Long id) {
+        Money saldo = cuentaService.getAccountBalance(id);
         return ResponseEntity.ok(saldo);
     }
     
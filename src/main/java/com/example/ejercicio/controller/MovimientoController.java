@@ -1,8 +1,10 @@
 package com.example.ejercicio.controller;
 
+import com.example.ejercicio.admission.AdmissionControl;
 import com.example.ejercicio.dto.MovimientoRequestDTO;
 import com.example.ejercicio.dto.MovimientoResponseDTO;
 import com.example.ejercicio.service.MovimientoService;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -26,6 +28,7 @@ import java.util.List;
 @RequestMapping("/movimientos")
 @Tag(name = "Movimientos", description = "API para gestión de movimientos bancarios")
 @CrossOrigin(origins = "*")
+@Observed(name = "app.controller")
 public class MovimientoController {
     
     private static final int DEFAULT_PAGE_SIZE = 10;
@@ -33,6 +36,7 @@ public class MovimientoController {
     private static final String MOVEMENT_CREATED_MESSAGE = "Movimiento creado exitosamente";
     private static final String MOVEMENT_UPDATED_MESSAGE = "Movimiento actualizado exitosamente";
     private static final String MOVEMENT_DELETED_MESSAGE = "Movimiento eliminado exitosamente";
+    private static final String MOVEMENTS_DELETED_MESSAGE = "Movimientos eliminados exitosamente";
     private static final String MOVEMENT_FOUND_MESSAGE = "Movimiento encontrado";
     private static final String MOVEMENTS_FOUND_MESSAGE = "Movimientos encontrados";
     private static final String LAST_MOVEMENT_FOUND_MESSAGE = "Último movimiento encontrado";
@@ -43,11 +47,14 @@ public class MovimientoController {
     private static final String ACCOUNT_NOT_FOUND_OR_NO_MOVEMENTS_MESSAGE = "Cuenta no encontrada o sin movimientos";
     private static final String INVALID_DATA_OR_INSUFFICIENT_BALANCE_MESSAGE = "Datos de entrada inválidos o saldo insuficiente";
     private static final String INVALID_DATA_MESSAGE = "Datos de entrada inválidos";
+    private static final String TOO_MANY_REQUESTS_MESSAGE = "Límite de solicitudes excedido para la cuenta o el cliente";
     
     private final MovimientoService movimientoService;
+    private final AdmissionControl admissionControl;
     
-    public MovimientoController(MovimientoService movimientoService) {
+    public MovimientoController(MovimientoService movimientoService, AdmissionControl admissionControl) {
         this.movimientoService = movimientoService;
+        this.admissionControl = admissionControl;
     }
     
     @PostMapping
@@ -56,9 +63,11 @@ public class MovimientoController {
             @ApiResponse(responseCode = "201", description = MOVEMENT_CREATED_MESSAGE,
                     content = @Content(schema = @Schema(implementation = MovimientoResponseDTO.class))),
             @ApiResponse(responseCode = "400", description = INVALID_DATA_OR_INSUFFICIENT_BALANCE_MESSAGE),
-            @ApiResponse(responseCode = "404", description = ACCOUNT_NOT_FOUND_MESSAGE)
+            @ApiResponse(responseCode = "404", description = ACCOUNT_NOT_FOUND_MESSAGE),
+            @ApiResponse(responseCode = "429", description = TOO_MANY_REQUESTS_MESSAGE)
     })
     public ResponseEntity<MovimientoResponseDTO> createMovement(@Valid @RequestBody MovimientoRequestDTO movimientoRequestDTO) {
+        admissionControl.checkAccount(movimientoRequestDTO.getCuentaId());
         MovimientoResponseDTO movimientoResponse = movimientoService.createMovement(movimientoRequestDTO);
         return new ResponseEntity<>(movimientoResponse, HttpStatus.CREATED);
     }
@@ -76,14 +85,14 @@ public class MovimientoController {
     }
     
     @GetMapping
-    @Operation(summary = "Obtener todos los movimientos", description = "Obtiene la lista de todos los movimientos")
+    @Operation(summary = "Obtener todos los movimientos", description = "Obtiene la lista de todos los movimientos (solo la tabla viva: excluye los meses archivados)")
     public ResponseEntity<List<MovimientoResponseDTO>> getAllMovements() {
         List<MovimientoResponseDTO> movimientos = movimientoService.getAllMovements();
         return ResponseEntity.ok(movimientos);
     }
     
     @GetMapping("/paginados")
-    @Operation(summary = "Obtener movimientos paginados", description = "Obtiene la lista de movimientos con paginación")
+    @Operation(summary = "Obtener movimientos paginados", description = "Obtiene la lista de movimientos con paginación (solo la tabla viva: excluye los meses archivados)")
     public ResponseEntity<Page<MovimientoResponseDTO>> getMovementsPaginated(@PageableDefault(size = DEFAULT_PAGE_SIZE) Pageable pageable) {
         Page<MovimientoResponseDTO> movimientos = movimientoService.getMovementsPaginated(pageable);
         return ResponseEntity.ok(movimientos);
@@ -101,7 +110,7 @@ public class MovimientoController {
     }
     
     @GetMapping("/cuenta/{cuentaId}/paginados")
-    @Operation(summary = "Obtener movimientos por cuenta paginados", description = "Obtiene los movimientos de una cuenta con paginación")
+    @Operation(summary = "Obtener movimientos por cuenta paginados", description = "Obtiene los movimientos de una cuenta con paginación (solo la tabla viva: excluye los meses archivados)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = MOVEMENTS_FOUND_MESSAGE),
             @ApiResponse(responseCode = "404", description = ACCOUNT_NOT_FOUND_MESSAGE)
@@ -130,7 +139,7 @@ public class MovimientoController {
     }
     
     @GetMapping("/tipo/{tipoMovimiento}")
-    @Operation(summary = "Obtener movimientos por tipo", description = "Obtiene todos los movimientos de un tipo específico")
+    @Operation(summary = "Obtener movimientos por tipo", description = "Obtiene todos los movimientos de un tipo específico (solo la tabla viva: excluye los meses archivados)")
     public ResponseEntity<List<MovimientoResponseDTO>> getMovementsByType(
             @Parameter(description = "Tipo de movimiento") @PathVariable String tipoMovimiento) {
         List<MovimientoResponseDTO> movimientos = movimientoService.getMovementsByType(tipoMovimiento);
@@ -153,15 +162,30 @@ public class MovimientoController {
     @Operation(summary = "Eliminar un movimiento", description = "Elimina un movimiento y revierte su efecto en el saldo")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = MOVEMENT_DELETED_MESSAGE),
-            @ApiResponse(responseCode = "404", description = MOVEMENT_NOT_FOUND_MESSAGE)
+            @ApiResponse(responseCode = "404", description = MOVEMENT_NOT_FOUND_MESSAGE),
+            @ApiResponse(responseCode = "429", description = TOO_MANY_REQUESTS_MESSAGE)
     })
     public ResponseEntity<Void> deleteMovement(@Parameter(description = "ID del movimiento") @PathVariable Long id) {
+        admissionControl.checkMovements(List.of(id));
         movimientoService.deleteMovement(id);
         return ResponseEntity.noContent().build();
     }
     
+    @DeleteMapping
+    @Operation(summary = "Eliminar varios movimientos", description = "Elimina los movimientos indicados y rehace una sola vez el saldo de los posteriores de cada cuenta")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = MOVEMENTS_DELETED_MESSAGE),
+            @ApiResponse(responseCode = "404", description = MOVEMENT_NOT_FOUND_MESSAGE),
+            @ApiResponse(responseCode = "429", description = TOO_MANY_REQUESTS_MESSAGE)
+    })
+    public ResponseEntity<Void> deleteMovements(@Parameter(description = "IDs de los movimientos") @RequestParam List<Long> ids) {
+        admissionControl.checkMovements(ids);
+        movimientoService.deleteMovements(ids);
+        return ResponseEntity.noContent().build();
+    }
+    
     @GetMapping("/buscar")
-    @Operation(summary = "Buscar movimientos", description = "Busca movimientos por descripción, tipo o información de cuenta")
+    @Operation(summary = "Buscar movimientos", description = "Busca movimientos por descripción, tipo o información de cuenta (solo la tabla viva: excluye los meses archivados)")
     public ResponseEntity<List<MovimientoResponseDTO>> searchMovements(@Parameter(description = "Término de búsqueda") @RequestParam String busqueda) {
         List<MovimientoResponseDTO> movimientos = movimientoService.searchMovements(busqueda);
         return ResponseEntity.ok(movimientos);
@@ -0,0 +1,111 @@
+package com.example.ejercicio.datagen;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.datagen")
+public class DataGeneratorProperties {
+
+    private int clientes = 10_000;
+    private int cuentasPorCliente = 2;
+    private int movimientosPorCuenta = 100;
+
+    /**
+     * Share of accounts that receive {@code hotAccountMultiplier} times the usual posting volume.
+     */
+    private double hotAccountRatio = 0.001;
+    private int hotAccountMultiplier = 100;
+
+    /**
+     * Movements are spread over this many days up to now.
+     */
+    private int historyDays = 365;
+
+    /**
+     * Parallel workers; 0 uses the available processors, at most 8. Keep it below the pool size.
+     */
+    private int threads = 0;
+    private int clientsPerChunk = 500;
+    private int batchSize = 5_000;
+    private long seed = 42L;
+
+    // Getters and Setters
+    public int getClientes() {
+        return clientes;
+    }
+
+    public void setClientes(int clientes) {
+        this.clientes = clientes;
+    }
+
+    public int getCuentasPorCliente() {
+        return cuentasPorCliente;
+    }
+
+    public void setCuentasPorCliente(int cuentasPorCliente) {
+        this.cuentasPorCliente = cuentasPorCliente;
+    }
+
+    public int getMovimientosPorCuenta() {
+        return movimientosPorCuenta;
+    }
+
+    public void setMovimientosPorCuenta(int movimientosPorCuenta) {
+        this.movimientosPorCuenta = movimientosPorCuenta;
+    }
+
+    public double getHotAccountRatio() {
+        return hotAccountRatio;
+    }
+
+    public void setHotAccountRatio(double hotAccountRatio) {
+        this.hotAccountRatio = hotAccountRatio;
+    }
+
+    public int getHotAccountMultiplier() {
+        return hotAccountMultiplier;
+    }
+
+    public void setHotAccountMultiplier(int hotAccountMultiplier) {
+        this.hotAccountMultiplier = hotAccountMultiplier;
+    }
+
+    public int getHistoryDays() {
+        return historyDays;
+    }
+
+    public void setHistoryDays(int historyDays) {
+        this.historyDays = historyDays;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getClientsPerChunk() {
+        return clientsPerChunk;
+    }
+
+    public void setClientsPerChunk(int clientsPerChunk) {
+        this.clientsPerChunk = clientsPerChunk;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ejercicio.datagen;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates the configured app.datagen.* volume at startup under the datagen profile. Runs
+ * before DataInitializer, which then finds clients and skips its sample data.
+ */
+@Component
+@Profile("datagen")
+@Order(1)
+public class DataGeneratorRunner implements ApplicationRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final DataGeneratorProperties properties;
+
+    public DataGeneratorRunner(SyntheticDataGenerator generator, DataGeneratorProperties properties) {
+        this.generator = generator;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generator.generate(properties.getClientes(), properties.getCuentasPorCliente(), properties.getMovimientosPorCuenta());
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.ejercicio.datagen;
+
+import com.example.ejercicio.model.TipoCuenta;
+import com.example.ejercicio.model.TipoMovimiento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Synthetic clients, accounts and movements for capacity and load testing.
+ * <p>
+ * Clients are split into chunks handled by parallel workers; each chunk inserts its personas,
+ * clientes and cuentas in one transaction and its movements in JDBC batches of
+ * {@code app.datagen.batch-size}, each in its own transaction. Every account replays the same
+ * seeded random walk twice: once to know its final balance, once to insert the movements, so
+ * each saldo chain is consistent with saldo_inicial and saldo_actual without holding it in memory.
+ * Generated identifiers continue after the previous run, so the generator can be run repeatedly.
+ */
+@Component
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String CLIENT_PREFIX = "GEN";
+    private static final short CREDIT_MOVEMENT_TYPE = TipoMovimiento.CREDITO.getCode();
+    private static final short DEBIT_MOVEMENT_TYPE = TipoMovimiento.DEBITO.getCode();
+    private static final short SAVINGS_ACCOUNT_TYPE = TipoCuenta.AHORRO.getCode();
+    private static final short CHECKING_ACCOUNT_TYPE = TipoCuenta.CORRIENTE.getCode();
+    private static final int MAX_THREADS = 8;
+    private static final long PROGRESS_INTERVAL_SECONDS = 10;
+    private static final long MAX_INITIAL_BALANCE_CENTS = 1_000_000_000L;
+
+    private static final String[] FEMALE_NAMES = {"María", "Ana", "Lucía", "Carmen", "Valentina", "Isabel", "Gabriela", "Daniela", "Sofía", "Paula"};
+    private static final String[] MALE_NAMES = {"Carlos", "José", "Luis", "Miguel", "Andrés", "Jorge", "Pedro", "Diego", "Juan", "Ricardo"};
+    private static final String[] SURNAMES = {"García", "Rodríguez", "Martínez", "López", "González", "Pérez", "Sánchez", "Ramírez", "Torres", "Flores", "Rivera", "Gómez"};
+    private static final String[] CITIES = {"Caracas", "Valencia", "Maracaibo", "Barquisimeto", "Mérida", "Maracay"};
+    private static final String[] AREA_CODES = {"212", "241", "261", "251", "274", "243"};
+    private static final String[] CREDIT_DESCRIPTIONS = {"Depósito en ventanilla", "Transferencia recibida", "Pago de nómina", "Depósito en cajero"};
+    private static final String[] DEBIT_DESCRIPTIONS = {"Retiro en cajero", "Pago con tarjeta", "Pago de servicios", "Transferencia enviada"};
+
+    private static final String NEXT_CLIENT_QUERY = "SELECT MAX(clienteid) FROM clientes WHERE clienteid LIKE 'GEN%'";
+    private static final String INSERT_PERSONA = "INSERT INTO personas (nombre, genero, edad, identificacion, direccion, telefono, fecha_creacion, fecha_actualizacion) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String PERSONA_IDS_QUERY = "SELECT id, identificacion FROM personas WHERE identificacion BETWEEN ? AND ?";
+    private static final String INSERT_CLIENTE = "INSERT INTO clientes (persona_id, clienteid, contrasena, estado) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_CUENTA = "INSERT INTO cuentas (numero_cuenta, tipo_cuenta, saldo_inicial, saldo_actual, estado, fecha_creacion, fecha_actualizacion, cliente_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String CUENTA_IDS_QUERY = "SELECT id, numero_cuenta FROM cuentas WHERE numero_cuenta BETWEEN ? AND ?";
+    private static final String INSERT_MOVIMIENTO = "INSERT INTO movimientos (fecha, tipo_movimiento, valor, saldo, descripcion, fecha_creacion, cuenta_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataGeneratorProperties properties;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, DataGeneratorProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Generates {@code clientes} clients with {@code cuentasPorCliente} accounts each and, on
+     * average, {@code movimientosPorCuenta} movements per account (more on hot accounts).
+     */
+    public void generate(int clientes, int cuentasPorCliente, int movimientosPorCuenta) {
+        long start = System.nanoTime();
+        int firstClient = nextClientIndex();
+        int threads = properties.getThreads() > 0
+                ? properties.getThreads()
+                : Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS);
+        LocalDateTime now = LocalDateTime.now();
+        Totals totals = new Totals();
+
+        log.info("Generando {} clientes x {} cuentas x {} movimientos con {} hilos", clientes, cuentasPorCliente, movimientosPorCuenta, threads);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (int offset = 0; offset < clientes; offset += properties.getClientsPerChunk()) {
+                Chunk chunk = new Chunk(firstClient + offset, Math.min(properties.getClientsPerChunk(), clientes - offset),
+                        cuentasPorCliente, movimientosPorCuenta, now);
+                chunks.add(CompletableFuture.runAsync(() -> generateChunk(chunk, totals), workers));
+            }
+            await(CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)), totals, start);
+        } finally {
+            workers.shutdownNow();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        log.info("Datos generados: {} clientes, {} cuentas, {} movimientos en {} s ({} movimientos/s)",
+                clientes, totals.cuentas.sum(), totals.movimientos.sum(), Math.round(seconds),
+                Math.round(totals.movimientos.sum() / seconds));
+    }
+
+    private void await(CompletableFuture<Void> all, Totals totals, long start) {
+        while (true) {
+            try {
+                all.get(PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+                return;
+            } catch (TimeoutException e) {
+                log.info("Progreso: {} cuentas, {} movimientos ({} s)", totals.cuentas.sum(), totals.movimientos.sum(),
+                        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Generación de datos interrumpida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falló la generación de datos", e.getCause());
+            }
+        }
+    }
+
+    private int nextClientIndex() {
+        String last = jdbcTemplate.queryForObject(NEXT_CLIENT_QUERY, String.class);
+        return last == null ? 1 : Integer.parseInt(last.substring(CLIENT_PREFIX.length())) + 1;
+    }
+
+    private void generateChunk(Chunk chunk, Totals totals) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() * 31 + chunk.firstClient);
+        Timestamp opened = Timestamp.valueOf(chunk.now.minusDays(properties.getHistoryDays()));
+        List<Object[]> personas = new ArrayList<>(chunk.clientes);
+        List<ClientPlan> clients = new ArrayList<>(chunk.clientes);
+        List<AccountPlan> accounts = new ArrayList<>(chunk.clientes * chunk.cuentasPorCliente);
+
+        for (int c = chunk.firstClient; c < chunk.firstClient + chunk.clientes; c++) {
+            boolean female = random.nextBoolean();
+            String nombre = pick(random, female ? FEMALE_NAMES : MALE_NAMES) + " " + pick(random, SURNAMES) + " " + pick(random, SURNAMES);
+            int edad = (int) Math.max(18, Math.min(90, Math.round(41 + 13 * random.nextGaussian())));
+            int city = random.nextInt(CITIES.length);
+            personas.add(new Object[]{nombre, female ? "FEMENINO" : "MASCULINO", edad, identificacion(c),
+                    "Calle " + (1 + random.nextInt(200)) + " #" + (1 + random.nextInt(99)) + ", " + CITIES[city],
+                    String.format("+58-%s-%07d", AREA_CODES[city], random.nextInt(10_000_000)), opened, opened});
+            clients.add(new ClientPlan(c, random.nextDouble() < 0.98));
+            for (int a = 0; a < chunk.cuentasPorCliente; a++) {
+                boolean hot = random.nextDouble() < properties.getHotAccountRatio();
+                accounts.add(new AccountPlan(c, numeroCuenta(c, a), random.nextDouble() < 0.65 ? SAVINGS_ACCOUNT_TYPE : CHECKING_ACCOUNT_TYPE,
+                        Math.min(MAX_INITIAL_BALANCE_CENTS, logNormalCents(random, 800, 1.3)), random.nextDouble() < 0.96,
+                        hot ? chunk.movimientosPorCuenta * properties.getHotAccountMultiplier() : chunk.movimientosPorCuenta,
+                        hot, random.nextLong()));
+            }
+        }
+
+        long historySeconds = TimeUnit.DAYS.toSeconds(properties.getHistoryDays());
+        long historyStart = chunk.now.toEpochSecond(ZoneOffset.UTC) - historySeconds;
+        Map<String, Long> cuentaIds = transactionTemplate.execute(status -> {
+            jdbcTemplate.batchUpdate(INSERT_PERSONA, personas);
+            Map<String, Long> personaIds = idsByKey(PERSONA_IDS_QUERY, identificacion(chunk.firstClient),
+                    identificacion(chunk.lastClient()));
+            List<Object[]> clientRows = new ArrayList<>(clients.size());
+            for (ClientPlan client : clients) {
+                clientRows.add(new Object[]{personaIds.get(identificacion(client.index)), clienteId(client.index),
+                        String.format("clave%06d", client.index % 1_000_000), client.active});
+            }
+            jdbcTemplate.batchUpdate(INSERT_CLIENTE, clientRows);
+
+            List<Object[]> accountRows = new ArrayList<>(accounts.size());
+            for (AccountPlan account : accounts) {
+                long saldoActual = walk(account, historyStart, historySeconds, null);
+                accountRows.add(new Object[]{account.numeroCuenta, account.tipoCuenta, cents(account.saldoInicialCents),
+                        cents(saldoActual), account.active, opened, opened, personaIds.get(identificacion(account.clientIndex))});
+            }
+            jdbcTemplate.batchUpdate(INSERT_CUENTA, accountRows);
+            return idsByKey(CUENTA_IDS_QUERY, numeroCuenta(chunk.firstClient, 0),
+                    numeroCuenta(chunk.lastClient(), chunk.cuentasPorCliente - 1));
+        });
+        totals.cuentas.add(accounts.size());
+
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        for (AccountPlan account : accounts) {
+            Long cuentaId = cuentaIds.get(account.numeroCuenta);
+            walk(account, historyStart, historySeconds, row -> {
+                row[row.length - 1] = cuentaId;
+                batch.add(row);
+                if (batch.size() >= properties.getBatchSize()) {
+                    flushMovements(batch, totals);
+                }
+            });
+        }
+        flushMovements(batch, totals);
+    }
+
+    /**
+     * Replays the account's seeded random walk, handing each movement row to {@code sink} when
+     * given, and returns the final balance in cents. Debits that would overdraw become credits,
+     * as the posting API would reject them.
+     */
+    private long walk(AccountPlan account, long historyStart, long historySeconds, MovementSink sink) {
+        SplittableRandom random = new SplittableRandom(account.seed);
+        long saldo = account.saldoInicialCents;
+        long step = Math.max(1, historySeconds / Math.max(1, account.movimientos));
+        double debitShare = account.hot ? 0.3 : 0.55;
+        for (int m = 0; m < account.movimientos; m++) {
+            boolean debit = random.nextDouble() < debitShare;
+            long valor = account.hot
+                    ? logNormalCents(random, 25, 0.9)
+                    : debit ? logNormalCents(random, 45, 1.0) : logNormalCents(random, 150, 1.2);
+            if (debit && valor <= saldo) {
+                valor = -valor;
+            } else {
+                debit = false;
+            }
+            saldo += valor;
+            long epochSecond = historyStart + m * step + random.nextLong(step);
+            String descripcion = pick(random, debit ? DEBIT_DESCRIPTIONS : CREDIT_DESCRIPTIONS);
+            if (sink != null) {
+                Timestamp fecha = Timestamp.valueOf(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC));
+                sink.accept(new Object[]{fecha, debit ? DEBIT_MOVEMENT_TYPE : CREDIT_MOVEMENT_TYPE, cents(valor), cents(saldo),
+                        descripcion, fecha, null});
+            }
+        }
+        return saldo;
+    }
+
+    private void flushMovements(List<Object[]> batch, Totals totals) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_MOVIMIENTO, batch));
+        totals.movimientos.add(batch.size());
+        batch.clear();
+    }
+
+    private Map<String, Long> idsByKey(String sql, String from, String to) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            ids.put(rs.getString(2), rs.getLong(1));
+        }, from, to);
+        return ids;
+    }
+
+    private static long logNormalCents(SplittableRandom random, double median, double sigma) {
+        return Math.max(1, Math.round(median * Math.exp(sigma * random.nextGaussian()) * 100));
+    }
+
+    private static BigDecimal cents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    static String identificacion(int client) {
+        return String.format("8%09d", client);
+    }
+
+    static String clienteId(int client) {
+        return String.format(CLIENT_PREFIX + "%08d", client);
+    }
+
+    static String numeroCuenta(int client, int account) {
+        return String.format("6%08d%02d", client, account);
+    }
+
+    @FunctionalInterface
+    private interface MovementSink {
+        void accept(Object[] row);
+    }
+
+    private static class Chunk {
+        final int firstClient;
+        final int clientes;
+        final int cuentasPorCliente;
+        final int movimientosPorCuenta;
+        final LocalDateTime now;
+
+        Chunk(int firstClient, int clientes, int cuentasPorCliente, int movimientosPorCuenta, LocalDateTime now) {
+            this.firstClient = firstClient;
+            this.clientes = clientes;
+            this.cuentasPorCliente = cuentasPorCliente;
+            this.movimientosPorCuenta = movimientosPorCuenta;
+            this.now = now;
+        }
+
+        int lastClient() {
+            return firstClient + clientes - 1;
+        }
+    }
+
+    private static class ClientPlan {
+        final int index;
+        final boolean active;
+
+        ClientPlan(int index, boolean active) {
+            this.index = index;
+            this.active = active;
+        }
+    }
+
+    private static class AccountPlan {
+        final int clientIndex;
+        final String numeroCuenta;
+        final short tipoCuenta;
+        final long saldoInicialCents;
+        final boolean active;
+        final int movimientos;
+        final boolean hot;
+        final long seed;
+
+        AccountPlan(int clientIndex, String numeroCuenta, short tipoCuenta, long saldoInicialCents, boolean active,
+                    int movimientos, boolean hot, long seed) {
+            this.clientIndex = clientIndex;
+            this.numeroCuenta = numeroCuenta;
+            this.tipoCuenta = tipoCuenta;
+            this.saldoInicialCents = saldoInicialCents;
+            this.active = active;
+            this.movimientos = movimientos;
+            this.hot = hot;
+            this.seed = seed;
+        }
+    }
+
+    private static class Totals {
+        final LongAdder cuentas = new LongAdder();
+        final LongAdder movimientos = new LongAdder();
+    }
+}
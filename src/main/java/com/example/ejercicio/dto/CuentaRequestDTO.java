@@ -1,14 +1,16 @@
 package com.example.ejercicio.dto;
 
+import com.example.ejercicio.model.Money;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import java.math.BigDecimal;
 
 public class CuentaRequestDTO {
     
-    @NotBlank(message = "El número de cuenta es obligatorio")
+    /**
+     * Optional on creation: when absent the server generates one
+     */
     @Size(min = 8, max = 20, message = "El número de cuenta debe tener entre 8 y 20 caracteres")
     private String numeroCuenta;
     
@@ -18,7 +20,7 @@ public class CuentaRequestDTO {
     
     @NotNull(message = "El saldo inicial es obligatorio")
     @DecimalMin(value = "0.0", message = "El saldo inicial no puede ser negativo")
-    private BigDecimal saldoInicial;
+    private Money saldoInicial;
     
     @NotNull(message = "El ID del cliente es obligatorio")
     private Long clienteId;
@@ -45,11 +47,11 @@ public class CuentaRequestDTO {
         this.tipoCuenta = tipoCuenta;
     }
     
-    public BigDecimal getSaldoInicial() {
+    public Money getSaldoInicial() {
         return saldoInicial;
     }
     
-    public void setSaldoInicial(BigDecimal saldoInicial) {
+    public void setSaldoInicial(Money saldoInicial) {
         this.saldoInicial = saldoInicial;
     }
     
@@ -1,6 +1,7 @@
 package com.example.ejercicio.dto;
 
-import java.math.BigDecimal;
+import com.example.ejercicio.model.Money;
+
 import java.time.LocalDateTime;
 
 public class CuentaResponseDTO {
@@ -8,8 +9,8 @@ public class CuentaResponseDTO {
     private Long id;
     private String numeroCuenta;
     private String tipoCuenta;
-    private BigDecimal saldoInicial;
-    private BigDecimal saldoActual;
+    private Money saldoInicial;
+    private Money saldoActual;
     private Boolean estado;
     private LocalDateTime fechaCreacion;
     private LocalDateTime fechaActualizacion;
@@ -20,7 +21,7 @@ public class CuentaResponseDTO {
     }
     
     public CuentaResponseDTO(Long id, String numeroCuenta, String tipoCuenta, 
-                            BigDecimal saldoInicial, BigDecimal saldoActual, Boolean estado, 
+                            Money saldoInicial, Money saldoActual, Boolean estado, 
                             LocalDateTime fechaCreacion, LocalDateTime fechaActualizacion, 
                             Long clienteId, String clienteNombre) {
         this.id = id;
@@ -60,19 +61,19 @@ public class CuentaResponseDTO {
         this.tipoCuenta = tipoCuenta;
     }
     
-    public BigDecimal getSaldoInicial() {
+    public Money getSaldoInicial() {
         return saldoInicial;
     }
     
-    public void setSaldoInicial(BigDecimal saldoInicial) {
+    public void setSaldoInicial(Money saldoInicial) {
         this.saldoInicial = saldoInicial;
     }
     
-    public BigDecimal getSaldoActual() {
+    public Money getSaldoActual() {
         return saldoActual;
     }
     
-    public void setSaldoActual(BigDecimal saldoActual) {
+    public void setSaldoActual(Money saldoActual) {
         this.saldoActual = saldoActual;
     }
     
@@ -1,8 +1,8 @@
 package com.example.ejercicio.dto;
 
+import com.example.ejercicio.model.Money;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 public class MovimientoRequestDTO {
@@ -13,7 +13,7 @@ public class MovimientoRequestDTO {
     private String tipoMovimiento;
     
     @NotNull(message = "El valor es obligatorio")
-    private BigDecimal valor;
+    private Money valor;
     
     @Size(max = 200, message = "La descripción no puede tener más de 200 caracteres")
     private String descripcion;
@@ -41,11 +41,11 @@ public class MovimientoRequestDTO {
         this.tipoMovimiento = tipoMovimiento;
     }
     
-    public BigDecimal getValor() {
+    public Money getValor() {
         return valor;
     }
     
-    public void setValor(BigDecimal valor) {
+    public void setValor(Money valor) {
         this.valor = valor;
     }
     
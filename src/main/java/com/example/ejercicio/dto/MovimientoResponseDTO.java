@@ -1,6 +1,7 @@
 package com.example.ejercicio.dto;
 
-import java.math.BigDecimal;
+import com.example.ejercicio.model.Money;
+
 import java.time.LocalDateTime;
 
 public class MovimientoResponseDTO {
@@ -8,8 +9,8 @@ public class MovimientoResponseDTO {
     private Long id;
     private LocalDateTime fecha;
     private String tipoMovimiento;
-    private BigDecimal valor;
-    private BigDecimal saldo;
+    private Money valor;
+    private Money saldo;
     private String descripcion;
     private LocalDateTime fechaCreacion;
     private Long cuentaId;
@@ -20,7 +21,7 @@ public class MovimientoResponseDTO {
     }
     
     public MovimientoResponseDTO(Long id, LocalDateTime fecha, String tipoMovimiento, 
-                               BigDecimal valor, BigDecimal saldo, String descripcion, 
+                               Money valor, Money saldo, String descripcion, 
                                LocalDateTime fechaCreacion, Long cuentaId, String numeroCuenta, 
                                String clienteNombre) {
         this.id = id;
@@ -60,19 +61,19 @@ public class MovimientoResponseDTO {
         this.tipoMovimiento = tipoMovimiento;
     }
     
-    public BigDecimal getValor() {
+    public Money getValor() {
         return valor;
     }
     
-    public void setValor(BigDecimal valor) {
+    public void setValor(Money valor) {
         this.valor = valor;
     }
     
-    public BigDecimal getSaldo() {
+    public Money getSaldo() {
         return saldo;
     }
     
-    public void setSaldo(BigDecimal saldo) {
+    public void setSaldo(Money saldo) {
         this.saldo = saldo;
     }
     
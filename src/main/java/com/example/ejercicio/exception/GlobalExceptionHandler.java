@@ -1,7 +1,14 @@
 package com.example.ejercicio.exception;
 
+import com.example.ejercicio.model.Money;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -20,9 +27,16 @@ public class GlobalExceptionHandler {
     private static final String VALIDATION_ERROR_MESSAGE = "Los datos enviados no son válidos";
     private static final String INSUFFICIENT_BALANCE_ERROR = "Saldo insuficiente";
     private static final String INVALID_ARGUMENT_ERROR = "Argumento inválido";
+    private static final String TOO_MANY_REQUESTS_ERROR = "Demasiadas solicitudes";
     private static final String INTERNAL_SERVER_ERROR = "Error interno del servidor";
     private static final String UNEXPECTED_ERROR_MESSAGE = "Ha ocurrido un error inesperado. Por favor, contacte al administrador.";
     
+    private final ObjectProvider<Tracer> tracer;
+    
+    public GlobalExceptionHandler(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+    
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
         ErrorResponse errorResponse = createErrorResponse(
@@ -54,6 +68,7 @@ public class GlobalExceptionHandler {
                 errors,
                 LocalDateTime.now()
         );
+        errorResponse.setTraceId(currentTraceId());
         
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
@@ -68,6 +83,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(TooManyRequestsException ex) {
+        ErrorResponse errorResponse = createErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                TOO_MANY_REQUESTS_ERROR,
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+    
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
         ErrorResponse errorResponse = createErrorResponse(
@@ -78,6 +105,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+        // Amounts that do not fit Money (more than two decimals, out of range) carry their own message
+        String message = ex.getCause() instanceof InvalidFormatException invalidFormat && invalidFormat.getTargetType() == Money.class
+                ? invalidFormat.getOriginalMessage()
+                : VALIDATION_ERROR_MESSAGE;
+        ErrorResponse errorResponse = createErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                VALIDATION_ERROR,
+                message
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         ErrorResponse errorResponse = createErrorResponse(
@@ -89,7 +130,15 @@ public class GlobalExceptionHandler {
     }
     
     private ErrorResponse createErrorResponse(int status, String error, String message) {
-        return new ErrorResponse(status, error, message, LocalDateTime.now());
+        ErrorResponse errorResponse = new ErrorResponse(status, error, message, LocalDateTime.now());
+        errorResponse.setTraceId(currentTraceId());
+        return errorResponse;
+    }
+    
+    private String currentTraceId() {
+        Tracer currentTracer = tracer.getIfAvailable();
+        Span span = currentTracer != null ? currentTracer.currentSpan() : null;
+        return span != null ? span.context().traceId() : null;
     }
     
     private Map<String, String> extractValidationErrors(MethodArgumentNotValidException ex) {
@@ -107,6 +156,7 @@ public class GlobalExceptionHandler {
         private String error;
         private String message;
         private LocalDateTime timestamp;
+        private String traceId;
         
         public ErrorResponse(int status, String error, String message, LocalDateTime timestamp) {
             this.status = status;
@@ -127,6 +177,9 @@ public class GlobalExceptionHandler {
         
         public LocalDateTime getTimestamp() { return timestamp; }
         public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+        
+        public String getTraceId() { return traceId; }
+        public void setTraceId(String traceId) { this.traceId = traceId; }
     }
     
     public static class ValidationErrorResponse extends ErrorResponse {
@@ -0,0 +1,35 @@
+package com.example.ejercicio.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Tells which unique constraint a failed write violated. On PostgreSQL Hibernate extracts the
+ * constraint name; H2 reports the index backing it, whose name starts with the constraint's,
+ * so both are matched by containment. Migration V10 gives databases adopted from Hibernate's
+ * schema the same constraint names as a fresh one.
+ */
+public final class UniqueViolations {
+
+    private UniqueViolations() {
+    }
+
+    public static boolean violates(DataIntegrityViolationException exception, String constraint) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && mentions(violation.getConstraintName(), constraint)) {
+                return true;
+            }
+            if (cause instanceof SQLException && mentions(cause.getMessage(), constraint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mentions(String text, String constraint) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(constraint);
+    }
+}
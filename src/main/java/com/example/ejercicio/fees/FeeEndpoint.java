@@ -0,0 +1,49 @@
+package com.example.ejercicio.fees;
+
+import com.example.ejercicio.batch.AccountPartitionRunner;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shows the last monthly fee run at /actuator/fees, with the fees left pending for its period;
+ * a POST charges {@code periodo} (yyyy-MM, last month by default) right away. Ranges already
+ * charged for that period are skipped.
+ */
+@Component
+@Endpoint(id = "fees")
+public class FeeEndpoint {
+
+    private final MaintenanceFeeJob job;
+
+    public FeeEndpoint(MaintenanceFeeJob job) {
+        this.job = job;
+    }
+
+    @ReadOperation
+    public Map<String, Object> lastRun() {
+        return toMap(job.last());
+    }
+
+    @WriteOperation
+    public Map<String, Object> charge(@Nullable String periodo) {
+        return toMap(job.charge(periodo != null ? YearMonth.parse(periodo) : YearMonth.now().minusMonths(1)));
+    }
+
+    private Map<String, Object> toMap(AccountPartitionRunner.Result result) {
+        if (result == null) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("ejecutada", false);
+            return map;
+        }
+        Map<String, Object> map = result.toMap();
+        map.put("pendientes", job.pending(YearMonth.parse(result.periodo())));
+        return map;
+    }
+}
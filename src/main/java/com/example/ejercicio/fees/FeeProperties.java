@@ -0,0 +1,79 @@
+package com.example.ejercicio.fees;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.fees")
+public class FeeProperties {
+
+    /**
+     * Enables the monthly run and its catch-up at startup; the actuator endpoint can run it either way.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Monthly maintenance fee per account type (AHORRO, CORRIENTE); types without an entry pay nothing.
+     */
+    private Map<String, BigDecimal> schedules = new LinkedHashMap<>();
+
+    /**
+     * What to do with an account whose balance does not cover the fee: SKIP it, or leave a
+     * PENDING fee in comisiones_pendientes.
+     */
+    private InsufficientBalance onInsufficientBalance = InsufficientBalance.PENDING;
+
+    /**
+     * Width of each account id range, the unit of work and of checkpointing.
+     */
+    private long partitionSize = 10_000;
+
+    private int threads = 4;
+
+    public enum InsufficientBalance {
+        SKIP, PENDING
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, BigDecimal> getSchedules() {
+        return schedules;
+    }
+
+    public void setSchedules(Map<String, BigDecimal> schedules) {
+        this.schedules = schedules;
+    }
+
+    public InsufficientBalance getOnInsufficientBalance() {
+        return onInsufficientBalance;
+    }
+
+    public void setOnInsufficientBalance(InsufficientBalance onInsufficientBalance) {
+        this.onInsufficientBalance = onInsufficientBalance;
+    }
+
+    public long getPartitionSize() {
+        return partitionSize;
+    }
+
+    public void setPartitionSize(long partitionSize) {
+        this.partitionSize = partitionSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+}
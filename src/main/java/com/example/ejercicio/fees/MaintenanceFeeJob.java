@@ -0,0 +1,168 @@
+package com.example.ejercicio.fees;
+
+import com.example.ejercicio.batch.AccountPartitionRunner;
+import com.example.ejercicio.batch.AccountPostingWriter;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.model.TipoCuenta;
+import com.example.ejercicio.model.TipoMovimiento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Charges the monthly maintenance fee of each account type ({@code app.fees.schedules}) to
+ * every active account of that type, as a DEBITO movement. Accounts whose balance does not cover
+ * the fee are skipped or, by default, get a row in comisiones_pendientes instead. Runs through
+ * AccountPartitionRunner, so each id range is charged in one transaction together with its
+ * checkpoint and a period is never charged twice, whatever the restarts or instances.
+ */
+@Component
+public class MaintenanceFeeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MaintenanceFeeJob.class);
+
+    static final String PROCESS = "comisiones";
+    static final String DESCRIPTION = "Comisión manejo cuenta ";
+
+    private static final String ACCOUNTS_QUERY = "SELECT id, cliente_id, tipo_cuenta, saldo_actual FROM cuentas " +
+            "WHERE id BETWEEN ? AND ? AND estado = TRUE AND tipo_cuenta IN (%s) ORDER BY id FOR UPDATE";
+    private static final String INSERT_PENDING = "INSERT INTO comisiones_pendientes (cuenta_id, periodo, importe, saldo, registrada_en) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final String PENDING_QUERY = "SELECT COUNT(*) AS cuentas, COALESCE(SUM(importe), 0) AS total FROM comisiones_pendientes WHERE periodo = ?";
+
+    private final AccountPartitionRunner runner;
+    private final AccountPostingWriter writer;
+    private final JdbcTemplate jdbcTemplate;
+    private final FeeProperties properties;
+    private final Counter charged;
+    private final Counter pending;
+    private final Counter skipped;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile AccountPartitionRunner.Result last;
+
+    public MaintenanceFeeJob(AccountPartitionRunner runner, AccountPostingWriter writer, JdbcTemplate jdbcTemplate,
+                             FeeProperties properties, MeterRegistry meterRegistry) {
+        this.runner = runner;
+        this.writer = writer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.charged = counter(meterRegistry, "cobrada");
+        this.pending = counter(meterRegistry, "pendiente");
+        this.skipped = counter(meterRegistry, "omitida");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("comisiones.cuentas").tag("resultado", resultado)
+                .description("Cuentas procesadas por el cobro mensual de comisiones")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        // Finishes last month's run if the node stopped midway, or does it if the cron was missed
+        chargePreviousMonth();
+    }
+
+    @Scheduled(cron = "${app.fees.cron:0 0 1 1 * *}")
+    public void chargePreviousMonth() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            charge(YearMonth.now().minusMonths(1));
+        } catch (RuntimeException e) {
+            log.error("Falló el cobro mensual de comisiones", e);
+        }
+    }
+
+    public AccountPartitionRunner.Result charge(YearMonth periodo) {
+        Map<TipoCuenta, Money> fees = schedule();
+        if (fees.isEmpty()) {
+            throw new IllegalStateException("No hay comisiones configuradas en app.fees.schedules");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("El cobro de comisiones ya se está ejecutando");
+        }
+        try {
+            String accountsQuery = String.format(ACCOUNTS_QUERY, fees.keySet().stream()
+                    .map(tipo -> String.valueOf(tipo.getCode())).collect(Collectors.joining(", ")));
+            last = runner.run(PROCESS, periodo.toString(), properties.getPartitionSize(), properties.getThreads(),
+                    (desde, hasta) -> chargePartition(periodo, fees, accountsQuery, desde, hasta));
+            return last;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public AccountPartitionRunner.Result last() {
+        return last;
+    }
+
+    /**
+     * Fees recorded as pending for {@code periodo}: count of accounts and total amount
+     */
+    public Map<String, Object> pending(YearMonth periodo) {
+        return jdbcTemplate.queryForMap(PENDING_QUERY, periodo.toString());
+    }
+
+    private AccountPartitionRunner.Outcome chargePartition(YearMonth periodo, Map<TipoCuenta, Money> fees, String accountsQuery,
+                                                           long desde, long hasta) {
+        String descripcion = DESCRIPTION + periodo;
+        LocalDateTime fecha = LocalDateTime.now();
+        List<AccountPostingWriter.Posting> postings = new ArrayList<>();
+        List<Object[]> pendingFees = new ArrayList<>();
+        int[] omitidas = {0};
+        Money[] total = {Money.ZERO};
+        jdbcTemplate.query(accountsQuery, rs -> {
+            Money fee = fees.get(TipoCuenta.fromCode(rs.getShort("tipo_cuenta")));
+            Money saldo = Money.of(rs.getBigDecimal("saldo_actual"));
+            if (saldo.minus(fee).isNegative()) {
+                if (properties.getOnInsufficientBalance() == FeeProperties.InsufficientBalance.PENDING) {
+                    pendingFees.add(new Object[]{rs.getLong("id"), periodo.toString(), fee.toBigDecimal(), saldo.toBigDecimal(),
+                            Timestamp.valueOf(fecha)});
+                } else {
+                    omitidas[0]++;
+                }
+                return;
+            }
+            postings.add(new AccountPostingWriter.Posting(rs.getLong("id"), rs.getLong("cliente_id"),
+                    TipoMovimiento.DEBITO, fee.negate(), saldo.minus(fee), descripcion));
+            total[0] = total[0].plus(fee);
+        }, desde, hasta);
+        writer.write(postings, fecha);
+        if (!pendingFees.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PENDING, pendingFees);
+        }
+        charged.increment(postings.size());
+        pending.increment(pendingFees.size());
+        skipped.increment(omitidas[0]);
+        return new AccountPartitionRunner.Outcome(postings.size(), total[0]);
+    }
+
+    private Map<TipoCuenta, Money> schedule() {
+        Map<TipoCuenta, Money> fees = new EnumMap<>(TipoCuenta.class);
+        properties.getSchedules().forEach((tipo, importe) -> {
+            Money fee = Money.of(importe);
+            if (fee.signum() > 0) {
+                fees.put(TipoCuenta.from(tipo), fee);
+            }
+        });
+        return fees;
+    }
+}
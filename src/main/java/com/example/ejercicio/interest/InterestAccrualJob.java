@@ -0,0 +1,126 @@
+package com.example.ejercicio.interest;
+
+import com.example.ejercicio.batch.AccountPartitionRunner;
+import com.example.ejercicio.batch.AccountPostingWriter;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.model.TipoCuenta;
+import com.example.ejercicio.model.TipoMovimiento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Posts one day of interest to every active AHORRO account with a positive balance: the
+ * balance times the annual rate over {@code app.interest.day-count-basis}, in exact decimal
+ * arithmetic rounded half-even to the cent. Accounts are processed by id range in parallel
+ * through AccountPartitionRunner, which checkpoints each range with its postings, so running a
+ * day again, after a crash or at the next startup, only posts the ranges still missing.
+ */
+@Component
+public class InterestAccrualJob {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestAccrualJob.class);
+
+    static final String PROCESS = "intereses";
+
+    private static final String ACCOUNTS_QUERY = "SELECT id, cliente_id, saldo_actual FROM cuentas " +
+            "WHERE id BETWEEN ? AND ? AND tipo_cuenta = ? AND estado = TRUE AND saldo_actual > 0 ORDER BY id FOR UPDATE";
+    private static final String DESCRIPTION = "Interés diario ";
+
+    private final AccountPartitionRunner runner;
+    private final AccountPostingWriter writer;
+    private final JdbcTemplate jdbcTemplate;
+    private final InterestProperties properties;
+    private final Counter accounts;
+    private final Counter amount;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile AccountPartitionRunner.Result last;
+
+    public InterestAccrualJob(AccountPartitionRunner runner, AccountPostingWriter writer, JdbcTemplate jdbcTemplate,
+                              InterestProperties properties, MeterRegistry meterRegistry) {
+        this.runner = runner;
+        this.writer = writer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.accounts = Counter.builder("intereses.cuentas")
+                .description("Cuentas a las que se abonó interés diario")
+                .register(meterRegistry);
+        this.amount = Counter.builder("intereses.importe")
+                .description("Importe total de interés diario abonado")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        // Finishes yesterday's run if the node stopped midway, or does it if the cron was missed
+        accrueYesterday();
+    }
+
+    @Scheduled(cron = "${app.interest.cron:0 30 0 * * *}")
+    public void accrueYesterday() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            accrue(LocalDate.now().minusDays(1));
+        } catch (RuntimeException e) {
+            log.error("Falló el abono de intereses diarios", e);
+        }
+    }
+
+    public AccountPartitionRunner.Result accrue(LocalDate fecha) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("El abono de intereses ya se está ejecutando");
+        }
+        try {
+            last = runner.run(PROCESS, fecha.toString(), properties.getPartitionSize(), properties.getThreads(),
+                    (desde, hasta) -> accruePartition(fecha, desde, hasta));
+            return last;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public AccountPartitionRunner.Result last() {
+        return last;
+    }
+
+    private AccountPartitionRunner.Outcome accruePartition(LocalDate fecha, long desde, long hasta) {
+        String descripcion = DESCRIPTION + fecha;
+        List<AccountPostingWriter.Posting> postings = new ArrayList<>();
+        Money[] total = {Money.ZERO};
+        jdbcTemplate.query(ACCOUNTS_QUERY, rs -> {
+            Money saldo = Money.of(rs.getBigDecimal("saldo_actual"));
+            Money interes = dailyInterest(saldo, properties.getAnnualRate(), properties.getDayCountBasis());
+            if (interes.signum() > 0) {
+                postings.add(new AccountPostingWriter.Posting(rs.getLong("id"), rs.getLong("cliente_id"),
+                        TipoMovimiento.CREDITO, interes, saldo.plus(interes), descripcion));
+                total[0] = total[0].plus(interes);
+            }
+        }, desde, hasta, TipoCuenta.AHORRO.getCode());
+        writer.write(postings, LocalDateTime.now());
+        accounts.increment(postings.size());
+        amount.increment(total[0].doubleValue());
+        return new AccountPartitionRunner.Outcome(postings.size(), total[0]);
+    }
+
+    static Money dailyInterest(Money saldo, BigDecimal annualRate, int dayCountBasis) {
+        BigDecimal cents = BigDecimal.valueOf(saldo.getCents()).multiply(annualRate)
+                .divide(BigDecimal.valueOf(dayCountBasis), 0, RoundingMode.HALF_EVEN);
+        return Money.ofCents(cents.longValueExact());
+    }
+}
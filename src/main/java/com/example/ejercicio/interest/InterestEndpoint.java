@@ -0,0 +1,46 @@
+package com.example.ejercicio.interest;
+
+import com.example.ejercicio.batch.AccountPartitionRunner;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shows the last daily interest run at /actuator/interest; a POST runs one right away for
+ * {@code fecha} (yesterday by default). Ranges already posted for that day are skipped.
+ */
+@Component
+@Endpoint(id = "interest")
+public class InterestEndpoint {
+
+    private final InterestAccrualJob job;
+
+    public InterestEndpoint(InterestAccrualJob job) {
+        this.job = job;
+    }
+
+    @ReadOperation
+    public Map<String, Object> lastRun() {
+        return toMap(job.last());
+    }
+
+    @WriteOperation
+    public Map<String, Object> accrue(@Nullable String fecha) {
+        return toMap(job.accrue(fecha != null ? LocalDate.parse(fecha) : LocalDate.now().minusDays(1)));
+    }
+
+    private Map<String, Object> toMap(AccountPartitionRunner.Result result) {
+        if (result == null) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("ejecutada", false);
+            return map;
+        }
+        return result.toMap();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ejercicio.interest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+@ConfigurationProperties(prefix = "app.interest")
+public class InterestProperties {
+
+    /**
+     * Enables the daily accrual and its catch-up at startup; the actuator endpoint can run it either way.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Nominal annual rate paid on AHORRO balances, as a fraction (0.015 is 1.5 %).
+     */
+    private BigDecimal annualRate = new BigDecimal("0.015");
+
+    /**
+     * Days the annual rate is spread over.
+     */
+    private int dayCountBasis = 365;
+
+    /**
+     * Width of each account id range, the unit of work and of checkpointing.
+     */
+    private long partitionSize = 10_000;
+
+    private int threads = 4;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public BigDecimal getAnnualRate() {
+        return annualRate;
+    }
+
+    public void setAnnualRate(BigDecimal annualRate) {
+        this.annualRate = annualRate;
+    }
+
+    public int getDayCountBasis() {
+        return dayCountBasis;
+    }
+
+    public void setDayCountBasis(int dayCountBasis) {
+        this.dayCountBasis = dayCountBasis;
+    }
+
+    public long getPartitionSize() {
+        return partitionSize;
+    }
+
+    public void setPartitionSize(long partitionSize) {
+        this.partitionSize = partitionSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ejercicio.ledger;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shows the last ledger reconciliation at /actuator/ledger with its first discrepancies; a
+ * POST runs one right away.
+ */
+@Component
+@Endpoint(id = "ledger")
+public class LedgerEndpoint {
+
+    private static final int LISTED_DISCREPANCIES = 100;
+
+    private final LedgerReconciler reconciler;
+
+    public LedgerEndpoint(LedgerReconciler reconciler) {
+        this.reconciler = reconciler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> lastReconciliation() {
+        return toMap(reconciler.last());
+    }
+
+    @WriteOperation
+    public Map<String, Object> reconcile() {
+        return toMap(reconciler.reconcile());
+    }
+
+    private Map<String, Object> toMap(LedgerReconciler.Reconciliation reconciliation) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (reconciliation == null) {
+            result.put("ejecutada", false);
+            return result;
+        }
+        result.put("ejecutada", true);
+        result.put("id", reconciliation.id());
+        result.put("fecha", reconciliation.fecha().toString());
+        result.put("duracionMs", reconciliation.duracion().toMillis());
+        result.put("rangos", reconciliation.rangos());
+        result.put("fallidos", reconciliation.fallidos());
+        result.put("cuentas", reconciliation.cuentas());
+        result.put("movimientos", reconciliation.movimientos());
+        result.put("descuadres", reconciliation.descuadres());
+        result.put("detalle", reconciler.discrepancies(reconciliation.id(), LISTED_DISCREPANCIES));
+        return result;
+    }
+}
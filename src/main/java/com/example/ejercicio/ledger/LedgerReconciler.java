@@ -0,0 +1,351 @@
+package com.example.ejercicio.ledger;
+
+import com.example.ejercicio.archive.MovementArchive;
+import com.example.ejercicio.model.Money;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Nightly check of the movement ledger. For every account it verifies that each movement's
+ * saldo is the previous one (saldo_inicial for the first) plus its valor, in (fecha, id) order,
+ * and that saldo_actual is the opening balance plus the sum of the movements. Accounts are split
+ * into id ranges checked in parallel; each range is one streaming query in a read-only
+ * repeatable-read transaction, so it sees a single snapshot in which a posting's movement and
+ * its new account balance are both visible or both absent, and a worker only keeps the running
+ * state of the account being read. Discrepancies go to descuadres_libro. An account with archived
+ * movements opens at the saldo of its last archived one instead of saldo_inicial; each range reads
+ * those balances in one pass over its archive segments and keeps one per account of the range.
+ */
+@Component
+public class LedgerReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerReconciler.class);
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final String MISMATCH_METRIC = "libro.descuadres";
+
+    private static final String ID_BOUNDS_QUERY = "SELECT MIN(id) AS desde, MAX(id) AS hasta FROM cuentas";
+    // The range is repeated on movimientos so the scan of each partition stays within it
+    private static final String LEDGER_QUERY = "SELECT c.id AS cuenta_id, c.saldo_inicial, c.saldo_actual, m.id AS movimiento_id, m.fecha, m.valor, m.saldo " +
+            "FROM cuentas c LEFT JOIN movimientos m ON m.cuenta_id = c.id AND m.cuenta_id BETWEEN ? AND ? " +
+            "WHERE c.id BETWEEN ? AND ? ORDER BY c.id, m.fecha, m.id";
+    private static final String INSERT_RUN = "INSERT INTO conciliaciones_libro (iniciada_en) VALUES (?)";
+    private static final String COMPLETE_RUN = "UPDATE conciliaciones_libro SET terminada_en = ?, cuentas = ?, movimientos = ?, " +
+            "descuadres = ?, rangos_fallidos = ? WHERE id = ?";
+    private static final String INSERT_DISCREPANCY = "INSERT INTO descuadres_libro (conciliacion_id, cuenta_id, movimiento_id, tipo, esperado, registrado) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DISCREPANCIES_QUERY = "SELECT cuenta_id, movimiento_id, tipo, esperado, registrado FROM descuadres_libro " +
+            "WHERE conciliacion_id = ? ORDER BY cuenta_id, movimiento_id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final MovementArchive archive;
+    private final LedgerReconciliationProperties properties;
+    private final AtomicLong mismatches = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Reconciliation last;
+
+    public LedgerReconciler(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            PlatformTransactionManager transactionManager, MovementArchive archive,
+                            LedgerReconciliationProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.archive = archive;
+        this.properties = properties;
+        Gauge.builder(MISMATCH_METRIC, mismatches, AtomicLong::get)
+                .description("Descuadres del libro de movimientos en la última conciliación")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.ledger.cron:0 0 2 * * *}")
+    public void reconcileNightly() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("Falló la conciliación del libro de movimientos", e);
+        }
+    }
+
+    public Reconciliation reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("La conciliación del libro ya se está ejecutando");
+        }
+        try {
+            last = run();
+            return last;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Reconciliation last() {
+        return last;
+    }
+
+    /**
+     * First {@code limit} discrepancies recorded by the run {@code conciliacionId}, by account
+     */
+    public List<Map<String, Object>> discrepancies(long conciliacionId, int limit) {
+        return jdbcTemplate.queryForList(DISCREPANCIES_QUERY, conciliacionId, limit);
+    }
+
+    private Reconciliation run() {
+        Instant started = Instant.now();
+        long runId = insertRun(LocalDateTime.now());
+        boolean archived = !archive.archivedMonths().isEmpty();
+        List<long[]> ranges = ranges();
+
+        AtomicLong failed = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(properties.getThreads(), ranges.size())), runnable -> {
+            Thread thread = new Thread(runnable, "conciliacion-libro");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<Totals>> futures = new ArrayList<>();
+        try {
+            for (long[] range : ranges) {
+                futures.add(executor.submit(() -> checkRange(runId, range[0], range[1], archived, failed)));
+            }
+            long cuentas = 0;
+            long movimientos = 0;
+            long descuadres = 0;
+            for (Future<Totals> future : futures) {
+                Totals totals = future.get();
+                cuentas += totals.cuentas();
+                movimientos += totals.movimientos();
+                descuadres += totals.descuadres();
+            }
+            jdbcTemplate.update(COMPLETE_RUN, Timestamp.valueOf(LocalDateTime.now()), cuentas, movimientos, descuadres,
+                    failed.get(), runId);
+            Reconciliation reconciliation = new Reconciliation(runId, started, ranges.size(), (int) failed.get(), cuentas,
+                    movimientos, descuadres, Duration.between(started, Instant.now()));
+            mismatches.set(descuadres);
+            if (descuadres > 0 || failed.get() > 0) {
+                log.warn("Conciliación {} del libro: {} descuadres en {} cuentas y {} movimientos, {} rangos fallidos, en {} ms",
+                        runId, descuadres, cuentas, movimientos, failed.get(), reconciliation.duracion().toMillis());
+            } else {
+                log.info("Conciliación {} del libro sin descuadres: {} cuentas y {} movimientos en {} ms",
+                        runId, cuentas, movimientos, reconciliation.duracion().toMillis());
+            }
+            return reconciliation;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Conciliación del libro interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló la conciliación del libro", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long insertRun(LocalDateTime iniciada) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_RUN, new String[]{"id"});
+            statement.setTimestamp(1, Timestamp.valueOf(iniciada));
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    private List<long[]> ranges() {
+        List<long[]> ranges = new ArrayList<>();
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(ID_BOUNDS_QUERY);
+        if (bounds.get("desde") == null) {
+            return ranges;
+        }
+        long maxId = ((Number) bounds.get("hasta")).longValue();
+        long size = properties.getPartitionSize();
+        for (long desde = ((Number) bounds.get("desde")).longValue(); desde <= maxId; desde += size) {
+            ranges.add(new long[]{desde, desde + size - 1});
+        }
+        return ranges;
+    }
+
+    private Totals checkRange(long runId, long desde, long hasta, boolean archived, AtomicLong failed) {
+        try {
+            RangeCheck check = new RangeCheck(archived ? archivedAnchors(desde, hasta) : Map.of(), properties.getMaxReportedPerPartition());
+            snapshotTemplate.executeWithoutResult(status ->
+                    streamingJdbcTemplate.query(LEDGER_QUERY, check, desde, hasta, desde, hasta));
+            check.closeAccount();
+            if (!check.reported.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_DISCREPANCY, check.reported,
+                        check.reported.size(), (ps, discrepancy) -> {
+                            ps.setLong(1, runId);
+                            ps.setLong(2, discrepancy.cuentaId());
+                            ps.setObject(3, discrepancy.movimientoId());
+                            ps.setString(4, discrepancy.tipo().name());
+                            ps.setBigDecimal(5, discrepancy.esperado().toBigDecimal());
+                            ps.setBigDecimal(6, discrepancy.registrado().toBigDecimal());
+                        }));
+            }
+            return new Totals(check.cuentas, check.movimientos, check.descuadres);
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("Falló la conciliación del rango de cuentas [{}, {}]", desde, hasta, e);
+            return new Totals(0, 0, 0);
+        }
+    }
+
+    /**
+     * Last archived movement of each account in [desde, hasta] that has any
+     */
+    private Map<Long, Anchor> archivedAnchors(long desde, long hasta) {
+        Map<Long, Anchor> anchors = new HashMap<>();
+        archive.scan(desde, hasta, archivado -> anchors.merge(archivado.getCuentaId(),
+                new Anchor(archivado.getFecha(), archivado.getId(), archivado.getSaldo().getCents()),
+                (actual, otro) -> actual.isBefore(otro.fecha(), otro.movimientoId()) ? otro : actual));
+        return anchors;
+    }
+
+    /**
+     * Running state of one range: only the account being read, plus the first discrepancies
+     */
+    private static final class RangeCheck implements RowCallbackHandler {
+
+        private final Map<Long, Anchor> anchors;
+        private final int maxReported;
+        private final List<Discrepancy> reported = new ArrayList<>();
+        private long cuentas;
+        private long movimientos;
+        private long descuadres;
+
+        private long cuentaId = -1;
+        private long saldoActual;
+        private long apertura;
+        private long saldo;
+        private long suma;
+        private Anchor anchor;
+
+        /**
+         * @param anchors last archived movement of each account of the range that has archived ones
+         */
+        RangeCheck(Map<Long, Anchor> anchors, int maxReported) {
+            this.anchors = anchors;
+            this.maxReported = maxReported;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("cuenta_id");
+            if (id != cuentaId) {
+                closeAccount();
+                cuentaId = id;
+                cuentas++;
+                saldoActual = cents(rs, "saldo_actual");
+                anchor = anchors.get(id);
+                // Archived movements come first: the live chain goes on from the last of them
+                apertura = anchor != null ? anchor.saldo() : cents(rs, "saldo_inicial");
+                saldo = apertura;
+                suma = 0;
+            }
+            long movimientoId = rs.getLong("movimiento_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            if (anchor != null && !anchor.isBefore(rs.getTimestamp("fecha").toLocalDateTime(), movimientoId)) {
+                // Also in the archive, left by an interrupted archival run: already part of the opening balance
+                return;
+            }
+            long valor = cents(rs, "valor");
+            long registrado = cents(rs, "saldo");
+            movimientos++;
+            long esperado = saldo + valor;
+            if (registrado != esperado) {
+                report(movimientoId, DiscrepancyType.MOVIMIENTO, esperado, registrado);
+            }
+            // Going on from the stored balance reports a broken link once, not on every later movement
+            saldo = registrado;
+            suma += valor;
+        }
+
+        void closeAccount() {
+            if (cuentaId < 0) {
+                return;
+            }
+            long esperado = apertura + suma;
+            if (saldoActual != esperado) {
+                report(null, DiscrepancyType.CUENTA, esperado, saldoActual);
+            }
+            cuentaId = -1;
+        }
+
+        private void report(Long movimientoId, DiscrepancyType tipo, long esperado, long registrado) {
+            descuadres++;
+            if (reported.size() < maxReported) {
+                reported.add(new Discrepancy(cuentaId, movimientoId, tipo, Money.ofCents(esperado), Money.ofCents(registrado)));
+            }
+        }
+
+        private static long cents(ResultSet rs, String column) throws SQLException {
+            return Money.of(rs.getBigDecimal(column)).getCents();
+        }
+    }
+
+    private record Totals(long cuentas, long movimientos, long descuadres) {
+    }
+
+    /**
+     * Last archived movement of an account, in (fecha, id) order, and its saldo in cents
+     */
+    private record Anchor(LocalDateTime fecha, long movimientoId, long saldo) {
+
+        boolean isBefore(LocalDateTime otraFecha, long otroId) {
+            int byFecha = fecha.compareTo(otraFecha);
+            return byFecha < 0 || (byFecha == 0 && movimientoId < otroId);
+        }
+    }
+
+    public enum DiscrepancyType {
+        /** The movement's saldo is not the previous balance plus its valor */
+        MOVIMIENTO,
+        /** saldo_actual is not the opening balance plus the sum of the movements */
+        CUENTA
+    }
+
+    public record Discrepancy(long cuentaId, Long movimientoId, DiscrepancyType tipo, Money esperado, Money registrado) {
+    }
+
+    public record Reconciliation(long id, Instant fecha, int rangos, int fallidos, long cuentas, long movimientos,
+                                 long descuadres, Duration duracion) {
+    }
+}
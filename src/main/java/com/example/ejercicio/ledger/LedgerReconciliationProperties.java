@@ -0,0 +1,57 @@
+package com.example.ejercicio.ledger;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.ledger")
+public class LedgerReconciliationProperties {
+
+    /**
+     * Enables the nightly run; the actuator endpoint can run it either way.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Width of each account id range; each range is one streaming query and one worker task.
+     */
+    private long partitionSize = 50_000;
+
+    private int threads = 4;
+
+    /**
+     * Discrepancies written to descuadres_libro per range; the rest are only counted.
+     */
+    private int maxReportedPerPartition = 1_000;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getPartitionSize() {
+        return partitionSize;
+    }
+
+    public void setPartitionSize(long partitionSize) {
+        this.partitionSize = partitionSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getMaxReportedPerPartition() {
+        return maxReportedPerPartition;
+    }
+
+    public void setMaxReportedPerPartition(int maxReportedPerPartition) {
+        this.maxReportedPerPartition = maxReportedPerPartition;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.ejercicio.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and error count for one endpoint of the load test.
+ */
+class EndpointStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long elapsedNanos, boolean success) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_TRACKABLE_MICROS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    Map<String, Object> summary(double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("solicitudes", latencies.getTotalCount());
+        summary.put("errores", errors.sum());
+        summary.put("throughputPorSegundo", round(latencies.getTotalCount() / seconds));
+        summary.put("p50Ms", millis(latencies.getValueAtPercentile(50)));
+        summary.put("p99Ms", millis(latencies.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(latencies.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(latencies.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ejercicio.loadtest;
+
+import com.example.ejercicio.datagen.SyntheticDataGenerator;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds the embedded database with the configured data volume before the load test starts.
+ */
+@Component
+@Profile("loadtest")
+@Order(1)
+public class LoadTestDataSeeder implements ApplicationRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final LoadTestProperties properties;
+
+    public LoadTestDataSeeder(SyntheticDataGenerator generator, LoadTestProperties properties) {
+        this.generator = generator;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generator.generate(properties.getClientes(), properties.getCuentasPorCliente(), properties.getMovimientosPorCuenta());
+    }
+}
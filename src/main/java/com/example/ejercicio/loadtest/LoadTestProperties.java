@@ -0,0 +1,101 @@
+package com.example.ejercicio.loadtest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.loadtest")
+public class LoadTestProperties {
+
+    private int clientes = 1000;
+    private int cuentasPorCliente = 2;
+    private int movimientosPorCuenta = 10;
+    private int concurrency = 16;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private int balanceReadPercent = 70;
+    private int postingPercent = 20;
+    private String reportFile = "target/loadtest-report.json";
+    private boolean exitOnFinish = true;
+
+    // Getters and Setters
+    public int getClientes() {
+        return clientes;
+    }
+
+    public void setClientes(int clientes) {
+        this.clientes = clientes;
+    }
+
+    public int getCuentasPorCliente() {
+        return cuentasPorCliente;
+    }
+
+    public void setCuentasPorCliente(int cuentasPorCliente) {
+        this.cuentasPorCliente = cuentasPorCliente;
+    }
+
+    public int getMovimientosPorCuenta() {
+        return movimientosPorCuenta;
+    }
+
+    public void setMovimientosPorCuenta(int movimientosPorCuenta) {
+        this.movimientosPorCuenta = movimientosPorCuenta;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(Duration warmup) {
+        this.warmup = warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public int getBalanceReadPercent() {
+        return balanceReadPercent;
+    }
+
+    public void setBalanceReadPercent(int balanceReadPercent) {
+        this.balanceReadPercent = balanceReadPercent;
+    }
+
+    public int getPostingPercent() {
+        return postingPercent;
+    }
+
+    public void setPostingPercent(int postingPercent) {
+        this.postingPercent = postingPercent;
+    }
+
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    public void setReportFile(String reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    public boolean isExitOnFinish() {
+        return exitOnFinish;
+    }
+
+    public void setExitOnFinish(boolean exitOnFinish) {
+        this.exitOnFinish = exitOnFinish;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.ejercicio.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process load generator: drives a mixed read/write workload over HTTP against this same
+ * application and reports throughput and p50/p99/p999 latency per endpoint.
+ */
+@Component
+@Profile("loadtest")
+@Order(2)
+public class LoadTestRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private static final String ACTIVE_ACCOUNTS_QUERY = "SELECT id FROM cuentas WHERE estado = TRUE";
+    private static final String POSTING_BODY = "{\"cuentaId\":%d,\"tipoMovimiento\":\"%s\",\"valor\":%s,\"descripcion\":\"Prueba de carga\"}";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    enum Endpoint {
+        SALDO("GET /cuentas/{id}/saldo"),
+        MOVIMIENTO("POST /movimientos"),
+        LISTADO("GET /movimientos/cuenta/{id}/paginados");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+    }
+
+    private final LoadTestProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final Environment environment;
+    private final ConfigurableApplicationContext context;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    public LoadTestRunner(LoadTestProperties properties, JdbcTemplate jdbcTemplate, Environment environment,
+                          ConfigurableApplicationContext context, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.environment = environment;
+        this.context = context;
+        this.objectMapper = objectMapper;
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String baseUrl = "http://localhost:" + environment.getRequiredProperty("local.server.port");
+        List<Long> cuentaIds = jdbcTemplate.queryForList(ACTIVE_ACCOUNTS_QUERY, Long.class);
+        if (cuentaIds.isEmpty()) {
+            log.warn("No hay cuentas activas para la prueba de carga");
+            return;
+        }
+
+        log.info("Calentamiento de {} s con {} hilos", properties.getWarmup().toSeconds(), properties.getConcurrency());
+        drive(baseUrl, cuentaIds, properties.getWarmup());
+        stats.values().forEach(EndpointStats::reset);
+
+        log.info("Medición de {} s con {} hilos", properties.getDuration().toSeconds(), properties.getConcurrency());
+        long start = System.nanoTime();
+        drive(baseUrl, cuentaIds, properties.getDuration());
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        report(seconds);
+        if (properties.isExitOnFinish()) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private void drive(String baseUrl, List<Long> cuentaIds, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(properties.getConcurrency());
+        for (int i = 0; i < properties.getConcurrency(); i++) {
+            workers.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    execute(baseUrl, cuentaIds);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    private void execute(String baseUrl, List<Long> cuentaIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long cuentaId = cuentaIds.get(random.nextInt(cuentaIds.size()));
+        int roll = random.nextInt(100);
+        Endpoint endpoint;
+        HttpRequest request;
+        if (roll < properties.getBalanceReadPercent()) {
+            endpoint = Endpoint.SALDO;
+            request = get(baseUrl + "/cuentas/" + cuentaId + "/saldo");
+        } else if (roll < properties.getBalanceReadPercent() + properties.getPostingPercent()) {
+            endpoint = Endpoint.MOVIMIENTO;
+            BigDecimal valor = BigDecimal.valueOf(random.nextLong(-2_000, 5_000), 2);
+            String body = String.format(POSTING_BODY, cuentaId, valor.signum() < 0 ? "DEBITO" : "CREDITO", valor.toPlainString());
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "/movimientos"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        } else {
+            endpoint = Endpoint.LISTADO;
+            request = get(baseUrl + "/movimientos/cuenta/" + cuentaId + "/paginados?size=20");
+        }
+
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 300;
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        stats.get(endpoint).record(System.nanoTime() - start, success);
+    }
+
+    private HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private void report(double seconds) throws IOException {
+        long total = stats.values().stream().mapToLong(EndpointStats::count).sum();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("duracionSegundos", Math.round(seconds * 100.0) / 100.0);
+        report.put("concurrencia", properties.getConcurrency());
+        report.put("throughputTotalPorSegundo", Math.round(total / seconds * 100.0) / 100.0);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> endpoints.put(endpoint.label, endpointStats.summary(seconds)));
+        report.put("endpoints", endpoints);
+
+        File reportFile = new File(properties.getReportFile());
+        if (reportFile.getParentFile() != null) {
+            reportFile.getParentFile().mkdirs();
+        }
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile, report);
+        log.info("Resultado de la prueba de carga ({}):\n{}", reportFile.getAbsolutePath(),
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    }
+}
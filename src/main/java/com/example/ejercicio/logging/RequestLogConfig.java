@@ -0,0 +1,27 @@
+package com.example.ejercicio.logging;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.request-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLogConfig {
+
+    private final RequestLogProperties properties;
+
+    public RequestLogConfig(RequestLogProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestLogFilter> requestLogFilter() {
+        FilterRegistrationBean<RequestLogFilter> registration =
+                new FilterRegistrationBean<>(new RequestLogFilter(properties.getSlowThreshold().toNanos()));
+        // Inside the tracing filter, so request lines carry the trace id
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
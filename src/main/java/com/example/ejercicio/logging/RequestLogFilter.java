@@ -0,0 +1,54 @@
+package com.example.ejercicio.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One log line per request. Successful requests are logged at INFO, which the prod logging
+ * configuration samples; failed and slow requests are logged at WARN and always kept.
+ */
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestLogFilter.class);
+
+    private static final int SERVER_ERROR = 500;
+
+    private final long slowThresholdNanos;
+
+    public RequestLogFilter(long slowThresholdNanos) {
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            log.warn("{} {} fallida tras {} ms: {}", request.getMethod(), request.getRequestURI(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), e.toString());
+            throw e;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        int status = response.getStatus();
+        if (status >= SERVER_ERROR) {
+            log.warn("{} {} -> {} en {} ms", request.getMethod(), request.getRequestURI(), status,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        } else if (elapsedNanos >= slowThresholdNanos) {
+            log.warn("Solicitud lenta: {} {} -> {} en {} ms", request.getMethod(), request.getRequestURI(), status,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        } else if (log.isInfoEnabled()) {
+            log.info("{} {} -> {} en {} ms", request.getMethod(), request.getRequestURI(), status,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+}
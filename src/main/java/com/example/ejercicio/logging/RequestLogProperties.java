@@ -0,0 +1,33 @@
+package com.example.ejercicio.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.request-log")
+public class RequestLogProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Requests at or above this duration are always logged at WARN.
+     */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+}
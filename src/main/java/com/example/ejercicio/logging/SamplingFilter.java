@@ -0,0 +1,45 @@
+package com.example.ejercicio.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logback filter that lets through one in {@code oneIn} events below WARN from the configured
+ * logger prefixes. WARN and ERROR events, and every other logger, are never sampled.
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    private final List<String> loggers = new ArrayList<>();
+    private int oneIn = 100;
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (oneIn <= 1 || event.getLevel().isGreaterOrEqual(Level.WARN) || !sampled(event.getLoggerName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(oneIn) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean sampled(String loggerName) {
+        for (String logger : loggers) {
+            if (loggerName.startsWith(logger)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void addLogger(String logger) {
+        loggers.add(logger.trim());
+    }
+
+    public void setOneIn(int oneIn) {
+        this.oneIn = oneIn;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ejercicio.metrics;
+
+import com.example.ejercicio.model.TipoCuenta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Business metrics for the balance and account paths of CuentaServiceImpl.
+ */
+@Component
+public class BalanceMetrics {
+
+    public static final String SCOPE_ACCOUNT = "cuenta";
+    public static final String SCOPE_CLIENT = "cliente";
+
+    private static final String BALANCE_READ_METRIC = "cuentas.saldo.consulta";
+    private static final String ACCOUNT_OPENED_METRIC = "cuentas.aperturas";
+    private static final String STATUS_CHANGE_METRIC = "cuentas.cambios.estado";
+
+    private final MeterRegistry meterRegistry;
+
+    public BalanceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T balanceRead(String scope, Supplier<T> body) {
+        return Timer.builder(BALANCE_READ_METRIC)
+                .description("Latencia de consulta de saldos")
+                .tag("alcance", scope)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(body);
+    }
+
+    public void accountOpened(TipoCuenta tipoCuenta) {
+        Counter.builder(ACCOUNT_OPENED_METRIC)
+                .description("Cuentas abiertas por tipo")
+                .tag("tipoCuenta", PostingMetrics.normalize(tipoCuenta))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void statusChanged(boolean estado) {
+        Counter.builder(STATUS_CHANGE_METRIC)
+                .description("Cambios de estado de cuentas")
+                .tag("estado", estado ? "activa" : "inactiva")
+                .register(meterRegistry)
+                .increment();
+    }
+}
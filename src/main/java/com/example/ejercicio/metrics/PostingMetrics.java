@@ -0,0 +1,90 @@
+package com.example.ejercicio.metrics;
+
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.model.TipoCuenta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Business metrics for the posting path of MovimientoServiceImpl.
+ */
+@Component
+public class PostingMetrics {
+
+    public static final String STAGE_LOOKUP = "lookup";
+    public static final String STAGE_VALIDATION = "validation";
+    public static final String STAGE_INSERT = "insert";
+    public static final String STAGE_BALANCE_UPDATE = "balance_update";
+
+    public static final String REJECTION_INSUFFICIENT_BALANCE = "saldo_insuficiente";
+    public static final String REJECTION_INACTIVE_ACCOUNT = "cuenta_inactiva";
+
+    private static final String POSTING_METRIC = "movimientos.posting";
+    private static final String STAGE_METRIC = "movimientos.posting.stage";
+    private static final String REJECTION_METRIC = "movimientos.rechazos";
+    private static final String VALUE_METRIC = "movimientos.valor";
+    private static final String UNKNOWN_TYPE = "DESCONOCIDO";
+
+    private final MeterRegistry meterRegistry;
+
+    public PostingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public <T> T stage(String stage, Supplier<T> body) {
+        return stageTimer(stage).record(body);
+    }
+
+    public void stage(String stage, Runnable body) {
+        stageTimer(stage).record(body);
+    }
+
+    /**
+     * Records a successful posting: end-to-end latency, count per account type and movement value.
+     */
+    public void posted(Timer.Sample sample, TipoCuenta tipoCuenta, Money valor) {
+        String tipo = normalize(tipoCuenta);
+        sample.stop(Timer.builder(POSTING_METRIC)
+                .description("Latencia de registro de movimientos")
+                .tag("tipoCuenta", tipo)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        DistributionSummary.builder(VALUE_METRIC)
+                .description("Distribución del valor absoluto de los movimientos")
+                .tag("tipoCuenta", tipo)
+                .tag("sentido", valor.signum() < 0 ? "debito" : "credito")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Math.abs(valor.doubleValue()));
+    }
+
+    public void rejected(String reason, TipoCuenta tipoCuenta) {
+        Counter.builder(REJECTION_METRIC)
+                .description("Movimientos rechazados por regla de negocio")
+                .tag("motivo", reason)
+                .tag("tipoCuenta", normalize(tipoCuenta))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder(STAGE_METRIC)
+                .description("Latencia de cada etapa del registro de movimientos")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    static String normalize(TipoCuenta tipoCuenta) {
+        return tipoCuenta != null ? tipoCuenta.name() : UNKNOWN_TYPE;
+    }
+}
@@ -1,40 +1,49 @@
 package com.example.ejercicio.model;
 
+import com.example.ejercicio.cache.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import java.math.BigDecimal;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "cuentas")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CUENTAS_REGION)
+@NaturalIdCache(region = SecondLevelCacheConfig.CUENTAS_NATURAL_ID_REGION)
+@DynamicUpdate
 public class Cuenta {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @NaturalId(mutable = true)
     @Column(name = "numero_cuenta", unique = true, nullable = false, length = 20)
     @NotBlank(message = "El número de cuenta es obligatorio")
     @Size(min = 8, max = 20, message = "El número de cuenta debe tener entre 8 y 20 caracteres")
     private String numeroCuenta;
     
-    @Column(name = "tipo_cuenta", nullable = false, length = 20)
-    @NotBlank(message = "El tipo de cuenta es obligatorio")
-    @Size(max = 20, message = "El tipo de cuenta no puede tener más de 20 caracteres")
-    private String tipoCuenta;
+    @Column(name = "tipo_cuenta", nullable = false)
+    @NotNull(message = "El tipo de cuenta es obligatorio")
+    private TipoCuenta tipoCuenta;
     
     @Column(name = "saldo_inicial", nullable = false, precision = 15, scale = 2)
     @NotNull(message = "El saldo inicial es obligatorio")
     @DecimalMin(value = "0.0", message = "El saldo inicial no puede ser negativo")
-    private BigDecimal saldoInicial;
+    private Money saldoInicial;
     
     @Column(name = "saldo_actual", nullable = false, precision = 15, scale = 2)
-    private BigDecimal saldoActual;
+    private Money saldoActual;
     
     @Column(name = "estado", nullable = false)
     private Boolean estado = true;
@@ -55,7 +64,7 @@ public class Cuenta {
     public Cuenta() {
     }
     
-    public Cuenta(String numeroCuenta, String tipoCuenta, BigDecimal saldoInicial, Cliente cliente) {
+    public Cuenta(String numeroCuenta, TipoCuenta tipoCuenta, Money saldoInicial, Cliente cliente) {
         this.numeroCuenta = numeroCuenta;
         this.tipoCuenta = tipoCuenta;
         this.saldoInicial = saldoInicial;
@@ -95,27 +104,27 @@ public class Cuenta {
         this.numeroCuenta = numeroCuenta;
     }
     
-    public String getTipoCuenta() {
+    public TipoCuenta getTipoCuenta() {
         return tipoCuenta;
     }
     
-    public void setTipoCuenta(String tipoCuenta) {
+    public void setTipoCuenta(TipoCuenta tipoCuenta) {
         this.tipoCuenta = tipoCuenta;
     }
     
-    public BigDecimal getSaldoInicial() {
+    public Money getSaldoInicial() {
         return saldoInicial;
     }
     
-    public void setSaldoInicial(BigDecimal saldoInicial) {
+    public void setSaldoInicial(Money saldoInicial) {
         this.saldoInicial = saldoInicial;
     }
     
-    public BigDecimal getSaldoActual() {
+    public Money getSaldoActual() {
         return saldoActual;
     }
     
-    public void setSaldoActual(BigDecimal saldoActual) {
+    public void setSaldoActual(Money saldoActual) {
         this.saldoActual = saldoActual;
     }
     
@@ -170,12 +179,12 @@ public class Cuenta {
         movimiento.setCuenta(null);
     }
     
-    public boolean hasSufficientBalance(BigDecimal monto) {
-        return saldoActual.compareTo(monto.abs()) >= 0;
+    public boolean hasSufficientBalance(Money monto) {
+        return !saldoActual.minus(monto.abs()).isNegative();
     }
     
-    public void updateBalance(BigDecimal valor) {
-        this.saldoActual = this.saldoActual.add(valor);
+    public void updateBalance(Money valor) {
+        this.saldoActual = this.saldoActual.plus(valor);
     }
     
     @Override
@@ -183,7 +192,7 @@ public class Cuenta {
         return "Cuenta{" +
                 "id=" + id +
                 ", numeroCuenta='" + numeroCuenta + '\'' +
-                ", tipoCuenta='" + tipoCuenta + '\'' +
+                ", tipoCuenta=" + tipoCuenta +
                 ", saldoActual=" + saldoActual +
                 ", estado=" + estado +
                 '}';
@@ -0,0 +1,213 @@
+package com.example.ejercicio.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amount held as a whole number of cents, matching the {@code NUMERIC(15, 2)} columns
+ * of cuentas and movimientos. Arithmetic is done on the long and fails with an
+ * {@link ArithmeticException} when the result does not fit the column, instead of wrapping.
+ */
+@JsonSerialize(using = MoneyJson.Serializer.class)
+@JsonDeserialize(using = MoneyJson.Deserializer.class)
+@Schema(type = "number", format = "decimal", example = "100.00")
+public final class Money implements Comparable<Money>, Serializable {
+
+    public static final int SCALE = 2;
+
+    /**
+     * Largest amount a {@code NUMERIC(15, 2)} column holds: 9999999999999.99
+     */
+    public static final long MAX_CENTS = 999_999_999_999_999L;
+
+    public static final Money ZERO = new Money(0L);
+
+    /**
+     * Longest plain notation: sign, 13 integer digits, point and 2 decimals
+     */
+    static final int MAX_CHARS = 17;
+
+    private static final long CENTS_PER_UNIT = 100L;
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0L ? ZERO : new Money(checked(cents));
+    }
+
+    /**
+     * Exact conversion; amounts with more than two decimals are rejected rather than rounded.
+     */
+    public static Money of(BigDecimal amount) {
+        BigDecimal scaled;
+        try {
+            scaled = amount.setScale(SCALE, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El importe no puede tener más de " + SCALE + " decimales: " + amount.toPlainString());
+        }
+        if (scaled.precision() > 18) {
+            throw new ArithmeticException("Importe fuera de rango: " + amount.toPlainString());
+        }
+        return ofCents(scaled.unscaledValue().longValue());
+    }
+
+    /**
+     * Parses a plain decimal such as {@code -125.3}; used for path variables and JSON input.
+     */
+    public static Money valueOf(String text) {
+        return parse(text.toCharArray(), 0, text.length());
+    }
+
+    static Money parse(char[] text, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (text[i] == '-' || text[i] == '+')) {
+            negative = text[i] == '-';
+            i++;
+        }
+        long units = 0L;
+        int integerDigits = 0;
+        while (i < end && isDigit(text[i])) {
+            units = units * 10 + (text[i++] - '0');
+            integerDigits++;
+            if (units > MAX_CENTS / CENTS_PER_UNIT) {
+                throw new ArithmeticException("Importe fuera de rango: " + new String(text, offset, length));
+            }
+        }
+        long fraction = 0L;
+        int decimals = 0;
+        if (i < end && text[i] == '.') {
+            i++;
+            while (i < end && isDigit(text[i])) {
+                int digit = text[i++] - '0';
+                if (decimals < SCALE) {
+                    fraction = fraction * 10 + digit;
+                    decimals++;
+                } else if (digit != 0) {
+                    throw new IllegalArgumentException("El importe no puede tener más de " + SCALE + " decimales: "
+                            + new String(text, offset, length));
+                }
+            }
+        }
+        if (i < end) {
+            // Exponents and other notations are rare enough to go through BigDecimal
+            try {
+                return of(new BigDecimal(text, offset, length));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Importe no válido: " + new String(text, offset, length));
+            }
+        }
+        if (integerDigits == 0 && decimals == 0) {
+            throw new IllegalArgumentException("Importe no válido: " + new String(text, offset, length));
+        }
+        for (; decimals < SCALE; decimals++) {
+            fraction *= 10;
+        }
+        long amount = units * CENTS_PER_UNIT + fraction;
+        return ofCents(negative ? -amount : amount);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static long checked(long cents) {
+        if (cents > MAX_CENTS || cents < -MAX_CENTS) {
+            throw new ArithmeticException("Importe fuera de rango: " + cents + " centavos");
+        }
+        return cents;
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(cents + other.cents);
+    }
+
+    public Money minus(Money other) {
+        return ofCents(cents - other.cents);
+    }
+
+    public Money negate() {
+        return cents == 0L ? this : new Money(-cents);
+    }
+
+    public Money abs() {
+        return cents < 0L ? new Money(-cents) : this;
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public boolean isNegative() {
+        return cents < 0L;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public double doubleValue() {
+        return cents / (double) CENTS_PER_UNIT;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && cents == other.cents);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    /**
+     * Plain notation with exactly two decimals, e.g. {@code -125.30}
+     */
+    @Override
+    public String toString() {
+        char[] buffer = new char[MAX_CHARS];
+        int start = format(buffer);
+        return new String(buffer, start, MAX_CHARS - start);
+    }
+
+    /**
+     * Writes {@link #toString()} right-aligned into {@code buffer}, which must hold
+     * {@link #MAX_CHARS} chars, and returns the index of the first char.
+     */
+    int format(char[] buffer) {
+        long magnitude = Math.abs(cents);
+        int i = buffer.length;
+        for (int d = 0; d < SCALE; d++) {
+            buffer[--i] = (char) ('0' + magnitude % 10);
+            magnitude /= 10;
+        }
+        buffer[--i] = '.';
+        do {
+            buffer[--i] = (char) ('0' + magnitude % 10);
+            magnitude /= 10;
+        } while (magnitude > 0);
+        if (cents < 0L) {
+            buffer[--i] = '-';
+        }
+        return i;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.ejercicio.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Binds {@link Money} attributes to the {@code NUMERIC(15, 2)} columns. Building the BigDecimal
+ * from the cents is a plain scaled-long construction, with no string parsing.
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money attribute) {
+        return attribute != null ? attribute.toBigDecimal() : null;
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal dbData) {
+        return dbData != null ? Money.of(dbData) : null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ejercicio.model;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.DecimalMin;
+
+/**
+ * Lets {@code @DecimalMin} keep working on {@link Money} fields; registered through
+ * META-INF/services/jakarta.validation.ConstraintValidator.
+ */
+public class MoneyDecimalMinValidator implements ConstraintValidator<DecimalMin, Money> {
+
+    private long minCents;
+    private boolean inclusive;
+
+    @Override
+    public void initialize(DecimalMin constraint) {
+        minCents = Money.valueOf(constraint.value()).getCents();
+        inclusive = constraint.inclusive();
+    }
+
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        return inclusive ? value.getCents() >= minCents : value.getCents() > minCents;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.ejercicio.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+
+/**
+ * Jackson mapping for {@link Money}: written as a JSON number with two decimals and read from
+ * the number's text, so neither direction goes through BigDecimal.
+ */
+public final class MoneyJson {
+
+    private MoneyJson() {
+    }
+
+    public static class Serializer extends StdScalarSerializer<Money> {
+
+        public Serializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            char[] buffer = new char[Money.MAX_CHARS];
+            int start = value.format(buffer);
+            gen.writeNumber(buffer, start, Money.MAX_CHARS - start);
+        }
+    }
+
+    public static class Deserializer extends StdScalarDeserializer<Money> {
+
+        public Deserializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_STRING) {
+                try {
+                    return Money.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                } catch (IllegalArgumentException | ArithmeticException e) {
+                    throw InvalidFormatException.from(parser, e.getMessage(), parser.getText(), Money.class);
+                }
+            }
+            return (Money) ctxt.handleUnexpectedToken(Money.class, parser);
+        }
+    }
+}
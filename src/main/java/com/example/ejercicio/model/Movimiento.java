@@ -1,10 +1,8 @@
 package com.example.ejercicio.model;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -19,17 +17,16 @@ public class Movimiento {
     @NotNull(message = "La fecha es obligatoria")
     private LocalDateTime fecha;
     
-    @Column(name = "tipo_movimiento", nullable = false, length = 20)
-    @NotBlank(message = "El tipo de movimiento es obligatorio")
-    @Size(max = 20, message = "El tipo de movimiento no puede tener más de 20 caracteres")
-    private String tipoMovimiento;
+    @Column(name = "tipo_movimiento", nullable = false)
+    @NotNull(message = "El tipo de movimiento es obligatorio")
+    private TipoMovimiento tipoMovimiento;
     
     @Column(name = "valor", nullable = false, precision = 15, scale = 2)
     @NotNull(message = "El valor es obligatorio")
-    private BigDecimal valor;
+    private Money valor;
     
     @Column(name = "saldo", nullable = false, precision = 15, scale = 2)
-    private BigDecimal saldo;
+    private Money saldo;
     
     @Column(name = "descripcion", length = 200)
     @Size(max = 200, message = "La descripción no puede tener más de 200 caracteres")
@@ -45,8 +42,8 @@ public class Movimiento {
     public Movimiento() {
     }
     
-    public Movimiento(LocalDateTime fecha, String tipoMovimiento, BigDecimal valor, 
-                     BigDecimal saldo, String descripcion, Cuenta cuenta) {
+    public Movimiento(LocalDateTime fecha, TipoMovimiento tipoMovimiento, Money valor, 
+                     Money saldo, String descripcion, Cuenta cuenta) {
         this.fecha = fecha;
         this.tipoMovimiento = tipoMovimiento;
         this.valor = valor;
@@ -80,27 +77,27 @@ public class Movimiento {
         this.fecha = fecha;
     }
     
-    public String getTipoMovimiento() {
+    public TipoMovimiento getTipoMovimiento() {
         return tipoMovimiento;
     }
     
-    public void setTipoMovimiento(String tipoMovimiento) {
+    public void setTipoMovimiento(TipoMovimiento tipoMovimiento) {
         this.tipoMovimiento = tipoMovimiento;
     }
     
-    public BigDecimal getValor() {
+    public Money getValor() {
         return valor;
     }
     
-    public void setValor(BigDecimal valor) {
+    public void setValor(Money valor) {
         this.valor = valor;
     }
     
-    public BigDecimal getSaldo() {
+    public Money getSaldo() {
         return saldo;
     }
     
-    public void setSaldo(BigDecimal saldo) {
+    public void setSaldo(Money saldo) {
         this.saldo = saldo;
     }
     
@@ -130,11 +127,11 @@ public class Movimiento {
     
     // Utility methods
     public boolean isDebit() {
-        return valor.compareTo(BigDecimal.ZERO) < 0;
+        return valor.isNegative();
     }
     
     public boolean isCredit() {
-        return valor.compareTo(BigDecimal.ZERO) > 0;
+        return valor.signum() > 0;
     }
     
     @Override
@@ -142,7 +139,7 @@ public class Movimiento {
         return "Movimiento{" +
                 "id=" + id +
                 ", fecha=" + fecha +
-                ", tipoMovimiento='" + tipoMovimiento + '\'' +
+                ", tipoMovimiento=" + tipoMovimiento +
                 ", valor=" + valor +
                 ", saldo=" + saldo +
                 ", descripcion='" + descripcion + '\'' +
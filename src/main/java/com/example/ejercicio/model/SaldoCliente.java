@@ -0,0 +1,51 @@
+package com.example.ejercicio.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Sum of saldo_actual over a client's active accounts, kept in step with the accounts by
+ * ClientBalanceAggregate in the same transaction that changes them.
+ */
+@Entity
+@Table(name = "saldos_cliente")
+public class SaldoCliente {
+
+    @Id
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    @Column(name = "saldo_total", nullable = false, precision = 15, scale = 2)
+    private Money saldoTotal;
+
+    public SaldoCliente() {
+    }
+
+    public SaldoCliente(Long clienteId, Money saldoTotal) {
+        this.clienteId = clienteId;
+        this.saldoTotal = saldoTotal;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public Money getSaldoTotal() {
+        return saldoTotal;
+    }
+
+    public void setSaldoTotal(Money saldoTotal) {
+        this.saldoTotal = saldoTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "SaldoCliente{" +
+                "clienteId=" + clienteId +
+                ", saldoTotal=" + saldoTotal +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ejercicio.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Account type, stored as the SMALLINT code of tipos_cuenta. AHORROS is a legacy spelling
+ * still accepted on input and mapped by migration V4.
+ */
+public enum TipoCuenta {
+
+    AHORRO((short) 1, "AHORROS"),
+    CORRIENTE((short) 2);
+
+    private final short code;
+    private final List<String> aliases;
+
+    TipoCuenta(short code, String... aliases) {
+        this.code = code;
+        this.aliases = List.of(aliases);
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static TipoCuenta fromCode(short code) {
+        for (TipoCuenta tipo : values()) {
+            if (tipo.code == code) {
+                return tipo;
+            }
+        }
+        throw new IllegalArgumentException("Código de tipo de cuenta no válido: " + code);
+    }
+
+    /**
+     * Canonical type for a name or legacy alias, ignoring case and surrounding blanks
+     */
+    public static TipoCuenta from(String nombre) {
+        String normalizado = nombre == null ? "" : nombre.trim().toUpperCase(Locale.ROOT);
+        for (TipoCuenta tipo : values()) {
+            if (tipo.name().equals(normalizado) || tipo.aliases.contains(normalizado)) {
+                return tipo;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de cuenta no válido: " + nombre);
+    }
+
+    /**
+     * Types whose name or alias contains {@code texto}; what the free-text searches used to match with LIKE
+     */
+    public static List<TipoCuenta> matching(String texto) {
+        String normalizado = texto == null ? "" : texto.toUpperCase(Locale.ROOT);
+        List<TipoCuenta> tipos = new ArrayList<>();
+        for (TipoCuenta tipo : values()) {
+            if (tipo.name().contains(normalizado) || tipo.aliases.stream().anyMatch(alias -> alias.contains(normalizado))) {
+                tipos.add(tipo);
+            }
+        }
+        return tipos;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.ejercicio.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Binds {@link TipoCuenta} to its SMALLINT code rather than the ordinal, so codes stay stable
+ * if constants are reordered.
+ */
+@Converter(autoApply = true)
+public class TipoCuentaConverter implements AttributeConverter<TipoCuenta, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TipoCuenta attribute) {
+        return attribute != null ? attribute.getCode() : null;
+    }
+
+    @Override
+    public TipoCuenta convertToEntityAttribute(Short dbData) {
+        return dbData != null ? TipoCuenta.fromCode(dbData) : null;
+    }
+}
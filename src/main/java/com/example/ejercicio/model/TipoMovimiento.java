@@ -0,0 +1,63 @@
+package com.example.ejercicio.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Movement type, stored as the SMALLINT code of tipos_movimiento. DEPOSITO and RETIRO are
+ * legacy spellings still accepted on input and mapped by migration V4.
+ */
+public enum TipoMovimiento {
+
+    CREDITO((short) 1, "DEPOSITO"),
+    DEBITO((short) 2, "RETIRO");
+
+    private final short code;
+    private final List<String> aliases;
+
+    TipoMovimiento(short code, String... aliases) {
+        this.code = code;
+        this.aliases = List.of(aliases);
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static TipoMovimiento fromCode(short code) {
+        for (TipoMovimiento tipo : values()) {
+            if (tipo.code == code) {
+                return tipo;
+            }
+        }
+        throw new IllegalArgumentException("Código de tipo de movimiento no válido: " + code);
+    }
+
+    /**
+     * Canonical type for a name or legacy alias, ignoring case and surrounding blanks
+     */
+    public static TipoMovimiento from(String nombre) {
+        String normalizado = nombre == null ? "" : nombre.trim().toUpperCase(Locale.ROOT);
+        for (TipoMovimiento tipo : values()) {
+            if (tipo.name().equals(normalizado) || tipo.aliases.contains(normalizado)) {
+                return tipo;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de movimiento no válido: " + nombre);
+    }
+
+    /**
+     * Types whose name or alias contains {@code texto}; what the free-text searches used to match with LIKE
+     */
+    public static List<TipoMovimiento> matching(String texto) {
+        String normalizado = texto == null ? "" : texto.toUpperCase(Locale.ROOT);
+        List<TipoMovimiento> tipos = new ArrayList<>();
+        for (TipoMovimiento tipo : values()) {
+            if (tipo.name().contains(normalizado) || tipo.aliases.stream().anyMatch(alias -> alias.contains(normalizado))) {
+                tipos.add(tipo);
+            }
+        }
+        return tipos;
+    }
+}
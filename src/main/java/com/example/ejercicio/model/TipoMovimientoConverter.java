@@ -0,0 +1,22 @@
+package com.example.ejercicio.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Binds {@link TipoMovimiento} to its SMALLINT code rather than the ordinal, so codes stay
+ * stable if constants are reordered.
+ */
+@Converter(autoApply = true)
+public class TipoMovimientoConverter implements AttributeConverter<TipoMovimiento, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TipoMovimiento attribute) {
+        return attribute != null ? attribute.getCode() : null;
+    }
+
+    @Override
+    public TipoMovimiento convertToEntityAttribute(Short dbData) {
+        return dbData != null ? TipoMovimiento.fromCode(dbData) : null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.ejercicio.numbering;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates account numbers for accounts opened without one. Numbers are handed out from blocks
+ * leased from numeros_cuenta_bloque_seq (hi/lo): each nextval gives this node the next INCREMENT
+ * values for itself, so nodes never hand out the same number and opening an account costs a
+ * database round trip only once per block. A number is {@value #PREFIX}, the value zero-padded
+ * to {@value #BODY_DIGITS} digits and a Luhn check digit. Values left in a block when the node
+ * stops are never used.
+ */
+@Component
+public class AccountNumberGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountNumberGenerator.class);
+
+    static final String PREFIX = "9";
+    static final int BODY_DIGITS = 12;
+    static final int LENGTH = PREFIX.length() + BODY_DIGITS + 1;
+
+    private static final long MAX_BODY = 999_999_999_999L;
+    private static final String SEQUENCE = "numeros_cuenta_bloque_seq";
+    private static final String NEXT_BLOCK_QUERY = "SELECT nextval('" + SEQUENCE + "')";
+    private static final String BLOCK_SIZE_QUERY = "SELECT increment FROM information_schema.sequences WHERE sequence_name = '" + SEQUENCE + "'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter leasedBlocks;
+    private long blockSize;
+    private long next;
+    private long limit;
+
+    public AccountNumberGenerator(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leasedBlocks = Counter.builder("cuentas.numeros.bloques")
+                .description("Bloques de números de cuenta reservados por este nodo")
+                .register(meterRegistry);
+    }
+
+    public synchronized String next() {
+        if (next == limit) {
+            lease();
+        }
+        return format(next++);
+    }
+
+    /**
+     * Whether {@code numeroCuenta} has the shape of a generated number; such numbers cannot be chosen by clients.
+     */
+    public static boolean isReserved(String numeroCuenta) {
+        return numeroCuenta != null && numeroCuenta.length() == LENGTH && numeroCuenta.startsWith(PREFIX)
+                && numeroCuenta.chars().allMatch(Character::isDigit);
+    }
+
+    static boolean hasValidCheckDigit(String numeroCuenta) {
+        int last = numeroCuenta.length() - 1;
+        return checkDigit(numeroCuenta.substring(0, last)) == numeroCuenta.charAt(last) - '0';
+    }
+
+    private void lease() {
+        if (blockSize == 0) {
+            blockSize = Long.parseLong(jdbcTemplate.queryForObject(BLOCK_SIZE_QUERY, String.class).trim());
+        }
+        long start = jdbcTemplate.queryForObject(NEXT_BLOCK_QUERY, Long.class);
+        if (start + blockSize - 1 > MAX_BODY) {
+            throw new IllegalStateException("Se agotaron los números de cuenta generables (" + BODY_DIGITS + " dígitos)");
+        }
+        next = start;
+        limit = start + blockSize;
+        leasedBlocks.increment();
+        log.debug("Reservado el bloque de números de cuenta [{}, {})", next, limit);
+    }
+
+    private static String format(long value) {
+        String payload = PREFIX + String.format("%0" + BODY_DIGITS + "d", value);
+        return payload + checkDigit(payload);
+    }
+
+    /**
+     * Luhn (mod 10) check digit of {@code payload}
+     */
+    private static int checkDigit(String payload) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            int digit = payload.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.ejercicio.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of movimientos ahead of time and detaches the ones past
+ * retention. Runs at startup and on {@code app.partitions.cron}; does nothing when movimientos
+ * is not a partitioned table (the embedded H2 schema). A transaction-scoped advisory lock keeps
+ * several instances from running it at once.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.partitions", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MovimientoPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(MovimientoPartitionMaintenance.class);
+
+    private static final String PARENT_TABLE = "movimientos";
+    private static final String DEFAULT_PARTITION = "movimientos_default";
+    private static final Pattern PARTITION_NAME = Pattern.compile("movimientos_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final long ADVISORY_LOCK_KEY = 0x6d6f76696d69656eL;
+
+    private static final String IS_PARTITIONED_QUERY = "SELECT COUNT(*) FROM pg_partitioned_table WHERE partrelid = to_regclass('movimientos')";
+    private static final String PARTITIONS_QUERY = "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'movimientos'::regclass";
+    private static final String MOVE_FROM_DEFAULT = "WITH movidos AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE fecha >= ? AND fecha < ? RETURNING *) " +
+            "INSERT INTO %s SELECT * FROM movidos";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitionProperties properties;
+
+    public MovimientoPartitionMaintenance(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, PartitionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.partitions.cron:0 15 2 * * *}")
+    public void maintain() {
+        try {
+            maintain(YearMonth.now());
+        } catch (RuntimeException e) {
+            log.error("Falló el mantenimiento de particiones de movimientos", e);
+        }
+    }
+
+    void maintain(YearMonth current) {
+        if (!isPartitioned()) {
+            log.debug("La tabla movimientos no está particionada; no hay particiones que mantener");
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                log.info("Otra instancia está manteniendo las particiones de movimientos");
+                return;
+            }
+            Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(PARTITIONS_QUERY, String.class));
+            for (YearMonth month : missingMonths(current, properties.getMonthsAhead(), existing)) {
+                createPartition(month);
+            }
+            for (String partition : expiredPartitions(current, properties.getRetentionMonths(), existing)) {
+                jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition);
+                log.info("Partición {} desacoplada; queda como tabla independiente", partition);
+            }
+        });
+    }
+
+    private boolean isPartitioned() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return false;
+        }
+        Integer partitioned = jdbcTemplate.queryForObject(IS_PARTITIONED_QUERY, Integer.class);
+        return partitioned != null && partitioned > 0;
+    }
+
+    /**
+     * Creates the month's partition detached, moves into it any rows the default partition
+     * already holds for that month, and attaches it; attaching straight away would fail on them.
+     */
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + PARENT_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update(String.format(MOVE_FROM_DEFAULT, partition), from, to);
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + partition +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        log.info("Partición {} creada ({} movimientos traídos de la partición por defecto)", partition, moved);
+    }
+
+    static String partitionName(YearMonth month) {
+        return "movimientos_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    static List<YearMonth> missingMonths(YearMonth current, int monthsAhead, Set<String> existing) {
+        List<YearMonth> missing = new ArrayList<>();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!existing.contains(partitionName(month))) {
+                missing.add(month);
+            }
+        }
+        return missing;
+    }
+
+    static List<String> expiredPartitions(YearMonth current, int retentionMonths, Collection<String> existing) {
+        List<String> expired = new ArrayList<>();
+        if (retentionMonths <= 0) {
+            return expired;
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths - 1L);
+        for (String partition : existing) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (matcher.matches() && YearMonth.parse(matcher.group(1), PARTITION_SUFFIX).isBefore(oldestKept)) {
+                expired.add(partition);
+            }
+        }
+        expired.sort(null);
+        return expired;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ejercicio.partition;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.partitions")
+public class PartitionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Monthly partitions kept created ahead of the current month.
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * Months kept attached, counting the current one; older partitions are detached and left
+     * as standalone tables. 0 keeps every partition attached.
+     */
+    private int retentionMonths = 0;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMonthsAhead() {
+        return monthsAhead;
+    }
+
+    public void setMonthsAhead(int monthsAhead) {
+        this.monthsAhead = monthsAhead;
+    }
+
+    public int getRetentionMonths() {
+        return retentionMonths;
+    }
+
+    public void setRetentionMonths(int retentionMonths) {
+        this.retentionMonths = retentionMonths;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.ejercicio.repository;
+
+import com.example.ejercicio.model.Cliente;
+
+import java.util.Optional;
+
+/**
+ * Búsqueda de clientes por su identificador natural a través de la caché de segundo nivel
+ */
+public interface ClienteNaturalIdRepository {
+
+    /**
+     * Busca un cliente por su clienteId; resuelve clienteId → id y la entidad desde la caché cuando están
+     */
+    Optional<Cliente> findByClienteId(String clienteId);
+}
@@ -0,0 +1,48 @@
+package com.example.ejercicio.repository;
+
+import com.example.ejercicio.cache.SecondLevelCacheConfig;
+import com.example.ejercicio.model.Cliente;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.Optional;
+
+/**
+ * Hibernate only allows natural ids on the root of a hierarchy and clienteId lives on the
+ * Cliente subclass of Persona, so the clienteId → id mapping is cached here instead. Only
+ * found clients are cached, and every hit is checked against the entity (itself served from the
+ * clientes region), so a renamed clienteId or a deleted client simply falls back to the query.
+ */
+class ClienteNaturalIdRepositoryImpl implements ClienteNaturalIdRepository {
+
+    private static final String FIND_BY_CLIENTE_ID = "SELECT c FROM Cliente c WHERE c.clienteId = :clienteId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Cache<Object, Object> ids;
+
+    ClienteNaturalIdRepositoryImpl(CacheManager secondLevelCacheManager) {
+        this.ids = secondLevelCacheManager.getCache(SecondLevelCacheConfig.CLIENTES_NATURAL_ID_REGION);
+    }
+
+    @Override
+    public Optional<Cliente> findByClienteId(String clienteId) {
+        Object id = ids.get(clienteId);
+        if (id != null) {
+            Cliente cliente = entityManager.find(Cliente.class, id);
+            if (cliente != null && clienteId.equals(cliente.getClienteId())) {
+                return Optional.of(cliente);
+            }
+            ids.remove(clienteId);
+        }
+        Optional<Cliente> cliente = entityManager.createQuery(FIND_BY_CLIENTE_ID, Cliente.class)
+                .setParameter("clienteId", clienteId)
+                .getResultStream()
+                .findFirst();
+        cliente.ifPresent(found -> ids.put(clienteId, found.getId()));
+        return cliente;
+    }
+}
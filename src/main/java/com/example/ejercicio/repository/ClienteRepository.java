@@ -12,12 +12,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
-    
-    /**
-     * Busca un cliente por su clienteId
-     */
-    Optional<Cliente> findByClienteId(String clienteId);
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, ClienteNaturalIdRepository {
     
     /**
      * Busca un cliente por su identificación
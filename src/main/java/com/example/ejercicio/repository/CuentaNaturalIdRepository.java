@@ -0,0 +1,16 @@
+package com.example.ejercicio.repository;
+
+import com.example.ejercicio.model.Cuenta;
+
+import java.util.Optional;
+
+/**
+ * Búsqueda de cuentas por su identificador natural a través de la caché de segundo nivel
+ */
+public interface CuentaNaturalIdRepository {
+
+    /**
+     * Busca una cuenta por su número; resuelve número → id y la entidad desde la caché cuando están
+     */
+    Optional<Cuenta> findByNumeroCuenta(String numeroCuenta);
+}
@@ -0,0 +1,19 @@
+package com.example.ejercicio.repository;
+
+import com.example.ejercicio.model.Cuenta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+class CuentaNaturalIdRepositoryImpl implements CuentaNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Cuenta> findByNumeroCuenta(String numeroCuenta) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Cuenta.class).loadOptional(numeroCuenta);
+    }
+}
@@ -2,24 +2,25 @@ package com.example.ejercicio.repository;
 
 import com.example.ejercicio.model.Cuenta;
 import com.example.ejercicio.model.Cliente;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.model.TipoCuenta;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CuentaRepository extends JpaRepository<Cuenta, Long> {
-    
-    /**
-     * Busca una cuenta por su número
-     */
-    Optional<Cuenta> findByNumeroCuenta(String numeroCuenta);
+public interface CuentaRepository extends JpaRepository<Cuenta, Long>, CuentaNaturalIdRepository {
     
     /**
      * Verifica si existe una cuenta con el número dado
@@ -31,6 +32,12 @@ public interface CuentaRepository extends JpaRepository<Cuenta, Long> {
      */
     List<Cuenta> findByCliente(Cliente cliente);
     
+    /**
+     * Obtiene varias cuentas junto con su cliente
+     */
+    @EntityGraph(attributePaths = "cliente")
+    List<Cuenta> findByIdIn(Collection<Long> ids);
+    
     /**
      * Obtiene cuentas por cliente ID
      */
@@ -49,7 +56,7 @@ public interface CuentaRepository extends JpaRepository<Cuenta, Long> {
     /**
      * Obtiene cuentas por tipo
      */
-    List<Cuenta> findByTipoCuenta(String tipoCuenta);
+    List<Cuenta> findByTipoCuenta(TipoCuenta tipoCuenta);
     
     /**
      * Obtiene cuentas por cliente y estado
@@ -57,22 +64,22 @@ public interface CuentaRepository extends JpaRepository<Cuenta, Long> {
     List<Cuenta> findByClienteIdAndEstado(Long clienteId, Boolean estado);
     
     /**
-     * Busca cuentas por número de cuenta o tipo
+     * Busca cuentas por número de cuenta o por los tipos que coinciden con la búsqueda (TipoCuenta.matching)
      */
     @Query("SELECT c FROM Cuenta c WHERE " +
            "LOWER(c.numeroCuenta) LIKE LOWER(CONCAT('%', :busqueda, '%')) OR " +
-           "LOWER(c.tipoCuenta) LIKE LOWER(CONCAT('%', :busqueda, '%'))")
-    List<Cuenta> buscarCuentas(@Param("busqueda") String busqueda);
+           "c.tipoCuenta IN :tipos")
+    List<Cuenta> buscarCuentas(@Param("busqueda") String busqueda, @Param("tipos") Collection<TipoCuenta> tipos);
     
     /**
      * Obtiene cuentas con saldo mayor al especificado
      */
-    List<Cuenta> findBySaldoActualGreaterThan(BigDecimal saldo);
+    List<Cuenta> findBySaldoActualGreaterThan(Money saldo);
     
     /**
      * Obtiene cuentas con saldo menor al especificado
      */
-    List<Cuenta> findBySaldoActualLessThan(BigDecimal saldo);
+    List<Cuenta> findBySaldoActualLessThan(Money saldo);
     
     /**
      * Cuenta cuentas por estado
@@ -84,6 +91,27 @@ public interface CuentaRepository extends JpaRepository<Cuenta, Long> {
      */
     long countByClienteId(Long clienteId);
     
+    /**
+     * Obtiene el tipo de cuenta y el ID del cliente titular sin cargar la entidad
+     */
+    @Query("SELECT c.tipoCuenta AS tipoCuenta, c.cliente.id AS clienteId FROM Cuenta c WHERE c.id = :id")
+    Optional<CuentaTitularView> findTitularById(@Param("id") Long id);
+    
+    /**
+     * Obtiene la cuenta desde la base de datos y no desde la caché de segundo nivel, para operar sobre el saldo vigente,
+     * y bloquea la fila hasta el final de la transacción para que nadie más lo modifique entretanto
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cuenta c WHERE c.id = :id")
+    Optional<Cuenta> findVigenteByIdForUpdate(@Param("id") Long id);
+    
+    /**
+     * Obtiene el saldo actual desde la base de datos; la caché de segundo nivel no sirve el saldo,
+     * que cambia con cada movimiento y con los procesos por lotes
+     */
+    @Query("SELECT c.saldoActual FROM Cuenta c WHERE c.id = :id")
+    Optional<Money> findSaldoActualById(@Param("id") Long id);
+    
     /**
      * Obtiene el saldo total de un cliente
      */
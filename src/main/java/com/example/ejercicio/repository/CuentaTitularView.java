@@ -0,0 +1,13 @@
+package com.example.ejercicio.repository;
+
+import com.example.ejercicio.model.TipoCuenta;
+
+/**
+ * Proyección liviana de una cuenta: tipo y cliente titular
+ */
+public interface CuentaTitularView {
+
+    TipoCuenta getTipoCuenta();
+
+    Long getClienteId();
+}
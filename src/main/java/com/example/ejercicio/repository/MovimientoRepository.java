@@ -1,21 +1,43 @@
 package com.example.ejercicio.repository;
 
+import com.example.ejercicio.model.Money;
 import com.example.ejercicio.model.Movimiento;
+import com.example.ejercicio.model.TipoMovimiento;
 import com.example.ejercicio.model.Cuenta;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MovimientoRepository extends JpaRepository<Movimiento, Long> {
     
+    /**
+     * Obtiene todos los movimientos junto con su cuenta y cliente
+     */
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
+    @Override
+    List<Movimiento> findAll();
+    
+    /**
+     * Obtiene movimientos paginados junto con su cuenta y cliente
+     */
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
+    @Override
+    Page<Movimiento> findAll(Pageable pageable);
+    
     /**
      * Obtiene movimientos por cuenta
      */
@@ -24,65 +46,93 @@ public interface MovimientoRepository extends JpaRepository<Movimiento, Long> {
     /**
      * Obtiene movimientos por cuenta ID
      */
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
     List<Movimiento> findByCuentaId(Long cuentaId);
     
     /**
      * Obtiene movimientos por cuenta ID con paginación
      */
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
     Page<Movimiento> findByCuentaId(Long cuentaId, Pageable pageable);
     
     /**
      * Obtiene movimientos por cuenta ordenados por fecha descendente
      */
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
     List<Movimiento> findByCuentaIdOrderByFechaDesc(Long cuentaId);
     
     /**
      * Obtiene movimientos por tipo
      */
-    List<Movimiento> findByTipoMovimiento(String tipoMovimiento);
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
+    List<Movimiento> findByTipoMovimiento(TipoMovimiento tipoMovimiento);
     
     /**
-     * Obtiene movimientos por rango de fechas
+     * Obtiene movimientos por rango de fechas. El filtro va directo sobre fecha, sin funciones,
+     * para que PostgreSQL descarte las particiones mensuales fuera del rango
      */
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
     List<Movimiento> findByFechaBetween(LocalDateTime fechaInicio, LocalDateTime fechaFin);
     
     /**
-     * Obtiene movimientos por cuenta y rango de fechas
+     * Obtiene movimientos por cuenta y rango de fechas (solo recorre las particiones del rango)
      */
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
     List<Movimiento> findByCuentaIdAndFechaBetween(Long cuentaId, LocalDateTime fechaInicio, LocalDateTime fechaFin);
     
     /**
      * Obtiene movimientos por cuenta y tipo
      */
-    List<Movimiento> findByCuentaIdAndTipoMovimiento(Long cuentaId, String tipoMovimiento);
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
+    List<Movimiento> findByCuentaIdAndTipoMovimiento(Long cuentaId, TipoMovimiento tipoMovimiento);
     
     /**
      * Obtiene movimientos por valor mayor al especificado
      */
-    List<Movimiento> findByValorGreaterThan(BigDecimal valor);
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
+    List<Movimiento> findByValorGreaterThan(Money valor);
     
     /**
      * Obtiene movimientos por valor menor al especificado
      */
-    List<Movimiento> findByValorLessThan(BigDecimal valor);
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
+    List<Movimiento> findByValorLessThan(Money valor);
     
     /**
-     * Busca movimientos por descripción
+     * Busca movimientos por descripción o por los tipos que coinciden con la búsqueda (TipoMovimiento.matching)
      */
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
     @Query("SELECT m FROM Movimiento m WHERE " +
            "LOWER(m.descripcion) LIKE LOWER(CONCAT('%', :busqueda, '%')) OR " +
-           "LOWER(m.tipoMovimiento) LIKE LOWER(CONCAT('%', :busqueda, '%'))")
-    List<Movimiento> buscarMovimientos(@Param("busqueda") String busqueda);
+           "m.tipoMovimiento IN :tipos")
+    List<Movimiento> buscarMovimientos(@Param("busqueda") String busqueda, @Param("tipos") Collection<TipoMovimiento> tipos);
     
     /**
      * Cuenta movimientos por cuenta
      */
     long countByCuentaId(Long cuentaId);
     
+    /**
+     * Cuenta cuáles de los movimientos dados de una cuenta siguen en la tabla
+     */
+    long countByCuentaIdAndIdIn(Long cuentaId, Collection<Long> ids);
+    
+    /**
+     * Obtiene, ordenadas, las cuentas de los movimientos dados
+     */
+    @Query("SELECT DISTINCT m.cuenta.id FROM Movimiento m WHERE m.id IN :ids ORDER BY m.cuenta.id")
+    List<Long> findCuentaIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene el menor ID de movimiento de una cuenta, o null si no tiene
+     */
+    @Query("SELECT MIN(m.id) FROM Movimiento m WHERE m.cuenta.id = :cuentaId")
+    Long findMenorIdPorCuenta(@Param("cuentaId") Long cuentaId);
+    
     /**
      * Cuenta movimientos por tipo
      */
-    long countByTipoMovimiento(String tipoMovimiento);
+    long countByTipoMovimiento(TipoMovimiento tipoMovimiento);
     
     /**
      * Obtiene el último movimiento de una cuenta
@@ -93,12 +143,14 @@ public interface MovimientoRepository extends JpaRepository<Movimiento, Long> {
     /**
      * Obtiene movimientos de débito por cuenta
      */
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
     @Query("SELECT m FROM Movimiento m WHERE m.cuenta.id = :cuentaId AND m.valor < 0 ORDER BY m.fecha DESC")
     List<Movimiento> findMovimientosDebitoPorCuenta(@Param("cuentaId") Long cuentaId);
     
     /**
      * Obtiene movimientos de crédito por cuenta
      */
+    @EntityGraph(attributePaths = {"cuenta", "cuenta.cliente"})
     @Query("SELECT m FROM Movimiento m WHERE m.cuenta.id = :cuentaId AND m.valor > 0 ORDER BY m.fecha DESC")
     List<Movimiento> findMovimientosCreditoPorCuenta(@Param("cuentaId") Long cuentaId);
     
@@ -106,5 +158,23 @@ public interface MovimientoRepository extends JpaRepository<Movimiento, Long> {
      * Obtiene la suma de movimientos por cuenta y tipo
      */
     @Query("SELECT SUM(m.valor) FROM Movimiento m WHERE m.cuenta.id = :cuentaId AND m.tipoMovimiento = :tipo")
-    BigDecimal sumValorPorCuentaYTipo(@Param("cuentaId") Long cuentaId, @Param("tipo") String tipo);
+    BigDecimal sumValorPorCuentaYTipo(@Param("cuentaId") Long cuentaId, @Param("tipo") TipoMovimiento tipo);
+    
+    /**
+     * Rehace en una sola sentencia el saldo de los movimientos de la cuenta posteriores a (fecha, id):
+     * saldoBase más la suma acumulada de sus valores en orden (fecha, id). Solo escribe las filas que cambian.
+     * Las condiciones sobre m en el ON limitan el recorrido de la tabla destino a la cuenta y a las particiones
+     * desde esa fecha; sin ellas PostgreSQL la recorre entera para el hash join
+     * Requiere PostgreSQL 15 o superior (MERGE); se usa MERGE y no UPDATE … FROM porque H2 solo admite el primero.
+     * El llamante debe tener bloqueada la cuenta (findVigenteByIdForUpdate) para que no se inserten movimientos entretanto
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "movimientos"))
+    @Query(value = "MERGE INTO movimientos m USING (" +
+            "SELECT id, fecha, :saldoBase + SUM(valor) OVER (ORDER BY fecha, id ROWS UNBOUNDED PRECEDING) AS saldo " +
+            "FROM movimientos WHERE cuenta_id = :cuentaId AND fecha >= :fecha AND (fecha > :fecha OR id > :id)) r " +
+            "ON m.cuenta_id = :cuentaId AND m.fecha >= :fecha AND m.id = r.id AND m.fecha = r.fecha " +
+            "WHEN MATCHED AND m.saldo <> r.saldo THEN UPDATE SET saldo = r.saldo", nativeQuery = true)
+    int rehacerSaldos(@Param("cuentaId") Long cuentaId, @Param("fecha") LocalDateTime fecha, @Param("id") Long id,
+                      @Param("saldoBase") BigDecimal saldoBase);
 }
@@ -0,0 +1,77 @@
+package com.example.ejercicio.repository;
+
+import com.example.ejercicio.model.SaldoCliente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface SaldoClienteRepository extends JpaRepository<SaldoCliente, Long> {
+
+    /**
+     * Única tabla que modifican las sentencias nativas; sin declararla, Hibernate vaciaría toda la caché de segundo nivel
+     */
+    String SALDOS_CLIENTE = "saldos_cliente";
+
+    /**
+     * Suma un importe al saldo total del cliente en una sola sentencia; devuelve 0 si el cliente aún no tiene fila
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SALDOS_CLIENTE))
+    @Query(value = "UPDATE saldos_cliente SET saldo_total = saldo_total + :delta WHERE cliente_id = :clienteId", nativeQuery = true)
+    int sumarAlSaldoTotal(@Param("clienteId") Long clienteId, @Param("delta") BigDecimal delta);
+
+    /**
+     * Crea la fila de un cliente nuevo, sin cuentas
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SALDOS_CLIENTE))
+    @Query(value = "INSERT INTO saldos_cliente (cliente_id, saldo_total) VALUES (:clienteId, 0)", nativeQuery = true)
+    int crear(@Param("clienteId") Long clienteId);
+
+    /**
+     * Crea la fila del cliente a partir de sus cuentas activas; devuelve 0 si ya existía.
+     * ON CONFLICT DO NOTHING (sin columnas, la única forma que admite H2) solo cubre la clave primaria, la
+     * única restricción única de la tabla: si otra transacción crea la fila a la vez, esta espera a que
+     * confirme y devuelve 0 en lugar de fallar por clave duplicada, cosa que NOT EXISTS no evita en READ COMMITTED
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SALDOS_CLIENTE))
+    @Query(value = "INSERT INTO saldos_cliente (cliente_id, saldo_total) " +
+            "SELECT :clienteId, (SELECT COALESCE(SUM(c.saldo_actual), 0) FROM cuentas c WHERE c.cliente_id = :clienteId AND c.estado = TRUE) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int crearDesdeCuentas(@Param("clienteId") Long clienteId);
+
+    /**
+     * Clientes cuyo saldo total mantenido no coincide con la suma de sus cuentas activas
+     */
+    @Query(value = "SELECT s.cliente_id FROM saldos_cliente s " +
+            "LEFT JOIN (SELECT c.cliente_id, SUM(c.saldo_actual) AS total FROM cuentas c WHERE c.estado = TRUE GROUP BY c.cliente_id) t " +
+            "ON t.cliente_id = s.cliente_id " +
+            "WHERE s.saldo_total <> COALESCE(t.total, 0) ORDER BY s.cliente_id", nativeQuery = true)
+    List<Long> findDescuadrados();
+
+    /**
+     * Bloquea la fila del cliente hasta el final de la transacción
+     */
+    @Query(value = "SELECT cliente_id FROM saldos_cliente WHERE cliente_id = :clienteId FOR UPDATE", nativeQuery = true)
+    List<Long> bloquear(@Param("clienteId") Long clienteId);
+
+    /**
+     * Vuelve a calcular el saldo total del cliente desde sus cuentas activas
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SALDOS_CLIENTE))
+    @Query(value = "UPDATE saldos_cliente SET saldo_total = " +
+            "(SELECT COALESCE(SUM(c.saldo_actual), 0) FROM cuentas c WHERE c.cliente_id = :clienteId AND c.estado = TRUE) " +
+            "WHERE cliente_id = :clienteId", nativeQuery = true)
+    int recalcular(@Param("clienteId") Long clienteId);
+}
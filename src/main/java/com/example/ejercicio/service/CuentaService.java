@@ -2,10 +2,10 @@ package com.example.ejercicio.service;
 
 import com.example.ejercicio.dto.CuentaRequestDTO;
 import com.example.ejercicio.dto.CuentaResponseDTO;
+import com.example.ejercicio.model.Money;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 public interface CuentaService {
@@ -78,7 +78,7 @@ public interface CuentaService {
     /**
      * Gets total balance for a client
      */
-    BigDecimal getTotalBalanceByClient(Long clienteId);
+    Money getTotalBalanceByClient(Long clienteId);
     
     /**
      * Counts active accounts
@@ -93,7 +93,7 @@ public interface CuentaService {
     /**
      * Gets accounts with minimum balance
      */
-    List<CuentaResponseDTO> getAccountsWithMinimumBalance(BigDecimal saldoMinimo);
+    List<CuentaResponseDTO> getAccountsWithMinimumBalance(Money saldoMinimo);
     
     /**
      * Changes account status
@@ -103,7 +103,7 @@ public interface CuentaService {
     /**
      * Gets account balance
      */
-    BigDecimal getAccountBalance(Long id);
+    Money getAccountBalance(Long id);
     
     /**
      * Counts movements by account
@@ -5,6 +5,7 @@ import com.example.ejercicio.dto.MovimientoResponseDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface MovimientoService {
@@ -20,12 +21,12 @@ public interface MovimientoService {
     MovimientoResponseDTO getMovementById(Long id);
     
     /**
-     * Gets all movements
+     * Gets all movements of the live table; archived months are left out
      */
     List<MovimientoResponseDTO> getAllMovements();
     
     /**
-     * Gets movements with pagination
+     * Gets movements of the live table with pagination
      */
     Page<MovimientoResponseDTO> getMovementsPaginated(Pageable pageable);
     
@@ -35,7 +36,7 @@ public interface MovimientoService {
     List<MovimientoResponseDTO> getMovementsByAccount(Long cuentaId);
     
     /**
-     * Gets movements by account with pagination
+     * Gets movements of the live table by account with pagination
      */
     Page<MovimientoResponseDTO> getMovementsByAccountPaginated(Long cuentaId, Pageable pageable);
     
@@ -50,7 +51,7 @@ public interface MovimientoService {
     List<MovimientoResponseDTO> getMovementsByAccountAndDateRange(Long cuentaId, LocalDateTime fechaInicio, LocalDateTime fechaFin);
     
     /**
-     * Gets movements by type
+     * Gets movements of the live table by type
      */
     List<MovimientoResponseDTO> getMovementsByType(String tipoMovimiento);
     
@@ -60,12 +61,17 @@ public interface MovimientoService {
     MovimientoResponseDTO updateMovement(Long id, MovimientoRequestDTO movimientoRequestDTO);
     
     /**
-     * Deletes a movement
+     * Deletes a movement, reversing its amount and re-chaining the balances of the later ones
      */
     void deleteMovement(Long id);
     
     /**
-     * Searches movements by search term
+     * Deletes several movements, with a single re-chain per account
+     */
+    void deleteMovements(Collection<Long> ids);
+    
+    /**
+     * Searches movements of the live table by search term
      */
     List<MovimientoResponseDTO> searchMovements(String busqueda);
     
@@ -1,13 +1,18 @@
 package com.example.ejercicio.service.impl;
 
+import com.example.ejercicio.balance.ClientBalanceAggregate;
+import com.example.ejercicio.bloom.ExistenceFilters;
 import com.example.ejercicio.dto.ClienteRequestDTO;
 import com.example.ejercicio.dto.ClienteResponseDTO;
 import com.example.ejercicio.exception.DuplicateResourceException;
 import com.example.ejercicio.exception.ResourceNotFoundException;
+import com.example.ejercicio.exception.UniqueViolations;
 import com.example.ejercicio.model.Cliente;
 import com.example.ejercicio.repository.ClienteRepository;
 import com.example.ejercicio.repository.CuentaRepository;
 import com.example.ejercicio.service.ClienteService;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,6 +23,7 @@ import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Observed(name = "app.service")
 public class ClienteServiceImpl implements ClienteService {
     
     private static final String CLIENT_NOT_FOUND_MESSAGE = "Cliente no encontrado con ID: ";
@@ -25,27 +31,25 @@ public class ClienteServiceImpl implements ClienteService {
     private static final String CLIENT_NOT_FOUND_BY_IDENTIFICATION_MESSAGE = "Cliente no encontrado con identificación: ";
     private static final String DUPLICATE_CLIENT_ID_MESSAGE = "Ya existe un cliente con el clienteId: ";
     private static final String DUPLICATE_IDENTIFICATION_MESSAGE = "Ya existe un cliente con la identificación: ";
+    private static final String CLIENT_ID_CONSTRAINT = "clientes_clienteid_key";
+    private static final String IDENTIFICATION_CONSTRAINT = "personas_identificacion_key";
     private static final String CLIENT_HAS_ACCOUNTS_MESSAGE = "No se puede eliminar el cliente porque tiene cuentas asociadas";
     
     private final ClienteRepository clienteRepository;
     private final CuentaRepository cuentaRepository;
+    private final ClientBalanceAggregate clientBalances;
+    private final ExistenceFilters existenceFilters;
     
-    public ClienteServiceImpl(ClienteRepository clienteRepository, CuentaRepository cuentaRepository) {
+    public ClienteServiceImpl(ClienteRepository clienteRepository, CuentaRepository cuentaRepository,
+                              ClientBalanceAggregate clientBalances, ExistenceFilters existenceFilters) {
         this.clienteRepository = clienteRepository;
         this.cuentaRepository = cuentaRepository;
+        this.clientBalances = clientBalances;
+        this.existenceFilters = existenceFilters;
     }
     
     @Override
     public ClienteResponseDTO createClient(ClienteRequestDTO clienteRequestDTO) {
-        if (clienteRepository.existsByClienteId(clienteRequestDTO.getClienteId())) {
-            throw new DuplicateResourceException(DUPLICATE_CLIENT_ID_MESSAGE + clienteRequestDTO.getClienteId());
-        }
-        
-        if (clienteRequestDTO.getIdentificacion() != null && 
-            clienteRepository.existsByIdentificacion(clienteRequestDTO.getIdentificacion())) {
-            throw new DuplicateResourceException(DUPLICATE_IDENTIFICATION_MESSAGE + clienteRequestDTO.getIdentificacion());
-        }
-        
         Cliente cliente = new Cliente(
                 clienteRequestDTO.getNombre(),
                 clienteRequestDTO.getGenero(),
@@ -58,12 +62,21 @@ public class ClienteServiceImpl implements ClienteService {
         );
         
         cliente.setEstado(clienteRequestDTO.getEstado());
-        cliente = clienteRepository.save(cliente);
+        // The unique constraints decide duplicates: no pre-check round trips, and no race between two creates
+        try {
+            cliente = clienteRepository.saveAndFlush(cliente);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOf(e, clienteRequestDTO);
+        }
+        clientBalances.clientCreated(cliente.getId());
+        existenceFilters.clienteIds().add(cliente.getClienteId());
+        existenceFilters.identificaciones().add(cliente.getIdentificacion());
         
         return convertirAClienteResponseDTO(cliente);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public ClienteResponseDTO getClientById(Long id) {
         Cliente cliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(CLIENT_NOT_FOUND_MESSAGE + id));
@@ -113,17 +126,6 @@ public class ClienteServiceImpl implements ClienteService {
         Cliente cliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(CLIENT_NOT_FOUND_MESSAGE + id));
         
-        if (!cliente.getClienteId().equals(clienteRequestDTO.getClienteId()) &&
-            clienteRepository.existsByClienteId(clienteRequestDTO.getClienteId())) {
-            throw new DuplicateResourceException(DUPLICATE_CLIENT_ID_MESSAGE + clienteRequestDTO.getClienteId());
-        }
-        
-        if (clienteRequestDTO.getIdentificacion() != null &&
-            !clienteRequestDTO.getIdentificacion().equals(cliente.getIdentificacion()) &&
-            clienteRepository.existsByIdentificacion(clienteRequestDTO.getIdentificacion())) {
-            throw new DuplicateResourceException(DUPLICATE_IDENTIFICATION_MESSAGE + clienteRequestDTO.getIdentificacion());
-        }
-        
         cliente.setNombre(clienteRequestDTO.getNombre());
         cliente.setGenero(clienteRequestDTO.getGenero());
         cliente.setEdad(clienteRequestDTO.getEdad());
@@ -134,7 +136,15 @@ public class ClienteServiceImpl implements ClienteService {
         cliente.setContrasena(clienteRequestDTO.getContrasena());
         cliente.setEstado(clienteRequestDTO.getEstado());
         
-        cliente = clienteRepository.save(cliente);
+        // As in createClient the unique constraints decide duplicates: the Bloom filters are per node, so their
+        // "absent" misses keys written through another instance and is only good for advisory reads
+        try {
+            cliente = clienteRepository.saveAndFlush(cliente);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOf(e, clienteRequestDTO);
+        }
+        existenceFilters.clienteIds().add(cliente.getClienteId());
+        existenceFilters.identificaciones().add(cliente.getIdentificacion());
         return convertirAClienteResponseDTO(cliente);
     }
     
@@ -173,13 +183,13 @@ public class ClienteServiceImpl implements ClienteService {
     @Override
     @Transactional(readOnly = true)
     public boolean existsClientByClienteId(String clienteId) {
-        return clienteRepository.existsByClienteId(clienteId);
+        return existenceFilters.clienteIds().exists(clienteId, clienteRepository::existsByClienteId);
     }
     
     @Override
     @Transactional(readOnly = true)
     public boolean existsClientByIdentification(String identificacion) {
-        return clienteRepository.existsByIdentificacion(identificacion);
+        return existenceFilters.identificaciones().exists(identificacion, clienteRepository::existsByIdentificacion);
     }
     
     @Override
@@ -215,7 +225,17 @@ public class ClienteServiceImpl implements ClienteService {
         return cuentaRepository.countByClienteId(id);
     }
     
-    private ClienteResponseDTO convertirAClienteResponseDTO(Cliente cliente) {
+    private RuntimeException duplicateOf(DataIntegrityViolationException e, ClienteRequestDTO clienteRequestDTO) {
+        if (UniqueViolations.violates(e, CLIENT_ID_CONSTRAINT)) {
+            return new DuplicateResourceException(DUPLICATE_CLIENT_ID_MESSAGE + clienteRequestDTO.getClienteId(), e);
+        }
+        if (UniqueViolations.violates(e, IDENTIFICATION_CONSTRAINT)) {
+            return new DuplicateResourceException(DUPLICATE_IDENTIFICATION_MESSAGE + clienteRequestDTO.getIdentificacion(), e);
+        }
+        return e;
+    }
+    
+    ClienteResponseDTO convertirAClienteResponseDTO(Cliente cliente) {
         return new ClienteResponseDTO(
                 cliente.getId(),
                 cliente.getNombre(),
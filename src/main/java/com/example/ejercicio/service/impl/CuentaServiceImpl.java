@@ -1,14 +1,24 @@
 package com.example.ejercicio.service.impl;
 
+import com.example.ejercicio.balance.ClientBalanceAggregate;
+import com.example.ejercicio.bloom.ExistenceFilters;
 import com.example.ejercicio.dto.CuentaRequestDTO;
 import com.example.ejercicio.dto.CuentaResponseDTO;
 import com.example.ejercicio.exception.ResourceNotFoundException;
 import com.example.ejercicio.exception.DuplicateResourceException;
+import com.example.ejercicio.exception.UniqueViolations;
+import com.example.ejercicio.metrics.BalanceMetrics;
 import com.example.ejercicio.model.Cliente;
 import com.example.ejercicio.model.Cuenta;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.model.TipoCuenta;
+import com.example.ejercicio.numbering.AccountNumberGenerator;
 import com.example.ejercicio.repository.ClienteRepository;
 import com.example.ejercicio.repository.CuentaRepository;
 import com.example.ejercicio.service.CuentaService;
+import com.example.ejercicio.service.MovimientoService;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,21 +30,37 @@ import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Observed(name = "app.service")
 public class CuentaServiceImpl implements CuentaService {
 
     private static final String CLIENT_NOT_FOUND_MESSAGE = "Cliente no encontrado con ID: ";
     private static final String ACCOUNT_NOT_FOUND_MESSAGE = "Cuenta no encontrada con ID: ";
     private static final String ACCOUNT_NOT_FOUND_BY_NUMBER_MESSAGE = "Cuenta no encontrada con número: ";
     private static final String DUPLICATE_ACCOUNT_NUMBER_MESSAGE = "Ya existe una cuenta con el número: ";
+    private static final String ACCOUNT_NUMBER_CONSTRAINT = "cuentas_numero_cuenta_key";
+    private static final String RESERVED_ACCOUNT_NUMBER_MESSAGE = "El número de cuenta %s tiene el formato reservado a los números generados; omítalo para que se genere uno";
     private static final String ACCOUNT_HAS_MOVEMENTS_MESSAGE = "No se puede eliminar la cuenta porque tiene movimientos asociados";
     private static final String INSUFFICIENT_BALANCE_MESSAGE = "Saldo insuficiente para realizar la operación";
 
     private final CuentaRepository cuentaRepository;
     private final ClienteRepository clienteRepository;
+    private final BalanceMetrics balanceMetrics;
+    private final ClientBalanceAggregate clientBalances;
+    private final ExistenceFilters existenceFilters;
+    private final AccountNumberGenerator accountNumbers;
+    private final MovimientoService movimientoService;
 
-    public CuentaServiceImpl(CuentaRepository cuentaRepository, ClienteRepository clienteRepository) {
+    public CuentaServiceImpl(CuentaRepository cuentaRepository, ClienteRepository clienteRepository,
+                             BalanceMetrics balanceMetrics, ClientBalanceAggregate clientBalances,
+                             ExistenceFilters existenceFilters, AccountNumberGenerator accountNumbers,
+                             MovimientoService movimientoService) {
         this.cuentaRepository = cuentaRepository;
         this.clienteRepository = clienteRepository;
+        this.balanceMetrics = balanceMetrics;
+        this.clientBalances = clientBalances;
+        this.existenceFilters = existenceFilters;
+        this.accountNumbers = accountNumbers;
+        this.movimientoService = movimientoService;
     }
 
     @Override
@@ -43,39 +69,49 @@ public class CuentaServiceImpl implements CuentaService {
         Cliente cliente = clienteRepository.findById(cuentaRequestDTO.getClienteId())
                 .orElseThrow(() -> new ResourceNotFoundException(CLIENT_NOT_FOUND_MESSAGE + cuentaRequestDTO.getClienteId()));
         
-        // Check if account number already exists
-        if (cuentaRepository.existsByNumeroCuenta(cuentaRequestDTO.getNumeroCuenta())) {
-            throw new DuplicateResourceException(DUPLICATE_ACCOUNT_NUMBER_MESSAGE + cuentaRequestDTO.getNumeroCuenta());
+        // Generate the account number when the client did not choose one
+        String numeroCuenta = cuentaRequestDTO.getNumeroCuenta();
+        if (numeroCuenta == null) {
+            numeroCuenta = accountNumbers.next();
+        } else {
+            rejectReserved(numeroCuenta);
         }
         
         // Create new account
         Cuenta cuenta = new Cuenta();
-        cuenta.setNumeroCuenta(cuentaRequestDTO.getNumeroCuenta());
-        cuenta.setTipoCuenta(cuentaRequestDTO.getTipoCuenta());
+        cuenta.setNumeroCuenta(numeroCuenta);
+        cuenta.setTipoCuenta(TipoCuenta.from(cuentaRequestDTO.getTipoCuenta()));
         cuenta.setSaldoInicial(cuentaRequestDTO.getSaldoInicial());
         cuenta.setSaldoActual(cuentaRequestDTO.getSaldoInicial());
         cuenta.setEstado(true);
         cuenta.setCliente(cliente);
         
-        Cuenta cuentaGuardada = cuentaRepository.save(cuenta);
+        // The unique constraint on numero_cuenta decides duplicates, also between concurrent creates
+        Cuenta cuentaGuardada = saveNumbered(cuenta);
+        existenceFilters.numerosCuenta().add(cuentaGuardada.getNumeroCuenta());
+        clientBalances.statusChanged(cuentaGuardada);
+        balanceMetrics.accountOpened(cuentaGuardada.getTipoCuenta());
         return convertToResponseDTO(cuentaGuardada);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public CuentaResponseDTO getAccountById(Long id) {
         Cuenta cuenta = cuentaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ACCOUNT_NOT_FOUND_MESSAGE + id));
-        return convertToResponseDTO(cuenta);
+        return withSaldoVigente(convertToResponseDTO(cuenta));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public CuentaResponseDTO getAccountByNumber(String numeroCuenta) {
         Cuenta cuenta = cuentaRepository.findByNumeroCuenta(numeroCuenta)
                 .orElseThrow(() -> new ResourceNotFoundException(ACCOUNT_NOT_FOUND_BY_NUMBER_MESSAGE + numeroCuenta));
-        return convertToResponseDTO(cuenta);
+        return withSaldoVigente(convertToResponseDTO(cuenta));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<CuentaResponseDTO> getAllAccounts() {
         return cuentaRepository.findAll().stream()
                 .map(this::convertToResponseDTO)
@@ -83,12 +119,14 @@ public class CuentaServiceImpl implements CuentaService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Page<CuentaResponseDTO> getAccountsPaginated(Pageable pageable) {
         return cuentaRepository.findAll(pageable)
                 .map(this::convertToResponseDTO);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<CuentaResponseDTO> getActiveAccounts() {
         return cuentaRepository.findByEstado(true).stream()
                 .map(this::convertToResponseDTO)
@@ -96,6 +134,7 @@ public class CuentaServiceImpl implements CuentaService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<CuentaResponseDTO> getAccountsByClient(Long clienteId) {
         // Verify client exists
         clienteRepository.findById(clienteId)
@@ -107,6 +146,7 @@ public class CuentaServiceImpl implements CuentaService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<CuentaResponseDTO> getActiveAccountsByClient(Long clienteId) {
         // Verify client exists
         clienteRepository.findById(clienteId)
@@ -119,82 +159,103 @@ public class CuentaServiceImpl implements CuentaService {
     
     @Override
     public CuentaResponseDTO updateAccount(Long id, CuentaRequestDTO cuentaRequestDTO) {
-        Cuenta cuenta = cuentaRepository.findById(id)
+        // Mutators read from the table and lock the row, not from the cache: postings may be changing its balance
+        Cuenta cuenta = cuentaRepository.findVigenteByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ACCOUNT_NOT_FOUND_MESSAGE + id));
         
-        // Check if account number is being changed and if it already exists
-        if (!cuenta.getNumeroCuenta().equals(cuentaRequestDTO.getNumeroCuenta()) &&
-            cuentaRepository.existsByNumeroCuenta(cuentaRequestDTO.getNumeroCuenta())) {
-            throw new DuplicateResourceException(DUPLICATE_ACCOUNT_NUMBER_MESSAGE + cuentaRequestDTO.getNumeroCuenta());
+        // Check if account number is being changed; without one it stays as it is
+        String numeroCuenta = cuentaRequestDTO.getNumeroCuenta() != null ? cuentaRequestDTO.getNumeroCuenta() : cuenta.getNumeroCuenta();
+        if (!cuenta.getNumeroCuenta().equals(numeroCuenta)) {
+            rejectReserved(numeroCuenta);
         }
         
         // Update account data
-        cuenta.setNumeroCuenta(cuentaRequestDTO.getNumeroCuenta());
-        cuenta.setTipoCuenta(cuentaRequestDTO.getTipoCuenta());
+        cuenta.setNumeroCuenta(numeroCuenta);
+        cuenta.setTipoCuenta(TipoCuenta.from(cuentaRequestDTO.getTipoCuenta()));
         cuenta.setSaldoInicial(cuentaRequestDTO.getSaldoInicial());
         
-        Cuenta cuentaActualizada = cuentaRepository.save(cuenta);
+        // The unique constraint decides duplicates; the per-node Bloom filter would miss numbers taken on another instance
+        Cuenta cuentaActualizada = saveNumbered(cuenta);
+        existenceFilters.numerosCuenta().add(cuentaActualizada.getNumeroCuenta());
         return convertToResponseDTO(cuentaActualizada);
     }
     
     @Override
     public void deleteAccount(Long id) {
-        Cuenta cuenta = cuentaRepository.findById(id)
+        Cuenta cuenta = cuentaRepository.findVigenteByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ACCOUNT_NOT_FOUND_MESSAGE + id));
         
         // Soft delete - change status to false
+        boolean estabaActiva = cuenta.getEstado();
         cuenta.setEstado(false);
         cuentaRepository.save(cuenta);
+        if (estabaActiva) {
+            clientBalances.statusChanged(cuenta);
+        }
+        balanceMetrics.statusChanged(false);
     }
     
     @Override
     public CuentaResponseDTO activateAccount(Long id) {
-        Cuenta cuenta = cuentaRepository.findById(id)
+        Cuenta cuenta = cuentaRepository.findVigenteByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ACCOUNT_NOT_FOUND_MESSAGE + id));
         
+        boolean estabaActiva = cuenta.getEstado();
         cuenta.setEstado(true);
         Cuenta cuentaGuardada = cuentaRepository.save(cuenta);
+        if (!estabaActiva) {
+            clientBalances.statusChanged(cuentaGuardada);
+        }
+        balanceMetrics.statusChanged(true);
         return convertToResponseDTO(cuentaGuardada);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<CuentaResponseDTO> searchAccounts(String busqueda) {
-        return cuentaRepository.buscarCuentas(busqueda).stream()
+        return cuentaRepository.buscarCuentas(busqueda, TipoCuenta.matching(busqueda)).stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
     
     @Override
+    @Transactional(readOnly = true)
     public boolean existsAccountByNumber(String numeroCuenta) {
-        return cuentaRepository.existsByNumeroCuenta(numeroCuenta);
+        return existenceFilters.numerosCuenta().exists(numeroCuenta, cuentaRepository::existsByNumeroCuenta);
     }
     
     @Override
-    public BigDecimal getTotalBalanceByClient(Long clienteId) {
-        // Verify client exists
-        clienteRepository.findById(clienteId)
-                .orElseThrow(() -> new ResourceNotFoundException(CLIENT_NOT_FOUND_MESSAGE + clienteId));
-        
-        List<Cuenta> cuentas = cuentaRepository.findByClienteIdAndEstado(clienteId, true);
-        return cuentas.stream()
-                .map(Cuenta::getSaldoActual)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @Transactional(readOnly = true)
+    public Money getTotalBalanceByClient(Long clienteId) {
+        // Single-row read of the maintained aggregate; the row's foreign key already proves the client exists
+        return balanceMetrics.balanceRead(BalanceMetrics.SCOPE_CLIENT, () -> clientBalances.find(clienteId)
+                .orElseGet(() -> {
+                    // No balance change since the client was created: sum its accounts
+                    if (!clienteRepository.existsById(clienteId)) {
+                        throw new ResourceNotFoundException(CLIENT_NOT_FOUND_MESSAGE + clienteId);
+                    }
+                    BigDecimal saldoTotal = cuentaRepository.obtenerSaldoTotalPorCliente(clienteId);
+                    return saldoTotal == null ? Money.ZERO : Money.of(saldoTotal);
+                }));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public long countActiveAccounts() {
         return cuentaRepository.countByEstado(true);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<CuentaResponseDTO> getAccountsByType(String tipoCuenta) {
-        return cuentaRepository.findByTipoCuenta(tipoCuenta).stream()
+        return cuentaRepository.findByTipoCuenta(TipoCuenta.from(tipoCuenta)).stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
     
     @Override
-    public List<CuentaResponseDTO> getAccountsWithMinimumBalance(BigDecimal saldoMinimo) {
+    @Transactional(readOnly = true)
+    public List<CuentaResponseDTO> getAccountsWithMinimumBalance(Money saldoMinimo) {
         return cuentaRepository.findBySaldoActualGreaterThan(saldoMinimo).stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
@@ -202,39 +263,77 @@ public class CuentaServiceImpl implements CuentaService {
     
     @Override
     public CuentaResponseDTO changeAccountStatus(Long id) {
-        Cuenta cuenta = cuentaRepository.findById(id)
+        Cuenta cuenta = cuentaRepository.findVigenteByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ACCOUNT_NOT_FOUND_MESSAGE + id));
         
         // Toggle status
         cuenta.setEstado(!cuenta.getEstado());
         Cuenta cuentaActualizada = cuentaRepository.save(cuenta);
+        clientBalances.statusChanged(cuentaActualizada);
+        balanceMetrics.statusChanged(cuentaActualizada.getEstado());
         return convertToResponseDTO(cuentaActualizada);
     }
     
     @Override
-    public BigDecimal getAccountBalance(Long id) {
-        Cuenta cuenta = cuentaRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(ACCOUNT_NOT_FOUND_MESSAGE + id));
-        return cuenta.getSaldoActual();
+    @Transactional(readOnly = true)
+    public Money getAccountBalance(Long id) {
+        return balanceMetrics.balanceRead(BalanceMetrics.SCOPE_ACCOUNT, () -> cuentaRepository.findSaldoActualById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(ACCOUNT_NOT_FOUND_MESSAGE + id)));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public long countMovementsByAccount(Long id) {
-        Cuenta cuenta = cuentaRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(ACCOUNT_NOT_FOUND_MESSAGE + id));
+        if (!cuentaRepository.existsById(id)) {
+            throw new ResourceNotFoundException(ACCOUNT_NOT_FOUND_MESSAGE + id);
+        }
         
-        // Use repository to get account and count its movements
-        return cuenta.getMovimientos().size();
+        // Live rows plus archived ones; the movimientos collection only holds the live table
+        return movimientoService.countMovementsByAccount(id);
+    }
+    
+    /**
+     * Replaces the balance of a DTO built from a cached account with the one in the table. The cache
+     * holds the row's read-mostly fields; postings, including the JDBC batch jobs, change the balance
+     * underneath it.
+     */
+    private CuentaResponseDTO withSaldoVigente(CuentaResponseDTO responseDTO) {
+        cuentaRepository.findSaldoActualById(responseDTO.getId()).ifPresent(responseDTO::setSaldoActual);
+        return responseDTO;
+    }
+    
+    /**
+     * Saves the account and flushes, so a taken numero_cuenta surfaces here as a DuplicateResourceException
+     */
+    private Cuenta saveNumbered(Cuenta cuenta) {
+        try {
+            return cuentaRepository.saveAndFlush(cuenta);
+        } catch (DataIntegrityViolationException e) {
+            if (UniqueViolations.violates(e, ACCOUNT_NUMBER_CONSTRAINT)) {
+                throw new DuplicateResourceException(DUPLICATE_ACCOUNT_NUMBER_MESSAGE + cuenta.getNumeroCuenta(), e);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Rejects a client-chosen account number in the format reserved for generated ones
+     */
+    private void rejectReserved(String numeroCuenta) {
+        // Generated numbers are unique among themselves; a client-chosen one in their format could collide
+        if (AccountNumberGenerator.isReserved(numeroCuenta)) {
+            throw new IllegalArgumentException(String.format(RESERVED_ACCOUNT_NUMBER_MESSAGE, numeroCuenta));
+        }
     }
     
     /**
      * Converts a Cuenta entity to a CuentaResponseDTO
      */
-    private CuentaResponseDTO convertToResponseDTO(Cuenta cuenta) {
+    CuentaResponseDTO convertToResponseDTO(Cuenta cuenta) {
         CuentaResponseDTO responseDTO = new CuentaResponseDTO();
         responseDTO.setId(cuenta.getId());
         responseDTO.setNumeroCuenta(cuenta.getNumeroCuenta());
-        responseDTO.setTipoCuenta(cuenta.getTipoCuenta());
+        responseDTO.setTipoCuenta(cuenta.getTipoCuenta().name());
         responseDTO.setSaldoInicial(cuenta.getSaldoInicial());
         responseDTO.setSaldoActual(cuenta.getSaldoActual());
         responseDTO.setEstado(cuenta.getEstado());
@@ -1,83 +1,125 @@
 package com.example.ejercicio.service.impl;
 
+import com.example.ejercicio.archive.ArchivedMovement;
+import com.example.ejercicio.archive.MovementArchive;
+import com.example.ejercicio.balance.ClientBalanceAggregate;
 import com.example.ejercicio.dto.MovimientoRequestDTO;
 import com.example.ejercicio.dto.MovimientoResponseDTO;
 import com.example.ejercicio.exception.ResourceNotFoundException;
 import com.example.ejercicio.exception.SaldoInsuficienteException;
+import com.example.ejercicio.metrics.PostingMetrics;
 import com.example.ejercicio.model.Cuenta;
+import com.example.ejercicio.model.Money;
 import com.example.ejercicio.model.Movimiento;
+import com.example.ejercicio.model.TipoMovimiento;
 import com.example.ejercicio.repository.CuentaRepository;
 import com.example.ejercicio.repository.MovimientoRepository;
 import com.example.ejercicio.service.MovimientoService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Observed(name = "app.service")
 public class MovimientoServiceImpl implements MovimientoService {
     
     private static final String ACCOUNT_NOT_FOUND_MESSAGE = "Cuenta no encontrada con ID: ";
     private static final String MOVEMENT_NOT_FOUND_MESSAGE = "Movimiento no encontrado con ID: ";
     private static final String INACTIVE_ACCOUNT_MESSAGE = "La cuenta está inactiva";
     private static final String INSUFFICIENT_BALANCE_MESSAGE = "Saldo insuficiente para realizar el débito";
+    private static final Comparator<Movimiento> CHAIN_ORDER =
+            Comparator.comparing(Movimiento::getFecha).thenComparing(Movimiento::getId);
     
     private final MovimientoRepository movimientoRepository;
     private final CuentaRepository cuentaRepository;
+    private final PostingMetrics postingMetrics;
+    private final MovementArchive movementArchive;
+    private final ClientBalanceAggregate clientBalances;
     
-    public MovimientoServiceImpl(MovimientoRepository movimientoRepository, CuentaRepository cuentaRepository) {
+    public MovimientoServiceImpl(MovimientoRepository movimientoRepository, CuentaRepository cuentaRepository,
+                                 PostingMetrics postingMetrics, MovementArchive movementArchive,
+                                 ClientBalanceAggregate clientBalances) {
         this.movimientoRepository = movimientoRepository;
         this.cuentaRepository = cuentaRepository;
+        this.postingMetrics = postingMetrics;
+        this.movementArchive = movementArchive;
+        this.clientBalances = clientBalances;
     }
     
     @Override
     public MovimientoResponseDTO createMovement(MovimientoRequestDTO movimientoRequestDTO) {
-        // Verify account exists
-        Cuenta cuenta = cuentaRepository.findById(movimientoRequestDTO.getCuentaId())
-                .orElseThrow(() -> new ResourceNotFoundException(ACCOUNT_NOT_FOUND_MESSAGE + movimientoRequestDTO.getCuentaId()));
+        Timer.Sample posting = postingMetrics.start();
         
-        // Verify account is active
-        if (!cuenta.getEstado()) {
-            throw new IllegalArgumentException(INACTIVE_ACCOUNT_MESSAGE);
-        }
+        // Verify account exists; read from the table and lock the row, since the batch jobs and deletes post to it too
+        Cuenta cuenta = postingMetrics.stage(PostingMetrics.STAGE_LOOKUP, () -> cuentaRepository.findVigenteByIdForUpdate(movimientoRequestDTO.getCuentaId())
+                .orElseThrow(() -> new ResourceNotFoundException(ACCOUNT_NOT_FOUND_MESSAGE + movimientoRequestDTO.getCuentaId())));
         
-        BigDecimal valor = movimientoRequestDTO.getValor();
-        BigDecimal saldoActual = cuenta.getSaldoActual();
-        
-        // Verify sufficient balance for debits (negative values)
-        if (valor.compareTo(BigDecimal.ZERO) < 0) {
-            BigDecimal nuevoSaldo = saldoActual.add(valor);
-            if (nuevoSaldo.compareTo(BigDecimal.ZERO) < 0) {
-                throw new SaldoInsuficienteException("Saldo insuficiente. Saldo actual: " + saldoActual);
-            }
-        }
+        Money valor = movimientoRequestDTO.getValor();
+        Money saldoActual = cuenta.getSaldoActual();
+        postingMetrics.stage(PostingMetrics.STAGE_VALIDATION, () -> validatePosting(cuenta, valor, saldoActual));
         
         // Create new movement
         Movimiento movimiento = new Movimiento();
         movimiento.setFecha(LocalDateTime.now());
-        movimiento.setTipoMovimiento(movimientoRequestDTO.getTipoMovimiento());
+        movimiento.setTipoMovimiento(movimientoRequestDTO.getTipoMovimiento() != null
+                ? TipoMovimiento.from(movimientoRequestDTO.getTipoMovimiento())
+                : valor.isNegative() ? TipoMovimiento.DEBITO : TipoMovimiento.CREDITO);
         movimiento.setValor(valor);
-        movimiento.setSaldo(saldoActual.add(valor));
+        movimiento.setSaldo(saldoActual.plus(valor));
         movimiento.setDescripcion(movimientoRequestDTO.getDescripcion());
         movimiento.setCuenta(cuenta);
         
         // Save movement first
-        Movimiento movimientoGuardado = movimientoRepository.save(movimiento);
+        Movimiento movimientoGuardado = postingMetrics.stage(PostingMetrics.STAGE_INSERT, () -> movimientoRepository.save(movimiento));
         
-        // Update account balance
-        cuenta.updateBalance(valor);
-        cuentaRepository.save(cuenta);
+        // Update account balance, flushed here so the stage timer covers the UPDATE
+        postingMetrics.stage(PostingMetrics.STAGE_BALANCE_UPDATE, () -> {
+            cuenta.updateBalance(valor);
+            cuentaRepository.saveAndFlush(cuenta);
+            clientBalances.balanceChanged(cuenta, valor);
+        });
         
+        postingMetrics.posted(posting, cuenta.getTipoCuenta(), valor);
         return convertToResponseDTO(movimientoGuardado);
     }
     
+    /**
+     * Verifies the account is active and, for debits (negative values), that the balance covers it
+     */
+    private void validatePosting(Cuenta cuenta, Money valor, Money saldoActual) {
+        if (!cuenta.getEstado()) {
+            postingMetrics.rejected(PostingMetrics.REJECTION_INACTIVE_ACCOUNT, cuenta.getTipoCuenta());
+            throw new IllegalArgumentException(INACTIVE_ACCOUNT_MESSAGE);
+        }
+        
+        if (valor.isNegative()) {
+            if (!cuenta.hasSufficientBalance(valor)) {
+                postingMetrics.rejected(PostingMetrics.REJECTION_INSUFFICIENT_BALANCE, cuenta.getTipoCuenta());
+                throw new SaldoInsuficienteException("Saldo insuficiente. Saldo actual: " + saldoActual);
+            }
+        }
+    }
+    
     @Override
+    @Transactional(readOnly = true)
     public MovimientoResponseDTO getMovementById(Long id) {
         Movimiento movimiento = movimientoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(MOVEMENT_NOT_FOUND_MESSAGE + id));
@@ -85,6 +127,7 @@ public class MovimientoServiceImpl implements MovimientoService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<MovimientoResponseDTO> getAllMovements() {
         return movimientoRepository.findAll().stream()
                 .map(this::convertToResponseDTO)
@@ -92,41 +135,43 @@ public class MovimientoServiceImpl implements MovimientoService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Page<MovimientoResponseDTO> getMovementsPaginated(Pageable pageable) {
         return movimientoRepository.findAll(pageable)
                 .map(this::convertToResponseDTO);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<MovimientoResponseDTO> getMovementsByAccount(Long cuentaId) {
-        return movimientoRepository.findByCuentaId(cuentaId).stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return withArchive(movimientoRepository.findByCuentaId(cuentaId), movementArchive.find(cuentaId, null, null));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Page<MovimientoResponseDTO> getMovementsByAccountPaginated(Long cuentaId, Pageable pageable) {
         return movimientoRepository.findByCuentaId(cuentaId, pageable)
                 .map(this::convertToResponseDTO);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<MovimientoResponseDTO> getMovementsByDateRange(LocalDateTime fechaInicio, LocalDateTime fechaFin) {
-        return movimientoRepository.findByFechaBetween(fechaInicio, fechaFin).stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return withArchive(movimientoRepository.findByFechaBetween(fechaInicio, fechaFin),
+                movementArchive.find(null, fechaInicio, fechaFin));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<MovimientoResponseDTO> getMovementsByAccountAndDateRange(Long cuentaId, LocalDateTime fechaInicio, LocalDateTime fechaFin) {
-        return movimientoRepository.findByCuentaIdAndFechaBetween(cuentaId, fechaInicio, fechaFin).stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return withArchive(movimientoRepository.findByCuentaIdAndFechaBetween(cuentaId, fechaInicio, fechaFin),
+                movementArchive.find(cuentaId, fechaInicio, fechaFin));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<MovimientoResponseDTO> getMovementsByType(String tipoMovimiento) {
-        return movimientoRepository.findByTipoMovimiento(tipoMovimiento).stream()
+        return movimientoRepository.findByTipoMovimiento(TipoMovimiento.from(tipoMovimiento)).stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
@@ -144,61 +189,149 @@ public class MovimientoServiceImpl implements MovimientoService {
     
     @Override
     public void deleteMovement(Long id) {
-        Movimiento movimiento = movimientoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(MOVEMENT_NOT_FOUND_MESSAGE + id));
-        Cuenta cuenta = movimiento.getCuenta();
+        deleteMovements(List.of(id));
+    }
+    
+    @Override
+    public void deleteMovements(Collection<Long> ids) {
+        Set<Long> pendientes = new HashSet<>(ids);
+        List<Movimiento> movimientos = movimientoRepository.findAllById(pendientes);
+        movimientos.forEach(movimiento -> pendientes.remove(movimiento.getId()));
+        if (!pendientes.isEmpty()) {
+            throw new ResourceNotFoundException(MOVEMENT_NOT_FOUND_MESSAGE + pendientes.iterator().next());
+        }
+        
+        // Accounts in id order, so two bulk deletes sharing accounts lock them in the same order
+        Map<Long, List<Movimiento>> porCuenta = movimientos.stream()
+                .collect(Collectors.groupingBy(movimiento -> movimiento.getCuenta().getId(), TreeMap::new, Collectors.toList()));
+        porCuenta.forEach(this::deleteFromAccount);
+    }
+    
+    /**
+     * Removes movements of one account and re-chains, in one statement, the saldo of every
+     * movement after the earliest of them. The chain restarts from the balance before that one,
+     * so it also holds when older movements are already archived.
+     */
+    private void deleteFromAccount(Long cuentaId, List<Movimiento> movimientos) {
+        Cuenta cuenta = cuentaRepository.findVigenteByIdForUpdate(cuentaId)
+                .orElseThrow(() -> new ResourceNotFoundException(ACCOUNT_NOT_FOUND_MESSAGE + cuentaId));
+        Movimiento primero = Collections.min(movimientos, CHAIN_ORDER);
+        Money delta = movimientos.stream().map(Movimiento::getValor).reduce(Money.ZERO, Money::plus).negate();
+        
+        movimientoRepository.deleteAllByIdInBatch(movimientos.stream().map(Movimiento::getId).toList());
+        movimientoRepository.rehacerSaldos(cuentaId, primero.getFecha(), primero.getId(),
+                primero.getSaldo().minus(primero.getValor()).toBigDecimal());
         
         // Reverse the balance effect
-        cuenta.updateBalance(movimiento.getValor().negate());
+        cuenta.updateBalance(delta);
         cuentaRepository.save(cuenta);
-        
-        // Delete the movement
-        movimientoRepository.delete(movimiento);
+        clientBalances.balanceChanged(cuenta, delta);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<MovimientoResponseDTO> searchMovements(String busqueda) {
-        return movimientoRepository.buscarMovimientos(busqueda).stream()
+        return movimientoRepository.buscarMovimientos(busqueda, TipoMovimiento.matching(busqueda)).stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
     
     @Override
+    @Transactional(readOnly = true)
     public MovimientoResponseDTO getLastMovementByAccount(Long cuentaId) {
         List<Movimiento> movimientos = movimientoRepository.findByCuentaIdOrderByFechaDesc(cuentaId);
-        if (movimientos.isEmpty()) {
+        if (!movimientos.isEmpty()) {
+            return convertToResponseDTO(movimientos.get(0));
+        }
+        List<MovimientoResponseDTO> archivados = withArchive(List.of(), movementArchive.find(cuentaId, null, null));
+        if (archivados.isEmpty()) {
             throw new ResourceNotFoundException("No se encontraron movimientos para la cuenta con ID: " + cuentaId);
         }
-        return convertToResponseDTO(movimientos.get(0));
+        return archivados.get(archivados.size() - 1);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<MovimientoResponseDTO> getDebitMovementsByAccount(Long cuentaId) {
-        return movimientoRepository.findMovimientosDebitoPorCuenta(cuentaId).stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return withArchiveNewestFirst(movimientoRepository.findMovimientosDebitoPorCuenta(cuentaId),
+                movementArchive.find(cuentaId, null, null), archivado -> archivado.getValor().signum() < 0);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<MovimientoResponseDTO> getCreditMovementsByAccount(Long cuentaId) {
-        return movimientoRepository.findMovimientosCreditoPorCuenta(cuentaId).stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return withArchiveNewestFirst(movimientoRepository.findMovimientosCreditoPorCuenta(cuentaId),
+                movementArchive.find(cuentaId, null, null), archivado -> archivado.getValor().signum() > 0);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public long countMovementsByAccount(Long cuentaId) {
-        return movimientoRepository.countByCuentaId(cuentaId);
+        long vivos = movimientoRepository.countByCuentaId(cuentaId);
+        if (movementArchive.archivedMonths().isEmpty()) {
+            return vivos;
+        }
+        // Counted once when also live, as withArchive lists them: an archived id below the account's lowest
+        // live one cannot be live, so only the rest, normally none, is checked against the table
+        Long menorVivo = movimientoRepository.findMenorIdPorCuenta(cuentaId);
+        long[] soloArchivados = {0};
+        List<Long> posiblesVivos = new ArrayList<>();
+        movementArchive.scan(cuentaId, cuentaId, archivado -> {
+            if (menorVivo != null && archivado.getId() >= menorVivo) {
+                posiblesVivos.add(archivado.getId());
+            } else {
+                soloArchivados[0]++;
+            }
+        });
+        long duplicados = posiblesVivos.isEmpty() ? 0 : movimientoRepository.countByCuentaIdAndIdIn(cuentaId, posiblesVivos);
+        return vivos + soloArchivados[0] + posiblesVivos.size() - duplicados;
+    }
+    
+    /**
+     * Archived movements (older, oldest first) followed by the live ones. Rows present in both,
+     * left by an interrupted archival run, are taken from the live table.
+     */
+    private List<MovimientoResponseDTO> withArchive(List<Movimiento> live, List<ArchivedMovement> archived) {
+        List<MovimientoResponseDTO> result = new ArrayList<>(archived.size() + live.size());
+        result.addAll(convertArchived(live, archived));
+        live.forEach(movimiento -> result.add(convertToResponseDTO(movimiento)));
+        return result;
+    }
+    
+    /**
+     * Live movements already sorted newest first, followed by the matching archived ones, newest first
+     */
+    private List<MovimientoResponseDTO> withArchiveNewestFirst(List<Movimiento> live, List<ArchivedMovement> archived,
+                                                               Predicate<ArchivedMovement> filter) {
+        List<MovimientoResponseDTO> archivados = convertArchived(live, archived.stream().filter(filter).toList());
+        Collections.reverse(archivados);
+        List<MovimientoResponseDTO> result = live.stream().map(this::convertToResponseDTO).collect(Collectors.toList());
+        result.addAll(archivados);
+        return result;
+    }
+    
+    private List<MovimientoResponseDTO> convertArchived(List<Movimiento> live, List<ArchivedMovement> archived) {
+        if (archived.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> liveIds = live.stream().map(Movimiento::getId).collect(Collectors.toCollection(HashSet::new));
+        Set<Long> cuentaIds = archived.stream().map(ArchivedMovement::getCuentaId).collect(Collectors.toSet());
+        Map<Long, Cuenta> cuentas = cuentaRepository.findByIdIn(cuentaIds).stream()
+                .collect(Collectors.toMap(Cuenta::getId, Function.identity()));
+        return archived.stream()
+                .filter(archivado -> !liveIds.contains(archivado.getId()))
+                .map(archivado -> convertToResponseDTO(archivado, cuentas.get(archivado.getCuentaId())))
+                .collect(Collectors.toList());
     }
     
     /**
      * Converts a Movimiento entity to a MovimientoResponseDTO
      */
-    private MovimientoResponseDTO convertToResponseDTO(Movimiento movimiento) {
+    MovimientoResponseDTO convertToResponseDTO(Movimiento movimiento) {
         MovimientoResponseDTO responseDTO = new MovimientoResponseDTO();
         responseDTO.setId(movimiento.getId());
         responseDTO.setFecha(movimiento.getFecha());
-        responseDTO.setTipoMovimiento(movimiento.getTipoMovimiento());
+        responseDTO.setTipoMovimiento(movimiento.getTipoMovimiento().name());
         responseDTO.setValor(movimiento.getValor());
         responseDTO.setSaldo(movimiento.getSaldo());
         responseDTO.setDescripcion(movimiento.getDescripcion());
@@ -213,4 +346,26 @@ public class MovimientoServiceImpl implements MovimientoService {
         
         return responseDTO;
     }
+    
+    /**
+     * Converts an archived movement, with the account it belonged to when it still exists
+     */
+    MovimientoResponseDTO convertToResponseDTO(ArchivedMovement archivado, Cuenta cuenta) {
+        MovimientoResponseDTO responseDTO = new MovimientoResponseDTO();
+        responseDTO.setId(archivado.getId());
+        responseDTO.setFecha(archivado.getFecha());
+        responseDTO.setTipoMovimiento(archivado.getTipoMovimiento());
+        responseDTO.setValor(archivado.getValor());
+        responseDTO.setSaldo(archivado.getSaldo());
+        responseDTO.setDescripcion(archivado.getDescripcion());
+        responseDTO.setFechaCreacion(archivado.getFechaCreacion());
+        responseDTO.setCuentaId(archivado.getCuentaId());
+        
+        if (cuenta != null) {
+            responseDTO.setNumeroCuenta(cuenta.getNumeroCuenta());
+            responseDTO.setClienteNombre(cuenta.getCliente().getNombre());
+        }
+        
+        return responseDTO;
+    }
 }
@@ -0,0 +1,75 @@
+package com.example.ejercicio.sql;
+
+import com.example.ejercicio.tracing.ObservedDataSource;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the application data source in a JDBC proxy that feeds every {@link QueryExecutionListener}
+ * and {@link MethodExecutionListener} bean, and marks each Spring Data repository call so those
+ * listeners can attribute statements to the repository method that issued them. Connection
+ * checkout and repository calls are observed as well.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+    private static final String DEFAULT_POOL_NAME = "default";
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxy(ObjectProvider<QueryExecutionListener> queryListeners,
+                                                   ObjectProvider<MethodExecutionListener> methodListeners,
+                                                   ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the data source the application uses; the pools behind a routing data source stay unwrapped
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                // A routing data source observes checkout on each of its pools instead
+                DataSource observed = dataSource instanceof LazyConnectionDataSourceProxy
+                        ? dataSource
+                        : new ObservedDataSource(dataSource, DEFAULT_POOL_NAME, observationRegistry);
+                List<QueryExecutionListener> queries = queryListeners.orderedStream().toList();
+                List<MethodExecutionListener> methods = methodListeners.orderedStream().toList();
+                if (queries.isEmpty() && methods.isEmpty()) {
+                    return observed;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(observed).name(DATA_SOURCE_BEAN);
+                queries.forEach(builder::listener);
+                if (!methods.isEmpty()) {
+                    methods.forEach(builder::methodListener);
+                    builder.proxyResultSet();
+                }
+                return builder.build();
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryMethodTracking(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositoryMethodInterceptor(repositoryInformation.getRepositoryInterface(), observationRegistry))));
+                }
+                return bean;
+            }
+        };
+    }
+}
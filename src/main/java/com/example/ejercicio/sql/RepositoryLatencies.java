@@ -0,0 +1,60 @@
+package com.example.ejercicio.sql;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statement latency histograms per repository method, in microseconds.
+ */
+@Component
+public class RepositoryLatencies {
+
+    static final String UNATTRIBUTED = "sin-repositorio";
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final ConcurrentHashMap<String, Histogram> byMethod = new ConcurrentHashMap<>();
+
+    public void record(String method, long elapsedNanos) {
+        byMethod.computeIfAbsent(method != null ? method : UNATTRIBUTED, key -> new ConcurrentHistogram(SIGNIFICANT_DIGITS))
+                .recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+
+    /**
+     * Methods ordered by p99 latency, slowest first.
+     */
+    public List<Map<String, Object>> slowest(int limit) {
+        return byMethod.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().copy()))
+                .sorted(Comparator.comparingLong((Map.Entry<String, Histogram> e) -> e.getValue().getValueAtPercentile(99)).reversed())
+                .limit(limit)
+                .map(entry -> summary(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    public void reset() {
+        byMethod.clear();
+    }
+
+    private static Map<String, Object> summary(String method, Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("metodo", method);
+        summary.put("sentencias", histogram.getTotalCount());
+        summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
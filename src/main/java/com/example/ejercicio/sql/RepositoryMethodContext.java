@@ -0,0 +1,34 @@
+package com.example.ejercicio.sql;
+
+/**
+ * Repository method currently executing on this thread, e.g. {@code MovimientoRepository.buscarMovimientos}.
+ */
+public final class RepositoryMethodContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RepositoryMethodContext() {
+    }
+
+    /**
+     * The repository method running on this thread, or {@code null} for statements issued
+     * elsewhere (lazy loading, flush at commit, JdbcTemplate).
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    static String enter(String method) {
+        String previous = CURRENT.get();
+        CURRENT.set(method);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
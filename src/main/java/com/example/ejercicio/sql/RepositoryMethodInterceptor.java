@@ -0,0 +1,52 @@
+package com.example.ejercicio.sql;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes the repository method being invoked through {@link RepositoryMethodContext} and
+ * observes the call, which gives each repository call its own span.
+ */
+class RepositoryMethodInterceptor implements MethodInterceptor {
+
+    static final String OBSERVATION_NAME = "app.repository";
+    private static final String REPOSITORY_KEY = "repository";
+    private static final String METHOD_KEY = "method";
+
+    private final String repositoryName;
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+    private final ConcurrentHashMap<Method, String> labels = new ConcurrentHashMap<>();
+
+    RepositoryMethodInterceptor(Class<?> repositoryInterface, ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        String label = labels.computeIfAbsent(method, m -> repositoryName + "." + m.getName());
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME,
+                        observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                .contextualName(label)
+                .lowCardinalityKeyValue(REPOSITORY_KEY, repositoryName)
+                .lowCardinalityKeyValue(METHOD_KEY, method.getName())
+                .start();
+        String previous = RepositoryMethodContext.enter(label);
+        try (Observation.Scope scope = observation.openScope()) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            RepositoryMethodContext.restore(previous);
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.ejercicio.sql;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes the slowest repository methods by p99 statement latency at /actuator/slowqueries
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final RepositoryLatencies latencies;
+    private final SlowQueryProperties properties;
+
+    public SlowQueryEndpoint(RepositoryLatencies latencies, SlowQueryProperties properties) {
+        this.latencies = latencies;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("umbralMs", properties.getThreshold().toMillis());
+        result.put("metodos", latencies.slowest(properties.getTopMethods()));
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        latencies.reset();
+    }
+}
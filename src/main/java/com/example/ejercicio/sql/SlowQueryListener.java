@@ -0,0 +1,80 @@
+package com.example.ejercicio.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every statement, records it against the repository method that issued it and logs the
+ * ones above {@code app.slow-query.threshold} with their bind parameters.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryListener.class);
+
+    private static final String START_KEY = SlowQueryListener.class.getName() + ".start";
+    private static final int MAX_LOGGED_PARAMETER_SETS = 3;
+
+    private final RepositoryLatencies latencies;
+    private final long thresholdNanos;
+
+    public SlowQueryListener(RepositoryLatencies latencies, SlowQueryProperties properties) {
+        this.latencies = latencies;
+        this.thresholdNanos = properties.getThreshold().toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_KEY, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_KEY, Long.class);
+        if (start == null) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        String method = RepositoryMethodContext.current();
+        latencies.record(method, elapsedNanos);
+        if (elapsedNanos >= thresholdNanos && log.isWarnEnabled()) {
+            log.warn("Sentencia lenta ({} ms) en {}: {} parámetros {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    method != null ? method : RepositoryLatencies.UNATTRIBUTED,
+                    queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery(),
+                    parameters(queryInfoList));
+        }
+    }
+
+    private static String parameters(List<QueryInfo> queryInfoList) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        int total = queryInfoList.stream().mapToInt(queryInfo -> queryInfo.getParametersList().size()).sum();
+        int logged = 0;
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<ParameterSetOperation> parameterSet : queryInfo.getParametersList()) {
+                if (logged++ == MAX_LOGGED_PARAMETER_SETS) {
+                    joiner.add("... " + (total - MAX_LOGGED_PARAMETER_SETS) + " más");
+                    return joiner.toString();
+                }
+                StringJoiner set = new StringJoiner(", ", "(", ")");
+                for (ParameterSetOperation operation : parameterSet) {
+                    Object[] args = operation.getArgs();
+                    set.add(args.length > 1 ? args[0] + "=" + args[1] : String.valueOf(args[0]));
+                }
+                joiner.add(set.toString());
+            }
+        }
+        return joiner.toString();
+    }
+}
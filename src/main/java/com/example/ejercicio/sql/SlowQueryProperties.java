@@ -0,0 +1,46 @@
+package com.example.ejercicio.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.slow-query")
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Statements at or above this duration are logged with their bind parameters.
+     */
+    private Duration threshold = Duration.ofMillis(200);
+
+    /**
+     * Repository methods listed by the slowqueries actuator endpoint.
+     */
+    private int topMethods = 10;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    public int getTopMethods() {
+        return topMethods;
+    }
+
+    public void setTopMethods(int topMethods) {
+        this.topMethods = topMethods;
+    }
+}
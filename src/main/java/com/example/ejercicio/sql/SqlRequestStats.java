@@ -0,0 +1,73 @@
+package com.example.ejercicio.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC work done on behalf of the current HTTP request: statements executed, rows fetched and
+ * time spent inside the driver. Bound to the request thread by {@link SqlStatsFilter}; work on
+ * other threads (startup, schedulers) is not attributed to any request.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long nanos;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stats of the request being served by this thread, or {@code null} outside a request.
+     */
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Highest number of times a single SQL string ran in this request; lazy loading inside a
+     * loop shows up as the same select repeated once per parent row.
+     */
+    public int getMaxRepetitions() {
+        return executionsBySql.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    public String getMostRepeatedSql() {
+        return executionsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+}
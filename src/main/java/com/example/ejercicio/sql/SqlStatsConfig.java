@@ -0,0 +1,50 @@
+package com.example.ejercicio.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per-request SQL statement counting. The listener plugs into the data source proxy from
+ * {@link DataSourceProxyConfig} and attributes every statement and fetched row to the request being served.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlStatsProperties.class)
+@ConditionalOnProperty(prefix = "app.sql-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final SqlStatsProperties properties;
+
+    public SqlStatsConfig(ObjectProvider<MeterRegistry> meterRegistry, SqlStatsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Bean
+    public SqlStatsListener sqlStatsListener() {
+        return new SqlStatsListener();
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter() {
+        FilterRegistrationBean<SqlStatsFilter> registration = new FilterRegistrationBean<>(new SqlStatsFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        MeterRegistry registryBean = meterRegistry.getIfAvailable();
+        if (registryBean != null) {
+            registry.addInterceptor(new SqlStatsInterceptor(registryBean, properties.getRepeatedStatementThreshold()));
+        }
+    }
+}
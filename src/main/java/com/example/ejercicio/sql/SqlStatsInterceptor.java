@@ -0,0 +1,64 @@
+package com.example.ejercicio.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the JDBC work of each request against the controller method that served it and
+ * reports requests that repeat the same statement often enough to look like an N+1.
+ */
+public class SqlStatsInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatsInterceptor.class);
+
+    static final String STATEMENTS_METRIC = "http.server.sql.statements";
+    static final String ROWS_METRIC = "http.server.sql.rows";
+    static final String TIME_METRIC = "http.server.sql.time";
+    static final String REPEATED_METRIC = "http.server.sql.repeated";
+    private static final String HANDLER_TAG = "handler";
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatedStatementThreshold;
+
+    public SqlStatsInterceptor(MeterRegistry meterRegistry, int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        String handlerName = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .tag(HANDLER_TAG, handlerName)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder(ROWS_METRIC)
+                .tag(HANDLER_TAG, handlerName)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder(TIME_METRIC)
+                .tag(HANDLER_TAG, handlerName)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        int repetitions = stats.getMaxRepetitions();
+        if (repetitions >= repeatedStatementThreshold) {
+            meterRegistry.counter(REPEATED_METRIC, HANDLER_TAG, handlerName).increment();
+            log.warn("Posible N+1 en {} {} ({}): la misma sentencia se ejecutó {} veces: {}",
+                    request.getMethod(), request.getRequestURI(), handlerName, repetitions, stats.getMostRepeatedSql());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ejercicio.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Feeds statement executions and fetched rows from the proxied data source into the stats of the
+ * current request.
+ */
+public class SqlStatsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String START_KEY = SqlStatsListener.class.getName() + ".start";
+    private static final String NEXT_METHOD = "next";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlRequestStats.current() != null) {
+            execInfo.addCustomValue(START_KEY, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        Long start = execInfo.getCustomValue(START_KEY, Long.class);
+        if (stats == null || start == null) {
+            return;
+        }
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        stats.recordStatement(sql, System.nanoTime() - start);
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && NEXT_METHOD.equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                stats.recordRow();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.ejercicio.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.sql-stats")
+public class SqlStatsProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Adds X-SQL-* headers to every response; meant for non-production profiles.
+     */
+    private boolean responseHeaders = false;
+
+    /**
+     * Executions of the same SQL within one request at which the request is reported as a likely N+1.
+     */
+    private int repeatedStatementThreshold = 5;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isResponseHeaders() {
+        return responseHeaders;
+    }
+
+    public void setResponseHeaders(boolean responseHeaders) {
+        this.responseHeaders = responseHeaders;
+    }
+
+    public int getRepeatedStatementThreshold() {
+        return repeatedStatementThreshold;
+    }
+
+    public void setRepeatedStatementThreshold(int repeatedStatementThreshold) {
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ejercicio.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Observes connection checkout, so pool wait shows up as its own span under the calling repository
+ * or service method. The registry is resolved on first use because pools are created before observability.
+ */
+public class ObservedDataSource extends DelegatingDataSource {
+
+    static final String OBSERVATION_NAME = "jdbc.connection.acquire";
+    private static final String POOL_KEY = "pool";
+
+    private final String poolName;
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+
+    public ObservedDataSource(DataSource targetDataSource, String poolName, ObjectProvider<ObservationRegistry> observationRegistry) {
+        super(targetDataSource);
+        this.poolName = poolName;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME,
+                        observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                .lowCardinalityKeyValue(POOL_KEY, poolName)
+                .start();
+        try {
+            return super.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
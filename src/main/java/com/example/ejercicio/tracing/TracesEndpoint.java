@@ -0,0 +1,84 @@
+package com.example.ejercicio.tracing;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Exposes the traces held in memory at /actuator/traces and the span tree of one trace at
+ * /actuator/traces/{traceId}
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private static final int RECENT_TRACES = 50;
+
+    private final InMemorySpanExporter exporter;
+
+    public TracesEndpoint(InMemorySpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> traces() {
+        Map<String, List<SpanData>> byTrace = exporter.snapshot().stream()
+                .collect(Collectors.groupingBy(SpanData::getTraceId));
+        return byTrace.values().stream()
+                .map(TracesEndpoint::root)
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos).reversed())
+                .limit(RECENT_TRACES)
+                .map(root -> {
+                    Map<String, Object> summary = new LinkedHashMap<>();
+                    summary.put("traceId", root.getTraceId());
+                    summary.put("nombre", root.getName());
+                    summary.put("duracionMs", millis(root));
+                    summary.put("spans", byTrace.get(root.getTraceId()).size());
+                    return summary;
+                })
+                .toList();
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> trace(@Selector String traceId) {
+        return exporter.snapshot().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .map(span -> {
+                    Map<String, Object> json = new LinkedHashMap<>();
+                    json.put("spanId", span.getSpanId());
+                    json.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+                    json.put("nombre", span.getName());
+                    json.put("duracionMs", millis(span));
+                    Map<String, Object> attributes = new LinkedHashMap<>();
+                    span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+                    json.put("atributos", attributes);
+                    return json;
+                })
+                .toList();
+    }
+
+    /**
+     * The span whose parent is not part of the trace; the earliest one if the root is still open.
+     */
+    private static SpanData root(List<SpanData> spans) {
+        Set<String> ids = spans.stream().map(SpanData::getSpanId).collect(Collectors.toSet());
+        return spans.stream()
+                .filter(span -> !ids.contains(span.getParentSpanId()))
+                .min(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .orElse(spans.get(0));
+    }
+
+    private static double millis(SpanData span) {
+        return Math.round((span.getEndEpochNanos() - span.getStartEpochNanos()) / 10_000.0) / 100.0;
+    }
+}
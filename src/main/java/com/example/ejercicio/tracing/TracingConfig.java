@@ -0,0 +1,32 @@
+package com.example.ejercicio.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Offline span sinks. Spans from controllers, service.impl, repositories and connection checkout
+ * go to memory (/actuator/traces) and, with app.tracing.file.enabled=true, to a local file.
+ */
+@Configuration
+public class TracingConfig {
+
+    private final TracingProperties properties;
+
+    public TracingConfig(TracingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter() {
+        return new InMemorySpanExporter(properties.getMaxSpans());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing.file", name = "enabled", havingValue = "true")
+    public JsonFileSpanExporter jsonFileSpanExporter() {
+        return new JsonFileSpanExporter(Path.of(properties.getFile().getPath()));
+    }
+}
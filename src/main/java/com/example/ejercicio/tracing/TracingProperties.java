@@ -0,0 +1,57 @@
+package com.example.ejercicio.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    /**
+     * Finished spans kept in memory for the traces actuator endpoint.
+     */
+    private int maxSpans = 10_000;
+
+    private File file = new File();
+
+    // Getters and Setters
+    public int getMaxSpans() {
+        return maxSpans;
+    }
+
+    public void setMaxSpans(int maxSpans) {
+        this.maxSpans = maxSpans;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public void setFile(File file) {
+        this.file = file;
+    }
+
+    public static class File {
+
+        private boolean enabled = false;
+
+        /**
+         * One JSON span per line, using OTLP field names.
+         */
+        private String path = "target/traces/spans.jsonl";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+-- Esquema de db/migration para la base embebida (H2 en modo PostgreSQL); mantener en sincronía con cada migración.
+-- Se omiten los triggers de fecha_actualizacion: JPA ya mantiene esas columnas.
+-- Las restricciones UNIQUE llevan el nombre que PostgreSQL les da por defecto: los servicios las reconocen por él.
+
+CREATE TABLE personas (
+    id BIGSERIAL PRIMARY KEY,
+    nombre VARCHAR(100) NOT NULL CHECK (LENGTH(nombre) >= 2),
+    genero VARCHAR(20),
+    edad INTEGER CHECK (edad > 0 AND edad <= 120),
+    identificacion VARCHAR(20),
+    direccion VARCHAR(200),
+    telefono VARCHAR(15),
+    fecha_creacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT personas_identificacion_key UNIQUE (identificacion)
+);
+
+CREATE TABLE clientes (
+    persona_id BIGINT PRIMARY KEY REFERENCES personas(id) ON DELETE CASCADE,
+    clienteid VARCHAR(20) NOT NULL CHECK (LENGTH(clienteid) >= 3),
+    contrasena VARCHAR(255) NOT NULL CHECK (LENGTH(contrasena) >= 6),
+    estado BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT clientes_clienteid_key UNIQUE (clienteid)
+);
+
+CREATE TABLE tipos_cuenta (
+    codigo SMALLINT PRIMARY KEY,
+    nombre VARCHAR(20) NOT NULL UNIQUE
+);
+INSERT INTO tipos_cuenta (codigo, nombre) VALUES (1, 'AHORRO'), (2, 'CORRIENTE');
+
+CREATE TABLE tipos_movimiento (
+    codigo SMALLINT PRIMARY KEY,
+    nombre VARCHAR(20) NOT NULL UNIQUE
+);
+INSERT INTO tipos_movimiento (codigo, nombre) VALUES (1, 'CREDITO'), (2, 'DEBITO');
+
+CREATE TABLE cuentas (
+    id BIGSERIAL PRIMARY KEY,
+    numero_cuenta VARCHAR(20) NOT NULL CHECK (LENGTH(numero_cuenta) >= 8),
+    tipo_cuenta SMALLINT NOT NULL REFERENCES tipos_cuenta(codigo),
+    saldo_inicial DECIMAL(15,2) NOT NULL CHECK (saldo_inicial >= 0),
+    saldo_actual DECIMAL(15,2) NOT NULL,
+    estado BOOLEAN NOT NULL DEFAULT TRUE,
+    fecha_creacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    cliente_id BIGINT NOT NULL REFERENCES clientes(persona_id) ON DELETE RESTRICT,
+    CONSTRAINT cuentas_numero_cuenta_key UNIQUE (numero_cuenta)
+);
+
+CREATE TABLE saldos_cliente (
+    cliente_id BIGINT PRIMARY KEY REFERENCES clientes(persona_id) ON DELETE CASCADE,
+    saldo_total DECIMAL(15,2) NOT NULL DEFAULT 0
+);
+
+CREATE TABLE lotes_particiones (
+    proceso VARCHAR(30) NOT NULL,
+    periodo VARCHAR(10) NOT NULL,
+    desde_id BIGINT NOT NULL,
+    hasta_id BIGINT NOT NULL,
+    cuentas INTEGER NOT NULL DEFAULT 0,
+    total DECIMAL(15,2) NOT NULL DEFAULT 0,
+    completada_en TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (proceso, periodo, desde_id)
+);
+
+-- En PostgreSQL movimientos está particionada por mes (V3); H2 no admite particiones y usa una tabla simple
+CREATE TABLE movimientos (
+    id BIGSERIAL PRIMARY KEY,
+    fecha TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    tipo_movimiento SMALLINT NOT NULL REFERENCES tipos_movimiento(codigo),
+    valor DECIMAL(15,2) NOT NULL,
+    saldo DECIMAL(15,2) NOT NULL,
+    descripcion VARCHAR(200),
+    fecha_creacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    cuenta_id BIGINT NOT NULL REFERENCES cuentas(id) ON DELETE CASCADE
+);
+
+CREATE TABLE comisiones_pendientes (
+    cuenta_id BIGINT NOT NULL REFERENCES cuentas(id) ON DELETE CASCADE,
+    periodo VARCHAR(7) NOT NULL,
+    importe DECIMAL(15,2) NOT NULL CHECK (importe > 0),
+    saldo DECIMAL(15,2) NOT NULL,
+    registrada_en TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (cuenta_id, periodo)
+);
+
+CREATE TABLE conciliaciones_libro (
+    id BIGSERIAL PRIMARY KEY,
+    iniciada_en TIMESTAMP NOT NULL,
+    terminada_en TIMESTAMP,
+    cuentas BIGINT NOT NULL DEFAULT 0,
+    movimientos BIGINT NOT NULL DEFAULT 0,
+    descuadres BIGINT NOT NULL DEFAULT 0,
+    rangos_fallidos INTEGER NOT NULL DEFAULT 0
+);
+
+CREATE TABLE descuadres_libro (
+    conciliacion_id BIGINT NOT NULL REFERENCES conciliaciones_libro(id) ON DELETE CASCADE,
+    cuenta_id BIGINT NOT NULL,
+    movimiento_id BIGINT,
+    tipo VARCHAR(12) NOT NULL,
+    esperado DECIMAL(15,2) NOT NULL,
+    registrado DECIMAL(15,2) NOT NULL
+);
+
+-- Mismos índices que db/migration; H2 no admite índices parciales, así que estado va como segunda columna
+CREATE INDEX idx_cuentas_cliente_id ON cuentas(cliente_id);
+CREATE INDEX idx_cuentas_cliente_activas ON cuentas(cliente_id, estado);
+CREATE INDEX idx_cuentas_activas ON cuentas(estado, id);
+CREATE INDEX idx_clientes_activos ON clientes(estado, persona_id);
+CREATE INDEX idx_movimientos_fecha ON movimientos(fecha);
+CREATE INDEX idx_movimientos_tipo ON movimientos(tipo_movimiento);
+CREATE INDEX idx_movimientos_cuenta_fecha ON movimientos(cuenta_id, fecha DESC);
+-- H2 no admite INCLUDE: valor va como última columna
+CREATE INDEX idx_movimientos_cuenta_tipo_fecha ON movimientos(cuenta_id, tipo_movimiento, fecha, valor);
+CREATE INDEX idx_descuadres_libro_conciliacion ON descuadres_libro(conciliacion_id, cuenta_id);
+
+-- Bloques de números de cuenta generados (V6)
+CREATE SEQUENCE numeros_cuenta_bloque_seq START WITH 1 INCREMENT BY 100 MINVALUE 1 NO CYCLE;
@@ -0,0 +1,37 @@
+-- Nombres fijos para las restricciones únicas que UniqueViolations reconoce al traducir un duplicado en 409.
+-- Las bases adoptadas por V1 (CREATE TABLE IF NOT EXISTS) conservan los nombres que les dio Hibernate
+-- (uk_...) o BaseDatos.sql; aquí se renombran a los que genera PostgreSQL para un esquema nuevo.
+-- Renombrar la restricción renombra también su índice; no se reescribe ninguna fila.
+
+DO $$
+DECLARE
+    esperada RECORD;
+    actual TEXT;
+BEGIN
+    FOR esperada IN
+        SELECT * FROM (VALUES
+            ('clientes', 'clienteid', 'clientes_clienteid_key'),
+            ('personas', 'identificacion', 'personas_identificacion_key'),
+            ('cuentas', 'numero_cuenta', 'cuentas_numero_cuenta_key')
+        ) AS r(tabla, columna, nombre)
+    LOOP
+        SELECT con.conname INTO actual
+        FROM pg_constraint con
+        JOIN pg_class tab ON tab.oid = con.conrelid
+        JOIN pg_attribute att ON att.attrelid = tab.oid AND att.attnum = con.conkey[1]
+        WHERE tab.relname = esperada.tabla
+          AND tab.relnamespace = current_schema()::regnamespace
+          AND con.contype = 'u'
+          AND array_length(con.conkey, 1) = 1
+          AND att.attname = esperada.columna
+        ORDER BY con.conname = esperada.nombre DESC
+        LIMIT 1;
+
+        IF actual IS NULL THEN
+            EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I UNIQUE (%I)', esperada.tabla, esperada.nombre, esperada.columna);
+        ELSIF actual <> esperada.nombre THEN
+            EXECUTE format('ALTER TABLE %I RENAME CONSTRAINT %I TO %I', esperada.tabla, actual, esperada.nombre);
+        END IF;
+    END LOOP;
+END
+$$;
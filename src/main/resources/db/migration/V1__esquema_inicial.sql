@@ -0,0 +1,55 @@
+-- Esquema inicial (tablas e índices de BaseDatos.sql).
+-- IF NOT EXISTS permite adoptar bases creadas antes por Hibernate o por BaseDatos.sql:
+-- se conservan las tablas y se crean los índices que falten.
+
+CREATE TABLE IF NOT EXISTS personas (
+    id BIGSERIAL PRIMARY KEY,
+    nombre VARCHAR(100) NOT NULL CHECK (LENGTH(nombre) >= 2),
+    genero VARCHAR(20),
+    edad INTEGER CHECK (edad > 0 AND edad <= 120),
+    identificacion VARCHAR(20) UNIQUE,
+    direccion VARCHAR(200),
+    telefono VARCHAR(15),
+    fecha_creacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS clientes (
+    persona_id BIGINT PRIMARY KEY REFERENCES personas(id) ON DELETE CASCADE,
+    clienteid VARCHAR(20) NOT NULL UNIQUE CHECK (LENGTH(clienteid) >= 3),
+    contrasena VARCHAR(255) NOT NULL CHECK (LENGTH(contrasena) >= 6),
+    estado BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE TABLE IF NOT EXISTS cuentas (
+    id BIGSERIAL PRIMARY KEY,
+    numero_cuenta VARCHAR(20) NOT NULL UNIQUE CHECK (LENGTH(numero_cuenta) >= 8),
+    tipo_cuenta VARCHAR(20) NOT NULL,
+    saldo_inicial DECIMAL(15,2) NOT NULL CHECK (saldo_inicial >= 0),
+    saldo_actual DECIMAL(15,2) NOT NULL,
+    estado BOOLEAN NOT NULL DEFAULT TRUE,
+    fecha_creacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    cliente_id BIGINT NOT NULL REFERENCES clientes(persona_id) ON DELETE RESTRICT
+);
+
+CREATE TABLE IF NOT EXISTS movimientos (
+    id BIGSERIAL PRIMARY KEY,
+    fecha TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    tipo_movimiento VARCHAR(20) NOT NULL,
+    valor DECIMAL(15,2) NOT NULL,
+    saldo DECIMAL(15,2) NOT NULL,
+    descripcion VARCHAR(200),
+    fecha_creacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    cuenta_id BIGINT NOT NULL REFERENCES cuentas(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_personas_identificacion ON personas(identificacion);
+CREATE INDEX IF NOT EXISTS idx_clientes_clienteid ON clientes(clienteid);
+CREATE INDEX IF NOT EXISTS idx_cuentas_numero_cuenta ON cuentas(numero_cuenta);
+CREATE INDEX IF NOT EXISTS idx_cuentas_cliente_id ON cuentas(cliente_id);
+CREATE INDEX IF NOT EXISTS idx_cuentas_estado ON cuentas(estado);
+CREATE INDEX IF NOT EXISTS idx_movimientos_cuenta_id ON movimientos(cuenta_id);
+CREATE INDEX IF NOT EXISTS idx_movimientos_fecha ON movimientos(fecha);
+CREATE INDEX IF NOT EXISTS idx_movimientos_tipo ON movimientos(tipo_movimiento);
+CREATE INDEX IF NOT EXISTS idx_movimientos_cuenta_fecha ON movimientos(cuenta_id, fecha DESC);
@@ -0,0 +1,14 @@
+-- Índices parciales para las consultas que solo miran registros activos (estado = true):
+-- findByClienteIdAndEstado, el saldo total por cliente y la selección de cuentas activas.
+-- Sustituyen al índice sobre la columna booleana, que casi nunca es selectivo.
+
+CREATE INDEX IF NOT EXISTS idx_cuentas_cliente_activas ON cuentas(cliente_id) INCLUDE (saldo_actual) WHERE estado = TRUE;
+CREATE INDEX IF NOT EXISTS idx_cuentas_activas ON cuentas(id) WHERE estado = TRUE;
+CREATE INDEX IF NOT EXISTS idx_clientes_activos ON clientes(persona_id) WHERE estado = TRUE;
+DROP INDEX IF EXISTS idx_cuentas_estado;
+
+-- Duplican índices ya cubiertos por una restricción UNIQUE o por el prefijo de idx_movimientos_cuenta_fecha
+DROP INDEX IF EXISTS idx_personas_identificacion;
+DROP INDEX IF EXISTS idx_clientes_clienteid;
+DROP INDEX IF EXISTS idx_cuentas_numero_cuenta;
+DROP INDEX IF EXISTS idx_movimientos_cuenta_id;
@@ -0,0 +1,51 @@
+-- Particiona movimientos por mes sobre fecha (PARTITION BY RANGE).
+-- La clave primaria debe incluir la clave de partición, así que pasa a ser (id, fecha).
+-- Se crean particiones mensuales desde el primer movimiento hasta tres meses por delante,
+-- más una partición por defecto; MovimientoPartitionMaintenance mantiene la ventana después.
+
+ALTER TABLE movimientos RENAME TO movimientos_sin_particionar;
+ALTER INDEX IF EXISTS movimientos_pkey RENAME TO movimientos_sin_particionar_pkey;
+ALTER SEQUENCE IF EXISTS movimientos_id_seq RENAME TO movimientos_sin_particionar_id_seq;
+
+CREATE SEQUENCE movimientos_id_seq;
+
+CREATE TABLE movimientos (
+    id BIGINT NOT NULL DEFAULT nextval('movimientos_id_seq'),
+    fecha TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    tipo_movimiento VARCHAR(20) NOT NULL,
+    valor DECIMAL(15,2) NOT NULL,
+    saldo DECIMAL(15,2) NOT NULL,
+    descripcion VARCHAR(200),
+    fecha_creacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    cuenta_id BIGINT NOT NULL REFERENCES cuentas(id) ON DELETE CASCADE,
+    PRIMARY KEY (id, fecha)
+) PARTITION BY RANGE (fecha);
+
+ALTER SEQUENCE movimientos_id_seq OWNED BY movimientos.id;
+
+CREATE TABLE movimientos_default PARTITION OF movimientos DEFAULT;
+
+DO $$
+DECLARE
+    mes DATE := date_trunc('month', COALESCE((SELECT MIN(fecha) FROM movimientos_sin_particionar), CURRENT_TIMESTAMP));
+    ultimo DATE := date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months';
+BEGIN
+    WHILE mes <= ultimo LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF movimientos FOR VALUES FROM (%L) TO (%L)',
+                       'movimientos_p' || to_char(mes, 'YYYYMM'), mes, mes + INTERVAL '1 month');
+        mes := mes + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO movimientos (id, fecha, tipo_movimiento, valor, saldo, descripcion, fecha_creacion, cuenta_id)
+SELECT id, fecha, tipo_movimiento, valor, saldo, descripcion, fecha_creacion, cuenta_id
+FROM movimientos_sin_particionar;
+
+SELECT setval('movimientos_id_seq', COALESCE((SELECT MAX(id) FROM movimientos), 0) + 1, false);
+
+DROP TABLE movimientos_sin_particionar;
+
+-- Índices declarados en la tabla padre: cada partición recibe el suyo
+CREATE INDEX idx_movimientos_cuenta_fecha ON movimientos(cuenta_id, fecha DESC);
+CREATE INDEX idx_movimientos_fecha ON movimientos(fecha);
+CREATE INDEX idx_movimientos_tipo ON movimientos(tipo_movimiento);
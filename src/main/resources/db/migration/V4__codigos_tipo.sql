@@ -0,0 +1,47 @@
+-- tipo_cuenta y tipo_movimiento pasan de VARCHAR(20) a códigos SMALLINT (TipoCuenta y TipoMovimiento).
+-- Los valores heredados se llevan a su forma canónica: AHORROS -> AHORRO, DEPOSITO -> CREDITO, RETIRO -> DEBITO.
+-- Las tablas de códigos solo documentan el significado de cada código y lo protegen con una clave foránea.
+
+CREATE TABLE tipos_cuenta (
+    codigo SMALLINT PRIMARY KEY,
+    nombre VARCHAR(20) NOT NULL UNIQUE
+);
+INSERT INTO tipos_cuenta (codigo, nombre) VALUES (1, 'AHORRO'), (2, 'CORRIENTE');
+
+CREATE TABLE tipos_movimiento (
+    codigo SMALLINT PRIMARY KEY,
+    nombre VARCHAR(20) NOT NULL UNIQUE
+);
+INSERT INTO tipos_movimiento (codigo, nombre) VALUES (1, 'CREDITO'), (2, 'DEBITO');
+
+-- Un tipo de cuenta desconocido no se puede deducir de nada: la migración se detiene para corregirlo a mano
+DO $$
+DECLARE
+    desconocidos TEXT;
+BEGIN
+    SELECT string_agg(DISTINCT tipo_cuenta, ', ') INTO desconocidos
+    FROM cuentas
+    WHERE UPPER(TRIM(tipo_cuenta)) NOT IN ('AHORRO', 'AHORROS', 'CORRIENTE');
+    IF desconocidos IS NOT NULL THEN
+        RAISE EXCEPTION 'Tipos de cuenta sin código: %', desconocidos;
+    END IF;
+END $$;
+
+ALTER TABLE cuentas ALTER COLUMN tipo_cuenta TYPE SMALLINT
+    USING CASE UPPER(TRIM(tipo_cuenta)) WHEN 'CORRIENTE' THEN 2 ELSE 1 END;
+ALTER TABLE cuentas ADD CONSTRAINT fk_cuentas_tipo_cuenta FOREIGN KEY (tipo_cuenta) REFERENCES tipos_cuenta(codigo);
+
+-- Un tipo de movimiento desconocido se deduce del signo del valor, igual que hace la API cuando no se indica.
+-- El cambio de tipo se propaga a todas las particiones y reconstruye idx_movimientos_tipo sobre el código.
+ALTER TABLE movimientos ALTER COLUMN tipo_movimiento TYPE SMALLINT
+    USING CASE UPPER(TRIM(tipo_movimiento))
+        WHEN 'CREDITO' THEN 1
+        WHEN 'DEPOSITO' THEN 1
+        WHEN 'DEBITO' THEN 2
+        WHEN 'RETIRO' THEN 2
+        ELSE CASE WHEN valor < 0 THEN 2 ELSE 1 END
+    END;
+ALTER TABLE movimientos ADD CONSTRAINT fk_movimientos_tipo_movimiento FOREIGN KEY (tipo_movimiento) REFERENCES tipos_movimiento(codigo);
+
+-- findByCuentaIdAndTipoMovimiento y sumValorPorCuentaYTipo se resuelven solo con el índice
+CREATE INDEX IF NOT EXISTS idx_movimientos_cuenta_tipo_fecha ON movimientos(cuenta_id, tipo_movimiento, fecha) INCLUDE (valor);
@@ -0,0 +1,14 @@
+-- Saldo total de las cuentas activas de cada cliente, mantenido por ClientBalanceAggregate en la misma
+-- transacción que cambia las cuentas, para que /cuentas/cliente/{clienteId}/saldo-total lea una sola fila.
+-- ClientBalanceReconciler lo compara periódicamente con SUM(saldo_actual).
+
+CREATE TABLE saldos_cliente (
+    cliente_id BIGINT PRIMARY KEY REFERENCES clientes(persona_id) ON DELETE CASCADE,
+    saldo_total DECIMAL(15,2) NOT NULL DEFAULT 0
+);
+
+INSERT INTO saldos_cliente (cliente_id, saldo_total)
+SELECT cl.persona_id, COALESCE(SUM(c.saldo_actual) FILTER (WHERE c.estado), 0)
+FROM clientes cl
+LEFT JOIN cuentas c ON c.cliente_id = cl.persona_id
+GROUP BY cl.persona_id;
@@ -0,0 +1,7 @@
+-- Bloques de números de cuenta para POST /cuentas sin numeroCuenta (hi/lo). Cada nextval reserva para
+-- el nodo que lo pide los INCREMENT números siguientes, que AccountNumberGenerator reparte en memoria.
+-- Aumentar el incremento es seguro; para reducirlo hay que reiniciar la secuencia por encima del último
+-- bloque entregado (ALTER SEQUENCE ... INCREMENT BY n RESTART WITH último_valor + incremento_anterior)
+-- y reiniciar los nodos, que leen el incremento una sola vez.
+
+CREATE SEQUENCE numeros_cuenta_bloque_seq START WITH 1 INCREMENT BY 100 MINVALUE 1 NO CYCLE;
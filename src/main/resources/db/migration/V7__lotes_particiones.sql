@@ -0,0 +1,15 @@
+-- Avance de los procesos por lotes sobre cuentas (intereses diarios, comisiones...): una fila por proceso,
+-- periodo y rango de ids. Se inserta en la misma transacción que los movimientos del rango, así que un
+-- proceso reanudado tras una caída salta los rangos ya confirmados sin volver a abonarlos, y dos nodos
+-- que procesan el mismo periodo se reparten los rangos en lugar de duplicarlos.
+
+CREATE TABLE lotes_particiones (
+    proceso VARCHAR(30) NOT NULL,
+    periodo VARCHAR(10) NOT NULL,
+    desde_id BIGINT NOT NULL,
+    hasta_id BIGINT NOT NULL,
+    cuentas INTEGER NOT NULL DEFAULT 0,
+    total DECIMAL(15,2) NOT NULL DEFAULT 0,
+    completada_en TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (proceso, periodo, desde_id)
+);
@@ -0,0 +1,11 @@
+-- Comisiones de mantenimiento que no se cobraron porque el saldo no las cubría; una por cuenta y mes.
+-- Se registran en la misma transacción que el rango de cuentas del proceso mensual (lotes_particiones).
+
+CREATE TABLE comisiones_pendientes (
+    cuenta_id BIGINT NOT NULL REFERENCES cuentas(id) ON DELETE CASCADE,
+    periodo VARCHAR(7) NOT NULL,
+    importe DECIMAL(15,2) NOT NULL CHECK (importe > 0),
+    saldo DECIMAL(15,2) NOT NULL,
+    registrada_en TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (cuenta_id, periodo)
+);
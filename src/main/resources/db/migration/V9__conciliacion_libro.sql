@@ -0,0 +1,25 @@
+-- Conciliación nocturna del libro de movimientos: una fila por ejecución y una por descuadre encontrado.
+-- MOVIMIENTO: el saldo guardado en un movimiento no es el saldo del anterior (o el inicial) más su valor.
+-- CUENTA: saldo_actual no coincide con el saldo de apertura más la suma de los movimientos de la cuenta.
+-- cuenta_id y movimiento_id no son claves foráneas: el informe se conserva aunque se borren las filas.
+
+CREATE TABLE conciliaciones_libro (
+    id BIGSERIAL PRIMARY KEY,
+    iniciada_en TIMESTAMP NOT NULL,
+    terminada_en TIMESTAMP,
+    cuentas BIGINT NOT NULL DEFAULT 0,
+    movimientos BIGINT NOT NULL DEFAULT 0,
+    descuadres BIGINT NOT NULL DEFAULT 0,
+    rangos_fallidos INTEGER NOT NULL DEFAULT 0
+);
+
+CREATE TABLE descuadres_libro (
+    conciliacion_id BIGINT NOT NULL REFERENCES conciliaciones_libro(id) ON DELETE CASCADE,
+    cuenta_id BIGINT NOT NULL,
+    movimiento_id BIGINT,
+    tipo VARCHAR(12) NOT NULL,
+    esperado DECIMAL(15,2) NOT NULL,
+    registrado DECIMAL(15,2) NOT NULL
+);
+
+CREATE INDEX idx_descuadres_libro_conciliacion ON descuadres_libro(conciliacion_id, cuenta_id);
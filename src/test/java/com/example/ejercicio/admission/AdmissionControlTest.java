@@ -0,0 +1,171 @@
+package com.example.ejercicio.admission;
+
+import com.example.ejercicio.exception.TooManyRequestsException;
+import com.example.ejercicio.model.TipoCuenta;
+import com.example.ejercicio.repository.ClienteRepository;
+import com.example.ejercicio.repository.CuentaRepository;
+import com.example.ejercicio.repository.CuentaTitularView;
+import com.example.ejercicio.repository.MovimientoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionControlTest {
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private CuentaRepository cuentaRepository;
+
+    @Mock
+    private MovimientoRepository movimientoRepository;
+
+    private AdmissionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControl admissionControl;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setMaxEntries(2);
+        properties.setCliente(new AdmissionProperties.Limit(0.001, 3));
+        properties.setCuenta(new AdmissionProperties.Limit(0.001, 1));
+        meterRegistry = new SimpleMeterRegistry();
+        admissionControl = new AdmissionControl(properties, clienteRepository, cuentaRepository, movimientoRepository, meterRegistry);
+    }
+
+    @Test
+    void checkAccount_DeberiaDevolverElTokenDelClienteSiLaCuentaRechaza() {
+        // Arrange
+        when(cuentaRepository.findTitularById(1L)).thenReturn(Optional.of(titular(7L)));
+        admissionControl.checkAccount(1L);
+
+        // Act
+        assertThrows(TooManyRequestsException.class, () -> admissionControl.checkAccount(1L));
+        assertThrows(TooManyRequestsException.class, () -> admissionControl.checkAccount(1L));
+
+        // Assert
+        // Ráfaga de 3 para el cliente: solo consumió la solicitud admitida
+        admissionControl.checkClient(7L);
+        admissionControl.checkClient(7L);
+        assertThrows(TooManyRequestsException.class, () -> admissionControl.checkClient(7L));
+    }
+
+    @Test
+    void checkAccount_DeberiaLimitarJuntasLasCuentasInexistentesSinGuardarlas() {
+        // Arrange
+        when(cuentaRepository.findTitularById(anyLong())).thenReturn(Optional.empty());
+        admissionControl.checkAccount(100L);
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> admissionControl.checkAccount(101L));
+        assertEquals(0, admissionControl.snapshot(10).get("cuentasActivas"));
+    }
+
+    @Test
+    void checkAccount_DeberiaRecordarLasCuentasInexistentesSinVolverAConsultarlas() {
+        // Arrange
+        when(cuentaRepository.findTitularById(100L)).thenReturn(Optional.empty());
+        admissionControl.checkAccount(100L);
+
+        // Act
+        assertThrows(TooManyRequestsException.class, () -> admissionControl.checkAccount(100L));
+
+        // Assert
+        verify(cuentaRepository, times(1)).findTitularById(100L);
+    }
+
+    @Test
+    void checkAccount_DeberiaLimitarLasConsultasAntesDeIrALaBase() {
+        // Arrange
+        properties.setConsulta(new AdmissionProperties.Limit(0.001, 2));
+        admissionControl = new AdmissionControl(properties, clienteRepository, cuentaRepository, movimientoRepository, meterRegistry);
+        when(cuentaRepository.findTitularById(anyLong())).thenReturn(Optional.empty());
+        admissionControl.checkAccount(100L);
+        when(clienteRepository.existsById(anyLong())).thenReturn(false);
+        admissionControl.checkClient(200L);
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> admissionControl.checkAccount(101L));
+        assertThrows(TooManyRequestsException.class, () -> admissionControl.checkClient(201L));
+        verify(cuentaRepository, never()).findTitularById(101L);
+        verify(clienteRepository, never()).existsById(201L);
+        assertEquals(2L, admissionControl.snapshot(10).get("consultasLimitadas"));
+    }
+
+    @Test
+    void checkMovements_DeberiaCobrarCadaCuentaYDevolverTodoSiUnaRechaza() {
+        // Arrange
+        when(movimientoRepository.findCuentaIdsByIdIn(List.of(10L, 20L))).thenReturn(List.of(1L, 2L));
+        when(cuentaRepository.findTitularById(1L)).thenReturn(Optional.of(titular(7L)));
+        when(cuentaRepository.findTitularById(2L)).thenReturn(Optional.of(titular(7L)));
+        admissionControl.checkAccount(2L);
+
+        // Act
+        assertThrows(TooManyRequestsException.class, () -> admissionControl.checkMovements(List.of(10L, 20L)));
+
+        // Assert
+        // La cuenta 1 no quedó cobrada y el cliente solo consumió la solicitud admitida
+        admissionControl.checkAccount(1L);
+        admissionControl.checkClient(7L);
+        assertThrows(TooManyRequestsException.class, () -> admissionControl.checkClient(7L));
+    }
+
+    @Test
+    void checkClient_DeberiaLimitarJuntosLosClientesInexistentes() {
+        // Arrange
+        when(clienteRepository.existsById(anyLong())).thenReturn(false);
+        for (long id = 1; id <= 3; id++) {
+            admissionControl.checkClient(id);
+        }
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> admissionControl.checkClient(4L));
+        assertEquals(0, admissionControl.snapshot(10).get("clientesActivos"));
+    }
+
+    @Test
+    void checkAccount_DeberiaAcotarLosBucketsCuandoLaCacheEstaLlena() {
+        // Arrange
+        when(cuentaRepository.findTitularById(anyLong())).thenAnswer(invocation -> Optional.of(titular(null)));
+        admissionControl.checkAccount(1L);
+        admissionControl.checkAccount(2L);
+
+        // Act
+        admissionControl.checkAccount(3L);
+
+        // Assert
+        Map<String, Object> snapshot = admissionControl.snapshot(10);
+        assertEquals(2, snapshot.get("cuentasActivas"));
+        assertEquals(1.0, meterRegistry.counter("admission.evicted").count());
+        // La cuenta recién llegada entra en la ventana de la caché: conserva su bucket y sigue limitada
+        assertThrows(TooManyRequestsException.class, () -> admissionControl.checkAccount(3L));
+    }
+
+    private static CuentaTitularView titular(Long clienteId) {
+        return new CuentaTitularView() {
+            @Override
+            public TipoCuenta getTipoCuenta() {
+                return TipoCuenta.AHORRO;
+            }
+
+            @Override
+            public Long getClienteId() {
+                return clienteId;
+            }
+        };
+    }
+}
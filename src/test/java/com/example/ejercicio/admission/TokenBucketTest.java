@@ -0,0 +1,73 @@
+package com.example.ejercicio.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private AtomicLong reloj;
+    private TokenBucket bucket;
+
+    @BeforeEach
+    void setUp() {
+        reloj = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+        bucket = new TokenBucket(10, 5, reloj::get);
+    }
+
+    @Test
+    void tryAcquire_DeberiaAdmitirLaRafagaCompleta() {
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0L, bucket.tryAcquire());
+        }
+    }
+
+    @Test
+    void tryAcquire_DeberiaRechazarCuandoSeAgotaLaRafaga() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire();
+        }
+
+        // Act
+        long espera = bucket.tryAcquire();
+
+        // Assert
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), espera);
+    }
+
+    @Test
+    void tryAcquire_DeberiaRecuperarTokensConElTiempo() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire();
+        }
+
+        // Act
+        reloj.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Assert
+        assertEquals(0L, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    void refund_DeberiaDevolverElTokenSinSuperarLaRafaga() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire();
+        }
+
+        // Act
+        bucket.refund();
+
+        // Assert
+        assertEquals(0L, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+}
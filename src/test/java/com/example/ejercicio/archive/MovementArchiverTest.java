@@ -0,0 +1,138 @@
+package com.example.ejercicio.archive;
+
+import com.example.ejercicio.dto.MovimientoResponseDTO;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.service.CuentaService;
+import com.example.ejercicio.service.MovimientoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "app.archive.enabled=true"
+})
+@ActiveProfiles("embedded")
+class MovementArchiverTest {
+
+    private static final LocalDateTime FEBRERO = LocalDateTime.of(2024, 2, 10, 9, 0);
+
+    @TempDir
+    static Path directorio;
+
+    @DynamicPropertySource
+    static void archivo(DynamicPropertyRegistry registry) {
+        registry.add("app.archive.directory", () -> directorio.toString());
+    }
+
+    @Autowired
+    private MovementArchiver archiver;
+
+    @Autowired
+    private MovementArchive archive;
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long cuentaId;
+
+    @BeforeEach
+    void setUp() {
+        cuentaId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM cuentas", Long.class);
+        if (archive.archivedMonths().isEmpty()) {
+            for (int dia = 0; dia < 3; dia++) {
+                jdbcTemplate.update("INSERT INTO movimientos (fecha, tipo_movimiento, valor, saldo, descripcion, fecha_creacion, cuenta_id) " +
+                                "VALUES (?, 1, 10.00, ?, 'Histórico', ?, ?)",
+                        Timestamp.valueOf(FEBRERO.plusDays(dia)), BigDecimal.valueOf(10 * (dia + 1)),
+                        Timestamp.valueOf(FEBRERO.plusDays(dia)), cuentaId);
+            }
+            archiver.archiveBefore(YearMonth.of(2024, 3));
+        }
+    }
+
+    @Test
+    void archiveBefore_DeberiaSacarElMesDeLaTablaViva() {
+        // Assert
+        assertEquals(List.of(YearMonth.of(2024, 2)), archive.archivedMonths());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimientos WHERE fecha < ?", Integer.class,
+                Timestamp.valueOf(LocalDateTime.of(2024, 3, 1, 0, 0))));
+    }
+
+    @Test
+    void getMovementsByAccountAndDateRange_DeberiaIncluirLosMovimientosArchivados() {
+        // Act
+        List<MovimientoResponseDTO> movimientos = movimientoService.getMovementsByAccountAndDateRange(cuentaId,
+                FEBRERO.minusDays(10), FEBRERO.plusDays(1));
+
+        // Assert
+        assertEquals(2, movimientos.size());
+        assertEquals(FEBRERO, movimientos.get(0).getFecha());
+        assertEquals(Money.valueOf("10.00"), movimientos.get(0).getValor());
+        assertNotNull(movimientos.get(0).getNumeroCuenta());
+        assertNotNull(movimientos.get(0).getClienteNombre());
+    }
+
+    @Test
+    void getMovementsByAccount_DeberiaListarPrimeroLosArchivadosYLuegoLosVivos() {
+        // Act
+        List<MovimientoResponseDTO> movimientos = movimientoService.getMovementsByAccount(cuentaId);
+
+        // Assert
+        assertEquals(FEBRERO, movimientos.get(0).getFecha());
+        assertEquals(3 + jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimientos WHERE cuenta_id = ?", Integer.class, cuentaId),
+                movimientos.size());
+        assertEquals(movimientos.size(), movimientoService.countMovementsByAccount(cuentaId));
+        assertEquals(movimientos.size(), cuentaService.countMovementsByAccount(cuentaId));
+    }
+
+    @Test
+    void countMovementsByAccount_DeberiaContarUnaVezLasFilasArchivadasQueSiguenVivas() {
+        // Arrange: an interrupted archival run leaves an archived row in the live table
+        ArchivedMovement archivado = archive.find(cuentaId, null, null).get(0);
+        jdbcTemplate.update("INSERT INTO movimientos (id, fecha, tipo_movimiento, valor, saldo, descripcion, fecha_creacion, cuenta_id) " +
+                        "VALUES (?, ?, 1, ?, ?, ?, ?, ?)", archivado.getId(), Timestamp.valueOf(archivado.getFecha()),
+                archivado.getValor().toBigDecimal(), archivado.getSaldo().toBigDecimal(), archivado.getDescripcion(),
+                Timestamp.valueOf(archivado.getFechaCreacion()), cuentaId);
+
+        try {
+            // Act
+            List<MovimientoResponseDTO> movimientos = movimientoService.getMovementsByAccount(cuentaId);
+
+            // Assert
+            assertEquals(movimientos.size(), movimientoService.countMovementsByAccount(cuentaId));
+            assertEquals(movimientos.size(), cuentaService.countMovementsByAccount(cuentaId));
+        } finally {
+            jdbcTemplate.update("DELETE FROM movimientos WHERE id = ?", archivado.getId());
+        }
+    }
+
+    @Test
+    void archiveBefore_DeberiaSerIdempotente() {
+        // Act
+        archiver.archiveBefore(YearMonth.of(2024, 3));
+
+        // Assert
+        assertEquals(3, archive.find(cuentaId, null, null).size());
+    }
+}
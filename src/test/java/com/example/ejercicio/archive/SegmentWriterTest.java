@@ -0,0 +1,89 @@
+package com.example.ejercicio.archive;
+
+import com.example.ejercicio.model.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentWriterTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 3, 1, 8, 30, 15, 123_456_000);
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void close_DeberiaEscribirUnSegmentoQueSeLeeIgual() throws IOException {
+        // Arrange
+        Path segmento = escribir(3, 10);
+
+        // Act
+        List<ArchivedMovement> leidos = new ArrayList<>();
+        SegmentReader.scan(segmento, SegmentReader.readIndex(segmento), null, Long.MIN_VALUE, Long.MAX_VALUE, leidos::add);
+
+        // Assert
+        assertEquals(30, leidos.size());
+        ArchivedMovement primero = leidos.get(0);
+        assertEquals(1L, primero.getId());
+        assertEquals(1L, primero.getCuentaId());
+        assertEquals(INICIO, primero.getFecha());
+        assertEquals("CREDITO", primero.getTipoMovimiento());
+        assertEquals(Money.valueOf("10.25"), primero.getValor());
+        assertEquals(Money.valueOf("110.25"), primero.getSaldo());
+        assertEquals("Depósito 0", primero.getDescripcion());
+        assertNull(leidos.get(1).getDescripcion());
+        assertEquals(Money.valueOf("-3.50"), leidos.get(1).getValor());
+    }
+
+    @Test
+    void scan_DeberiaLeerSoloLosBloquesDeLaCuentaYElRango() throws IOException {
+        // Arrange
+        Path segmento = escribir(20, 50);
+        List<SegmentFormat.BlockIndex> indice = SegmentReader.readIndex(segmento);
+
+        // Act
+        List<ArchivedMovement> leidos = new ArrayList<>();
+        SegmentReader.scan(segmento, indice, 7L, SegmentFormat.toMicros(INICIO.plusDays(10)),
+                SegmentFormat.toMicros(INICIO.plusDays(19)), leidos::add);
+
+        // Assert
+        assertEquals(10, leidos.size());
+        assertTrue(leidos.stream().allMatch(movimiento -> movimiento.getCuentaId() == 7L));
+        assertEquals(16, indice.size());
+        assertEquals(2, indice.stream().filter(bloque -> bloque.overlaps(7L, Long.MIN_VALUE, Long.MAX_VALUE)).count());
+    }
+
+    @Test
+    void close_DeberiaComprimirPorDebajoDelTamanioEnBruto() throws IOException {
+        // Act
+        Path segmento = escribir(100, 100);
+
+        // Assert: 10.000 filas de ocho columnas ocupan bastante menos de 8 bytes por columna
+        assertTrue(Files.size(segmento) < 10_000L * 8 * 8 / 4);
+    }
+
+    private Path escribir(int cuentas, int movimientosPorCuenta) throws IOException {
+        Path segmento = directorio.resolve(MovementArchive.segmentName(0, 9_999));
+        long id = 1;
+        try (SegmentWriter writer = new SegmentWriter(segmento, 64)) {
+            for (long cuenta = 1; cuenta <= cuentas; cuenta++) {
+                Money saldo = Money.valueOf("100.00");
+                for (int m = 0; m < movimientosPorCuenta; m++) {
+                    Money valor = m % 2 == 0 ? Money.valueOf("10.25") : Money.valueOf("-3.50");
+                    saldo = saldo.plus(valor);
+                    writer.append(id++, cuenta, INICIO.plusDays(m), valor.signum() > 0 ? "CREDITO" : "DEBITO", valor, saldo,
+                            m % 2 == 0 ? "Depósito " + (m % 3) : null, INICIO.plusDays(m));
+                }
+            }
+        }
+        return segmento;
+    }
+}
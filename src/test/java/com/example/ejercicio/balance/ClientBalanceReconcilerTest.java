@@ -0,0 +1,116 @@
+package com.example.ejercicio.balance;
+
+import com.example.ejercicio.dto.CuentaRequestDTO;
+import com.example.ejercicio.dto.MovimientoRequestDTO;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.service.CuentaService;
+import com.example.ejercicio.service.MovimientoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:saldoscliente;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("embedded")
+class ClientBalanceReconcilerTest {
+
+    private static final String ACTIVE_SUM = "SELECT COALESCE(SUM(saldo_actual), 0) FROM cuentas WHERE cliente_id = ? AND estado = TRUE";
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private ClientBalanceReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long clienteId;
+
+    @BeforeEach
+    void setUp() {
+        clienteId = jdbcTemplate.queryForObject("SELECT MIN(persona_id) FROM clientes", Long.class);
+    }
+
+    @Test
+    void getTotalBalanceByClient_DeberiaSeguirMovimientosYCambiosDeEstado() {
+        // Arrange
+        Long cuentaId = openAccount("9900000001", "100.00");
+
+        // Act
+        post(cuentaId, "50.00");
+        post(cuentaId, "-20.00");
+        cuentaService.changeAccountStatus(cuentaId);
+        Money inactiva = cuentaService.getTotalBalanceByClient(clienteId);
+        cuentaService.changeAccountStatus(cuentaId);
+
+        // Assert
+        assertEquals(sumOfActiveAccounts(), cuentaService.getTotalBalanceByClient(clienteId));
+        assertEquals(sumOfActiveAccounts().minus(Money.valueOf("130.00")), inactiva);
+        assertTrue(reconciler.reconcile(false).descuadrados().isEmpty());
+    }
+
+    @Test
+    void changeAccountStatus_DeberiaRestarElSaldoVigenteYNoElCacheado() {
+        // Arrange: the account is cached, then a batch job posts to it with JDBC, aggregate included
+        Long cuentaId = openAccount("9900000003", "100.00");
+        cuentaService.getAccountById(cuentaId);
+        jdbcTemplate.update("UPDATE cuentas SET saldo_actual = saldo_actual + 15 WHERE id = ?", cuentaId);
+        jdbcTemplate.update("UPDATE saldos_cliente SET saldo_total = saldo_total + 15 WHERE cliente_id = ?", clienteId);
+
+        // Act
+        cuentaService.changeAccountStatus(cuentaId);
+
+        // Assert
+        assertEquals(sumOfActiveAccounts(), cuentaService.getTotalBalanceByClient(clienteId));
+        assertTrue(reconciler.reconcile(false).descuadrados().isEmpty());
+    }
+
+    @Test
+    void reconcile_DeberiaDetectarYRepararDescuadres() {
+        // Arrange
+        openAccount("9900000002", "10.00");
+        jdbcTemplate.update("UPDATE saldos_cliente SET saldo_total = saldo_total + 1 WHERE cliente_id = ?", clienteId);
+
+        // Act
+        ClientBalanceReconciler.Reconciliation detectada = reconciler.reconcile(false);
+        ClientBalanceReconciler.Reconciliation reparada = reconciler.reconcile(true);
+
+        // Assert
+        assertEquals(List.of(clienteId), detectada.descuadrados());
+        assertEquals(1, reparada.reparados());
+        assertTrue(reconciler.reconcile(false).descuadrados().isEmpty());
+        assertEquals(sumOfActiveAccounts(), cuentaService.getTotalBalanceByClient(clienteId));
+    }
+
+    private Long openAccount(String numeroCuenta, String saldoInicial) {
+        CuentaRequestDTO cuenta = new CuentaRequestDTO();
+        cuenta.setNumeroCuenta(numeroCuenta);
+        cuenta.setTipoCuenta("AHORRO");
+        cuenta.setSaldoInicial(Money.valueOf(saldoInicial));
+        cuenta.setClienteId(clienteId);
+        return cuentaService.createAccount(cuenta).getId();
+    }
+
+    private void post(Long cuentaId, String valor) {
+        MovimientoRequestDTO movimiento = new MovimientoRequestDTO();
+        movimiento.setCuentaId(cuentaId);
+        movimiento.setValor(Money.valueOf(valor));
+        movimiento.setDescripcion("Prueba de saldo total");
+        movimientoService.createMovement(movimiento);
+    }
+
+    private Money sumOfActiveAccounts() {
+        return Money.of(jdbcTemplate.queryForObject(ACTIVE_SUM, BigDecimal.class, clienteId));
+    }
+}
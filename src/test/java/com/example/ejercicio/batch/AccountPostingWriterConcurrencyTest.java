@@ -0,0 +1,118 @@
+package com.example.ejercicio.batch;
+
+import com.example.ejercicio.balance.ClientBalanceReconciler;
+import com.example.ejercicio.dto.ClienteRequestDTO;
+import com.example.ejercicio.dto.CuentaRequestDTO;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.model.TipoMovimiento;
+import com.example.ejercicio.service.ClienteService;
+import com.example.ejercicio.service.CuentaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:lotes-concurrencia;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@ActiveProfiles("embedded")
+class AccountPostingWriterConcurrencyTest {
+
+    private static final int RONDAS = 20;
+    private static final long COLISION = 16;
+
+    @Autowired
+    private AccountPostingWriter writer;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private ClientBalanceReconciler clientBalances;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void write_NoDeberiaBloquearseConRangosQueCompartenClientes() {
+        // Arrange: each range holds one account of each client and posts them in opposite client order.
+        // The client ids fall in the same bucket of a default HashMap, which then keeps that order
+        long clienteA = jdbcTemplate.queryForObject("SELECT MIN(persona_id) FROM clientes", Long.class);
+        long clienteB = openClientWithIdLike(clienteA + COLISION);
+        long[] rangoUno = {openAccount("9800000001", clienteB), openAccount("9800000002", clienteA)};
+        long[] rangoDos = {openAccount("9800000003", clienteA), openAccount("9800000004", clienteB)};
+        long[] titulares = {clienteB, clienteA, clienteA, clienteB};
+
+        // Act
+        for (int ronda = 0; ronda < RONDAS; ronda++) {
+            CyclicBarrier salida = new CyclicBarrier(2);
+            CompletableFuture<Void> uno = CompletableFuture.runAsync(() -> post(salida, rangoUno, titulares[0], titulares[1]));
+            CompletableFuture<Void> dos = CompletableFuture.runAsync(() -> post(salida, rangoDos, titulares[2], titulares[3]));
+            assertDoesNotThrow(() -> CompletableFuture.allOf(uno, dos).join());
+        }
+
+        // Assert
+        assertTrue(clientBalances.reconcile(false).descuadrados().isEmpty());
+    }
+
+    private void post(CyclicBarrier salida, long[] cuentas, long titularPrimera, long titularSegunda) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> bloqueadas = jdbcTemplate.queryForList("SELECT id FROM cuentas WHERE id IN (?, ?) ORDER BY id FOR UPDATE",
+                    Long.class, cuentas[0], cuentas[1]);
+            assertEquals(2, bloqueadas.size());
+            try {
+                salida.await();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            writer.write(List.of(posting(cuentas[0], titularPrimera), posting(cuentas[1], titularSegunda)), LocalDateTime.now());
+        });
+    }
+
+    private AccountPostingWriter.Posting posting(long cuentaId, long clienteId) {
+        Money valor = Money.valueOf("1.00");
+        Money saldo = Money.of(jdbcTemplate.queryForObject("SELECT saldo_actual FROM cuentas WHERE id = ?", BigDecimal.class, cuentaId)).plus(valor);
+        return new AccountPostingWriter.Posting(cuentaId, clienteId, TipoMovimiento.CREDITO, valor, saldo, "Prueba de rangos concurrentes");
+    }
+
+    private long openClientWithIdLike(long clienteId) {
+        for (int i = 1; ; i++) {
+            ClienteRequestDTO cliente = new ClienteRequestDTO();
+            cliente.setNombre("Cliente Lotes " + i);
+            cliente.setGenero("FEMENINO");
+            cliente.setEdad(30);
+            cliente.setIdentificacion("LOTES-" + i);
+            cliente.setDireccion("Calle Lotes " + i);
+            cliente.setTelefono("555-1000");
+            cliente.setClienteId("LOTES" + i);
+            cliente.setContrasena("secreto123");
+            long id = clienteService.createClient(cliente).getId();
+            if (id % COLISION == clienteId % COLISION && id >= clienteId) {
+                return id;
+            }
+        }
+    }
+
+    private long openAccount(String numeroCuenta, long clienteId) {
+        CuentaRequestDTO cuenta = new CuentaRequestDTO();
+        cuenta.setNumeroCuenta(numeroCuenta);
+        cuenta.setTipoCuenta("AHORRO");
+        cuenta.setSaldoInicial(Money.valueOf("10.00"));
+        cuenta.setClienteId(clienteId);
+        return cuentaService.createAccount(cuenta).getId();
+    }
+}
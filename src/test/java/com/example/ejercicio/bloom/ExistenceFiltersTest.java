@@ -0,0 +1,104 @@
+package com.example.ejercicio.bloom;
+
+import com.example.ejercicio.dto.ClienteRequestDTO;
+import com.example.ejercicio.dto.CuentaRequestDTO;
+import com.example.ejercicio.exception.DuplicateResourceException;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.service.ClienteService;
+import com.example.ejercicio.service.CuentaService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bloom;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("embedded")
+class ExistenceFiltersTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ExistenceFilters existenceFilters;
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void existsClientByClienteId_DeberiaDescartarSinConsultarYReconocerClientesNuevos() {
+        // Arrange
+        double ausentes = lookups("ausente");
+        ClienteRequestDTO cliente = new ClienteRequestDTO();
+        cliente.setNombre("Cliente Bloom");
+        cliente.setGenero("FEMENINO");
+        cliente.setEdad(40);
+        cliente.setIdentificacion("BLOOM-0001");
+        cliente.setDireccion("Calle Bloom 1");
+        cliente.setTelefono("555-0001");
+        cliente.setClienteId("BLOOM01");
+        cliente.setContrasena("secreto123");
+        cliente.setEstado(true);
+
+        // Act
+        boolean antes = clienteService.existsClientByClienteId("BLOOM01");
+        clienteService.createClient(cliente);
+        boolean despues = clienteService.existsClientByClienteId("BLOOM01");
+
+        // Assert
+        assertTrue(existenceFilters.clienteIds().isBuilt());
+        assertFalse(antes);
+        assertTrue(despues);
+        assertTrue(clienteService.existsClientByIdentification("BLOOM-0001"));
+        assertTrue(lookups("ausente") > ausentes);
+    }
+
+    @Test
+    void createAccount_DeberiaTraducirLaRestriccionUnicaADuplicado() {
+        // Arrange
+        Map<String, Object> existente = jdbcTemplate.queryForMap("SELECT MIN(numero_cuenta) AS numero, MIN(cliente_id) AS cliente FROM cuentas");
+        CuentaRequestDTO cuenta = new CuentaRequestDTO();
+        cuenta.setNumeroCuenta((String) existente.get("numero"));
+        cuenta.setTipoCuenta("AHORRO");
+        cuenta.setSaldoInicial(Money.valueOf("10.00"));
+        cuenta.setClienteId(((Number) existente.get("cliente")).longValue());
+
+        // Act & Assert
+        DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () -> cuentaService.createAccount(cuenta));
+        assertEquals("Ya existe una cuenta con el número: " + existente.get("numero"), exception.getMessage());
+    }
+
+    @Test
+    void rebuild_NoDeberiaDarFalsosNegativosYRespetarLaTasaObjetivo() {
+        // Arrange
+        KeyFilter filter = new KeyFilter("prueba", new SimpleMeterRegistry());
+        int keys = 20_000;
+
+        // Act
+        filter.rebuild(keys, 0.01, sink -> IntStream.range(0, keys).forEach(i -> sink.accept("CLAVE-" + i)));
+        long falsosNegativos = IntStream.range(0, keys).filter(i -> !filter.exists("CLAVE-" + i, key -> true)).count();
+        long falsosPositivos = IntStream.range(0, keys).filter(i -> filter.exists("OTRA-" + i, key -> true)).count();
+
+        // Assert
+        assertEquals(0, falsosNegativos);
+        assertTrue(falsosPositivos < keys * 0.02, "Falsos positivos: " + falsosPositivos);
+        assertTrue(filter.expectedFpp() < 0.02);
+    }
+
+    private double lookups(String resultado) {
+        return meterRegistry.get("filtros.bloom.consultas").tag("filtro", "cliente-id").tag("resultado", resultado).counter().count();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.ejercicio.cache;
+
+import com.example.ejercicio.dto.MovimientoRequestDTO;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.service.ClienteService;
+import com.example.ejercicio.service.CuentaService;
+import com.example.ejercicio.service.MovimientoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("embedded")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void lecturasRepetidas_DeberianResolverseDesdeLaCache() {
+        // Arrange
+        Map<String, Object> cuenta = jdbcTemplate.queryForMap("SELECT MIN(numero_cuenta) AS numero, MIN(cliente_id) AS cliente FROM cuentas");
+        String numeroCuenta = (String) cuenta.get("numero");
+        Long clienteId = ((Number) cuenta.get("cliente")).longValue();
+        String codigoCliente = jdbcTemplate.queryForObject("SELECT clienteid FROM clientes WHERE persona_id = ?", String.class, clienteId);
+        cuentaService.getAccountByNumber(numeroCuenta);
+        cuentaService.getAccountsByClient(clienteId);
+        clienteService.getClientByClienteId(codigoCliente);
+        double clientes = hits(SecondLevelCacheConfig.CLIENTES_REGION);
+        double clientesPorCodigo = hits(SecondLevelCacheConfig.CLIENTES_NATURAL_ID_REGION);
+        double cuentasPorNumero = hits(SecondLevelCacheConfig.CUENTAS_NATURAL_ID_REGION);
+
+        // Act
+        cuentaService.getAccountByNumber(numeroCuenta);
+        cuentaService.getAccountsByClient(clienteId);
+        clienteService.getClientByClienteId(codigoCliente);
+
+        // Assert
+        assertTrue(hits(SecondLevelCacheConfig.CLIENTES_REGION) > clientes);
+        assertTrue(hits(SecondLevelCacheConfig.CLIENTES_NATURAL_ID_REGION) > clientesPorCodigo);
+        assertTrue(hits(SecondLevelCacheConfig.CUENTAS_NATURAL_ID_REGION) > cuentasPorNumero);
+        assertEquals(codigoCliente, clienteService.getClientByClienteId(codigoCliente).getClienteId());
+    }
+
+    @Test
+    void saldoCacheado_DeberiaReflejarLosMovimientos() {
+        // Arrange
+        Long cuentaId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM cuentas WHERE estado = TRUE", Long.class);
+        Money saldoInicial = cuentaService.getAccountBalance(cuentaId);
+        MovimientoRequestDTO movimiento = new MovimientoRequestDTO();
+        movimiento.setCuentaId(cuentaId);
+        movimiento.setValor(Money.valueOf("25.00"));
+        movimiento.setDescripcion("Prueba de caché");
+
+        // Act
+        movimientoService.createMovement(movimiento);
+
+        // Assert
+        assertEquals(saldoInicial.plus(Money.valueOf("25.00")), cuentaService.getAccountBalance(cuentaId));
+    }
+
+    @Test
+    void saldoEscritoFueraDeHibernate_NoDeberiaPerderseAlModificarLaCuenta() {
+        // Arrange: the account is cached, then a batch job posts to it with JDBC
+        Long cuentaId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cuentas WHERE estado = TRUE", Long.class);
+        cuentaService.getAccountById(cuentaId);
+        jdbcTemplate.update("UPDATE cuentas SET saldo_actual = saldo_actual + 10 WHERE id = ?", cuentaId);
+        Money saldoVigente = Money.of(jdbcTemplate.queryForObject("SELECT saldo_actual FROM cuentas WHERE id = ?", BigDecimal.class, cuentaId));
+
+        // Act
+        cuentaService.changeAccountStatus(cuentaId);
+        cuentaService.changeAccountStatus(cuentaId);
+
+        // Assert
+        assertEquals(saldoVigente, Money.of(jdbcTemplate.queryForObject("SELECT saldo_actual FROM cuentas WHERE id = ?", BigDecimal.class, cuentaId)));
+        assertEquals(saldoVigente, cuentaService.getAccountById(cuentaId).getSaldoActual());
+        assertEquals(saldoVigente, cuentaService.getAccountBalance(cuentaId));
+    }
+
+    private double hits(String region) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit").functionCounter().count();
+    }
+}
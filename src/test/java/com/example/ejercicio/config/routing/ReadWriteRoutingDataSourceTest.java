@@ -0,0 +1,75 @@
+package com.example.ejercicio.config.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private PrimaryPinRegistry pinRegistry;
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        pinRegistry = new PrimaryPinRegistry(Duration.ofMinutes(1));
+        routingDataSource = new ReadWriteRoutingDataSource(pinRegistry);
+        PrimaryPinRegistry.setCurrentCaller("cliente-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        PrimaryPinRegistry.clearCurrentCaller();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void determineCurrentLookupKey_DeberiaUsarPrimarioSinTransaccion() {
+        // Act & Assert
+        assertEquals(DataSourceRoute.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_DeberiaUsarReplicaEnTransaccionDeSoloLectura() {
+        // Arrange
+        iniciarTransaccion(true);
+
+        // Act & Assert
+        assertEquals(DataSourceRoute.REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void determineCurrentLookupKey_DeberiaFijarAlPrimarioTrasUnaEscrituraConfirmada() {
+        // Arrange
+        iniciarTransaccion(false);
+        assertEquals(DataSourceRoute.PRIMARY, routingDataSource.determineCurrentLookupKey());
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Act
+        iniciarTransaccion(true);
+
+        // Assert
+        assertEquals(DataSourceRoute.PRIMARY, routingDataSource.determineCurrentLookupKey());
+        PrimaryPinRegistry.setCurrentCaller("cliente-2");
+        assertEquals(DataSourceRoute.REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+
+    private void iniciarTransaccion(boolean soloLectura) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(soloLectura);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.ejercicio.config.routing;
+
+import com.example.ejercicio.service.MovimientoService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two H2 databases: the primary gets the sample data, the replica only the schema, so a read
+ * answered from the replica comes back empty.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingIntegrationTest.PRIMARY_URL,
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=" + ReadWriteRoutingIntegrationTest.REPLICA_URL,
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.replica.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class ReadWriteRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:primario-rw;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-rw;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    private static final String COUNT_MOVIMIENTOS = "SELECT COUNT(*) FROM movimientos";
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void createReplicaSchema() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/embedded/schema.sql"))
+                .execute(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+
+    @Test
+    void getAllMovements_DeberiaLeerseDeLaReplica() {
+        // Act
+        int enReplica = movimientoService.getAllMovements().size();
+        Integer enPrimario = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(COUNT_MOVIMIENTOS, Integer.class));
+
+        // Assert
+        assertEquals(0, enReplica);
+        assertTrue(enPrimario > 0);
+    }
+
+    @Test
+    void getMovimientos_DeberiaElegirLaReplicaPorTransaccionYNoPorPeticion() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/movimientos"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ejercicio.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.ejercicio.support.SqlResultMatchers.noStatementRepeatedMoreThan;
+import static com.example.ejercicio.support.SqlResultMatchers.statementsAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class MovimientoControllerSqlTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getMovementsByAccount_DeberiaResolverseEnUnMaximoDeDosSentencias() throws Exception {
+        mockMvc.perform(get("/movimientos/cuenta/{cuentaId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2));
+    }
+
+    @Test
+    void getMovementsByAccountPaginated_DeberiaResolverseEnUnMaximoDeDosSentencias() throws Exception {
+        mockMvc.perform(get("/movimientos/cuenta/{cuentaId}/paginados", 1L).param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2));
+    }
+
+    @Test
+    void getAllMovements_NoDeberiaRepetirSentenciasPorCadaMovimiento() throws Exception {
+        mockMvc.perform(get("/movimientos"))
+                .andExpect(status().isOk())
+                .andExpect(noStatementRepeatedMoreThan(1));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ejercicio.datagen;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:datagen;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("embedded")
+class SyntheticDataGeneratorTest {
+
+    private static final String GENERATED_ACCOUNTS = "SELECT c.id FROM cuentas c JOIN clientes cl ON cl.persona_id = c.cliente_id " +
+            "WHERE cl.clienteid LIKE 'GEN%'";
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generate_DeberiaInsertarElVolumenSolicitadoConCadenasDeSaldoConsistentes() {
+        // Arrange
+        Integer clientesAntes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clientes WHERE clienteid LIKE 'GEN%'", Integer.class);
+        Integer cuentasAntes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + GENERATED_ACCOUNTS + ") g", Integer.class);
+
+        // Act
+        generator.generate(12, 2, 5);
+
+        // Assert
+        assertEquals(clientesAntes + 12, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clientes WHERE clienteid LIKE 'GEN%'", Integer.class));
+        assertEquals(cuentasAntes + 24, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + GENERATED_ACCOUNTS + ") g", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cuentas c WHERE c.id IN (" + GENERATED_ACCOUNTS + ") " +
+                        "AND c.saldo_actual <> c.saldo_inicial + (SELECT COALESCE(SUM(m.valor), 0) FROM movimientos m WHERE m.cuenta_id = c.id)",
+                Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM movimientos m WHERE m.cuenta_id IN (" + GENERATED_ACCOUNTS + ") AND m.saldo < 0", Integer.class));
+    }
+
+    @Test
+    void generate_DeberiaContinuarLaNumeracionEnEjecucionesSucesivas() {
+        // Act
+        generator.generate(3, 1, 1);
+        generator.generate(3, 1, 1);
+
+        // Assert
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT clienteid FROM clientes GROUP BY clienteid HAVING COUNT(*) > 1) d", Integer.class));
+    }
+}
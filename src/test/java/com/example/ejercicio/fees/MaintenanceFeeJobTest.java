@@ -0,0 +1,72 @@
+package com.example.ejercicio.fees;
+
+import com.example.ejercicio.balance.ClientBalanceReconciler;
+import com.example.ejercicio.batch.AccountPartitionRunner;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.service.CuentaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:comisiones;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "app.fees.schedules.CORRIENTE=5.00",
+        "app.fees.schedules.AHORRO=2500.00",
+        "app.fees.partition-size=2",
+        "app.fees.threads=3"
+})
+@ActiveProfiles("embedded")
+class MaintenanceFeeJobTest {
+
+    private static final String CUBIERTAS = "SELECT COUNT(*) FROM cuentas WHERE estado = TRUE AND " +
+            "((tipo_cuenta = 2 AND saldo_actual >= 5.00) OR (tipo_cuenta = 1 AND saldo_actual >= 2500.00))";
+    private static final String DESCUBIERTAS = "SELECT COUNT(*) FROM cuentas WHERE estado = TRUE AND " +
+            "((tipo_cuenta = 2 AND saldo_actual < 5.00) OR (tipo_cuenta = 1 AND saldo_actual < 2500.00))";
+    private static final String CORRIENTE_ACTIVA = "SELECT MIN(id) FROM cuentas WHERE tipo_cuenta = 2 AND estado = TRUE AND saldo_actual >= 5.00";
+
+    @Autowired
+    private MaintenanceFeeJob job;
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private ClientBalanceReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void charge_DeberiaCobrarUnaSolaVezPorPeriodoYDejarPendientesSinSaldo() {
+        // Arrange
+        YearMonth periodo = YearMonth.of(2026, 1);
+        int cubiertas = jdbcTemplate.queryForObject(CUBIERTAS, Integer.class);
+        int descubiertas = jdbcTemplate.queryForObject(DESCUBIERTAS, Integer.class);
+        Long cuentaId = jdbcTemplate.queryForObject(CORRIENTE_ACTIVA, Long.class);
+        Money saldoInicial = cuentaService.getAccountBalance(cuentaId);
+
+        // Act
+        AccountPartitionRunner.Result primera = job.charge(periodo);
+        AccountPartitionRunner.Result segunda = job.charge(periodo);
+
+        // Assert
+        assertTrue(primera.particiones() > 1);
+        assertEquals(0, primera.fallidas());
+        assertEquals(cubiertas, primera.cuentas());
+        assertEquals(0, segunda.particiones());
+        assertEquals(primera.particiones(), segunda.omitidas());
+        assertEquals(saldoInicial.minus(Money.valueOf("5.00")), cuentaService.getAccountBalance(cuentaId));
+        assertEquals(cubiertas, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM movimientos WHERE descripcion = ?", Integer.class, MaintenanceFeeJob.DESCRIPTION + periodo));
+        Map<String, Object> pendientes = job.pending(periodo);
+        assertEquals(descubiertas, ((Number) pendientes.get("cuentas")).intValue());
+        assertTrue(reconciler.reconcile(false).descuadrados().isEmpty());
+    }
+}
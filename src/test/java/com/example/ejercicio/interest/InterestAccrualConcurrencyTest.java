@@ -0,0 +1,102 @@
+package com.example.ejercicio.interest;
+
+import com.example.ejercicio.balance.ClientBalanceReconciler;
+import com.example.ejercicio.batch.AccountPostingWriter;
+import com.example.ejercicio.ledger.LedgerReconciler;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.service.CuentaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:intereses-concurrencia;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "app.admission.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class InterestAccrualConcurrencyTest {
+
+    private static final String AHORRO_ACTIVA = "SELECT MIN(id) FROM cuentas WHERE tipo_cuenta = 1 AND estado = TRUE AND saldo_actual > 0";
+
+    @SpyBean
+    private AccountPostingWriter writer;
+
+    @Autowired
+    private InterestAccrualJob job;
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private LedgerReconciler ledger;
+
+    @Autowired
+    private ClientBalanceReconciler clientBalances;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void createMovement_NoDeberiaPisarElInteresAbonadoConcurrentemente() throws Exception {
+        // Arrange
+        Long cuentaId = jdbcTemplate.queryForObject(AHORRO_ACTIVA, Long.class);
+        Money saldoInicial = cuentaService.getAccountBalance(cuentaId);
+        String deposito = "{\"cuentaId\":" + cuentaId + ",\"valor\":1.00,\"descripcion\":\"Depósito concurrente\"}";
+        CountDownLatch abonado = new CountDownLatch(1);
+        // The job writes while holding the account row; keep that transaction open while the deposit arrives
+        doAnswer(invocation -> {
+            Object result = invocation.callRealMethod();
+            List<AccountPostingWriter.Posting> postings = invocation.getArgument(0);
+            if (postings.stream().anyMatch(posting -> posting.cuentaId() == cuentaId)) {
+                abonado.countDown();
+                Thread.sleep(500);
+            }
+            return result;
+        }).when(AopTestUtils.<AccountPostingWriter>getUltimateTargetObject(writer)).write(any(), any());
+
+        // Act
+        CompletableFuture<Void> deposito1 = CompletableFuture.runAsync(() -> {
+            try {
+                assertTrue(abonado.await(30, TimeUnit.SECONDS));
+                mockMvc.perform(post("/movimientos").contentType(MediaType.APPLICATION_JSON).content(deposito))
+                        .andExpect(status().isCreated());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        job.accrue(LocalDate.of(2026, 3, 1));
+        deposito1.join();
+
+        // Assert
+        BigDecimal interes = jdbcTemplate.queryForObject(
+                "SELECT valor FROM movimientos WHERE cuenta_id = ? AND descripcion = 'Interés diario 2026-03-01'",
+                BigDecimal.class, cuentaId);
+        assertEquals(saldoInicial.plus(Money.of(interes)).plus(Money.valueOf("1.00")), cuentaService.getAccountBalance(cuentaId));
+        assertEquals(0, ledger.reconcile().descuadres());
+        assertTrue(clientBalances.reconcile(false).descuadrados().isEmpty());
+    }
+}
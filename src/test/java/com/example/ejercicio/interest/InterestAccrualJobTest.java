@@ -0,0 +1,78 @@
+package com.example.ejercicio.interest;
+
+import com.example.ejercicio.balance.ClientBalanceReconciler;
+import com.example.ejercicio.batch.AccountPartitionRunner;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.service.CuentaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:intereses;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "app.interest.partition-size=2",
+        "app.interest.threads=3"
+})
+@ActiveProfiles("embedded")
+class InterestAccrualJobTest {
+
+    private static final String AHORRO_ACTIVA = "SELECT MIN(id) FROM cuentas WHERE tipo_cuenta = 1 AND estado = TRUE AND saldo_actual > 0";
+
+    @Autowired
+    private InterestAccrualJob job;
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private ClientBalanceReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void dailyInterest_DeberiaRedondearAlCentimoHalfEven() {
+        // Arrange
+        BigDecimal tasa = new BigDecimal("0.0365");
+
+        // Act & Assert
+        // 0.0365 / 365 es 0.0001 por día: 100000 céntimos -> 10
+        assertEquals(Money.valueOf("0.10"), InterestAccrualJob.dailyInterest(Money.valueOf("1000.00"), tasa, 365));
+        // 1500 céntimos -> 0.15 -> 0
+        assertEquals(Money.ZERO, InterestAccrualJob.dailyInterest(Money.valueOf("15.00"), tasa, 365));
+        // 5000 céntimos -> 0.5 -> 0 (par); 15000 -> 1.5 -> 2 (par)
+        assertEquals(Money.ZERO, InterestAccrualJob.dailyInterest(Money.valueOf("50.00"), tasa, 365));
+        assertEquals(Money.ofCents(2), InterestAccrualJob.dailyInterest(Money.valueOf("150.00"), tasa, 365));
+    }
+
+    @Test
+    void accrue_DeberiaAbonarUnaSolaVezPorDia() {
+        // Arrange
+        Long cuentaId = jdbcTemplate.queryForObject(AHORRO_ACTIVA, Long.class);
+        Money saldoInicial = cuentaService.getAccountBalance(cuentaId);
+        LocalDate fecha = LocalDate.of(2026, 1, 15);
+
+        // Act
+        AccountPartitionRunner.Result primera = job.accrue(fecha);
+        AccountPartitionRunner.Result segunda = job.accrue(fecha);
+
+        // Assert
+        Money interes = InterestAccrualJob.dailyInterest(saldoInicial, new BigDecimal("0.015"), 365);
+        assertTrue(primera.particiones() > 1);
+        assertEquals(0, primera.fallidas());
+        assertTrue(primera.cuentas() > 0);
+        assertEquals(0, segunda.particiones());
+        assertEquals(primera.particiones(), segunda.omitidas());
+        assertEquals(saldoInicial.plus(interes), cuentaService.getAccountBalance(cuentaId));
+        assertEquals(primera.cuentas(), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM movimientos WHERE descripcion = ?", Integer.class, "Interés diario " + fecha));
+        assertTrue(reconciler.reconcile(false).descuadrados().isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.ejercicio.ledger;
+
+import com.example.ejercicio.archive.MovementArchiver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:libro-archivo;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "app.archive.enabled=true"
+})
+@ActiveProfiles("embedded")
+class LedgerReconcilerArchiveTest {
+
+    private static final LocalDateTime ENERO = LocalDateTime.of(2024, 1, 15, 9, 0);
+    private static final LocalDateTime FEBRERO = LocalDateTime.of(2024, 2, 10, 9, 0);
+
+    @TempDir
+    static Path directorio;
+
+    @DynamicPropertySource
+    static void archivo(DynamicPropertyRegistry registry) {
+        registry.add("app.archive.directory", () -> directorio.toString());
+    }
+
+    @Autowired
+    private LedgerReconciler reconciler;
+
+    @Autowired
+    private MovementArchiver archiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reconcile_DeberiaAnclarEnElUltimoSaldoArchivadoSiNoQuedanMovimientosVivos() {
+        // Arrange
+        // Una cuenta sin movimientos vivos: los tres de febrero de 2024 quedan todos en el archivo
+        Long cuentaId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM cuentas", Long.class);
+        BigDecimal saldoInicial = jdbcTemplate.queryForObject("SELECT saldo_inicial FROM cuentas WHERE id = ?", BigDecimal.class, cuentaId);
+        jdbcTemplate.update("DELETE FROM movimientos WHERE cuenta_id = ?", cuentaId);
+        BigDecimal saldo = saldoInicial;
+        for (int dia = 0; dia < 3; dia++) {
+            saldo = saldo.add(BigDecimal.TEN);
+            jdbcTemplate.update("INSERT INTO movimientos (fecha, tipo_movimiento, valor, saldo, descripcion, fecha_creacion, cuenta_id) " +
+                            "VALUES (?, 1, 10.00, ?, 'Histórico', ?, ?)",
+                    Timestamp.valueOf(FEBRERO.plusDays(dia)), saldo, Timestamp.valueOf(FEBRERO.plusDays(dia)), cuentaId);
+        }
+        jdbcTemplate.update("UPDATE cuentas SET saldo_actual = ? WHERE id = ?", saldo, cuentaId);
+        archiver.archiveBefore(YearMonth.of(2024, 3));
+
+        // Act
+        LedgerReconciler.Reconciliation cuadrada = reconciler.reconcile();
+        jdbcTemplate.update("UPDATE cuentas SET saldo_actual = saldo_actual + 1 WHERE id = ?", cuentaId);
+        LedgerReconciler.Reconciliation descuadrada = reconciler.reconcile();
+
+        // Assert
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimientos WHERE cuenta_id = ?", Integer.class, cuentaId));
+        assertEquals(0, cuadrada.descuadres());
+        assertEquals(1, descuadrada.descuadres());
+        List<Map<String, Object>> detalle = reconciler.discrepancies(descuadrada.id(), 10);
+        assertEquals("CUENTA", detalle.get(0).get("tipo"));
+        assertEquals(0, saldo.compareTo((BigDecimal) detalle.get(0).get("esperado")));
+    }
+
+    @Test
+    void reconcile_DeberiaAnclarSoloLasCuentasConMovimientosArchivados() {
+        // Arrange
+        // Una cuenta con un movimiento de enero de 2024 archivado, que además sigue vivo como tras un archivado
+        // interrumpido, y otro posterior; y una cuenta sin archivo cuyo primer movimiento rompe la cadena
+        List<Long> cuentas = jdbcTemplate.queryForList("SELECT id FROM cuentas ORDER BY id DESC LIMIT 2", Long.class);
+        Long archivada = cuentas.get(0);
+        Long viva = cuentas.get(1);
+        jdbcTemplate.update("DELETE FROM movimientos WHERE cuenta_id IN (?, ?)", archivada, viva);
+        BigDecimal saldoArchivado = saldoInicial(archivada).add(BigDecimal.TEN);
+        insertMovement(archivada, ENERO, BigDecimal.TEN, saldoArchivado);
+        Map<String, Object> duplicado = jdbcTemplate.queryForMap("SELECT * FROM movimientos WHERE cuenta_id = ?", archivada);
+        archiver.archiveBefore(YearMonth.of(2024, 2));
+        jdbcTemplate.update("INSERT INTO movimientos (id, fecha, tipo_movimiento, valor, saldo, descripcion, fecha_creacion, cuenta_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", duplicado.get("id"), duplicado.get("fecha"), duplicado.get("tipo_movimiento"),
+                duplicado.get("valor"), duplicado.get("saldo"), duplicado.get("descripcion"), duplicado.get("fecha_creacion"), archivada);
+        insertMovement(archivada, LocalDateTime.now(), BigDecimal.ONE, saldoArchivado.add(BigDecimal.ONE));
+        jdbcTemplate.update("UPDATE cuentas SET saldo_actual = ? WHERE id = ?", saldoArchivado.add(BigDecimal.ONE), archivada);
+        BigDecimal roto = saldoInicial(viva).add(BigDecimal.TEN).add(BigDecimal.ONE);
+        insertMovement(viva, LocalDateTime.now(), BigDecimal.TEN, roto);
+        jdbcTemplate.update("UPDATE cuentas SET saldo_actual = ? WHERE id = ?", roto, viva);
+
+        // Act
+        LedgerReconciler.Reconciliation conciliacion = reconciler.reconcile();
+        List<Map<String, Object>> detalle = reconciler.discrepancies(conciliacion.id(), 100);
+        jdbcTemplate.update("DELETE FROM movimientos WHERE cuenta_id = ?", viva);
+        jdbcTemplate.update("UPDATE cuentas SET saldo_actual = saldo_inicial WHERE id = ?", viva);
+
+        // Assert
+        assertTrue(detalle.stream().noneMatch(descuadre -> archivada.equals(((Number) descuadre.get("cuenta_id")).longValue())));
+        List<Object> tiposViva = detalle.stream()
+                .filter(descuadre -> viva.equals(((Number) descuadre.get("cuenta_id")).longValue()))
+                .map(descuadre -> descuadre.get("tipo"))
+                .toList();
+        assertEquals(List.of("MOVIMIENTO", "CUENTA"), tiposViva);
+    }
+
+    private BigDecimal saldoInicial(Long cuentaId) {
+        return jdbcTemplate.queryForObject("SELECT saldo_inicial FROM cuentas WHERE id = ?", BigDecimal.class, cuentaId);
+    }
+
+    private void insertMovement(Long cuentaId, LocalDateTime fecha, BigDecimal valor, BigDecimal saldo) {
+        jdbcTemplate.update("INSERT INTO movimientos (fecha, tipo_movimiento, valor, saldo, descripcion, fecha_creacion, cuenta_id) " +
+                "VALUES (?, 1, ?, ?, 'Histórico', ?, ?)", Timestamp.valueOf(fecha), valor, saldo, Timestamp.valueOf(fecha), cuentaId);
+    }
+}
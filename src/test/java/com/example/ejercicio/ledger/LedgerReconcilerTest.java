@@ -0,0 +1,59 @@
+package com.example.ejercicio.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:libro;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "app.archive.directory=target/libro-sin-archivo",
+        "app.ledger.partition-size=2",
+        "app.ledger.threads=3"
+})
+@ActiveProfiles("embedded")
+class LedgerReconcilerTest {
+
+    private static final String PRIMER_MOVIMIENTO = "SELECT MIN(id) FROM movimientos WHERE cuenta_id = ?";
+    private static final String CUENTA_CON_MOVIMIENTOS = "SELECT cuenta_id FROM movimientos GROUP BY cuenta_id HAVING COUNT(*) > 1 ORDER BY cuenta_id LIMIT 1";
+
+    @Autowired
+    private LedgerReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reconcile_DeberiaRegistrarCadaEslabonRotoUnaSolaVez() {
+        // Arrange
+        LedgerReconciler.Reconciliation limpia = reconciler.reconcile();
+        Long cuentaId = jdbcTemplate.queryForObject(CUENTA_CON_MOVIMIENTOS, Long.class);
+        Long movimientoId = jdbcTemplate.queryForObject(PRIMER_MOVIMIENTO, Long.class, cuentaId);
+        // Se borra el primer movimiento por SQL, sin rehacer la cadena ni el saldo de la cuenta
+        jdbcTemplate.update("DELETE FROM movimientos WHERE id = ?", movimientoId);
+
+        // Act
+        LedgerReconciler.Reconciliation rota = reconciler.reconcile();
+
+        // Assert
+        assertEquals(0, limpia.descuadres());
+        assertEquals(0, limpia.fallidos());
+        assertTrue(limpia.rangos() > 1);
+        assertEquals(limpia.movimientos() - 1, rota.movimientos());
+        assertEquals(2, rota.descuadres());
+        List<Map<String, Object>> detalle = reconciler.discrepancies(rota.id(), 10);
+        assertEquals(2, detalle.size());
+        assertTrue(detalle.stream().allMatch(fila -> cuentaId.equals(((Number) fila.get("cuenta_id")).longValue())));
+        assertEquals(Set.of("MOVIMIENTO", "CUENTA"), detalle.stream().map(fila -> fila.get("tipo")).collect(Collectors.toSet()));
+        assertEquals(rota.descuadres(), jdbcTemplate.queryForObject(
+                "SELECT descuadres FROM conciliaciones_libro WHERE id = ?", Long.class, rota.id()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ejercicio.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingFilterTest {
+
+    private static final String SQL_LOGGER = "org.hibernate.SQL";
+
+    private SamplingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SamplingFilter();
+        filter.addLogger(SQL_LOGGER);
+        filter.setOneIn(1_000_000);
+        filter.start();
+    }
+
+    @Test
+    void decide_DeberiaDescartarCasiTodosLosEventosMuestreados() {
+        // Act
+        int aceptados = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (filter.decide(event(SQL_LOGGER, Level.DEBUG)) == FilterReply.NEUTRAL) {
+                aceptados++;
+            }
+        }
+
+        // Assert
+        assertTrue(aceptados < 5);
+    }
+
+    @Test
+    void decide_NoDeberiaMuestrearWarnNiError() {
+        // Act & Assert
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(SQL_LOGGER, Level.WARN)));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event(SQL_LOGGER, Level.ERROR)));
+    }
+
+    @Test
+    void decide_NoDeberiaMuestrearOtrosLoggers() {
+        // Act & Assert
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event("com.example.ejercicio.service", Level.INFO)));
+    }
+
+    private static LoggingEvent event(String loggerName, Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerName(loggerName);
+        event.setLevel(level);
+        event.setMessage("mensaje");
+        return event;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.ejercicio.model;
+
+import com.example.ejercicio.dto.CuentaRequestDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void valueOf_DeberiaLeerImportesConHastaDosDecimales() {
+        // Act & Assert
+        assertEquals(12537L, Money.valueOf("125.37").getCents());
+        assertEquals(-12530L, Money.valueOf("-125.3").getCents());
+        assertEquals(500L, Money.valueOf("5").getCents());
+        assertEquals(50L, Money.valueOf(".50").getCents());
+        assertEquals(100L, Money.valueOf("1.000").getCents());
+        assertEquals(150000L, Money.valueOf("1.5e3").getCents());
+    }
+
+    @Test
+    void valueOf_DeberiaRechazarMasDeDosDecimalesYTextoNoNumerico() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> Money.valueOf("1.005"));
+        assertThrows(IllegalArgumentException.class, () -> Money.valueOf("abc"));
+        assertThrows(IllegalArgumentException.class, () -> Money.valueOf("-"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("0.001")));
+    }
+
+    @Test
+    void hasSufficientBalance_DeberiaCubrirDebitosHastaElSaldo() {
+        // Arrange
+        Cuenta cuenta = new Cuenta("4001234567890001", TipoCuenta.AHORRO, Money.valueOf("100.00"), null);
+
+        // Act & Assert
+        assertTrue(cuenta.hasSufficientBalance(Money.valueOf("-100.00")));
+        assertTrue(cuenta.hasSufficientBalance(Money.valueOf("100.00")));
+        assertFalse(cuenta.hasSufficientBalance(Money.valueOf("-100.01")));
+    }
+
+    @Test
+    void aritmetica_DeberiaFallarAlSalirseDeNumeric15_2() {
+        // Arrange
+        Money maximo = Money.ofCents(Money.MAX_CENTS);
+
+        // Act & Assert
+        assertEquals("9999999999999.99", maximo.toString());
+        assertThrows(ArithmeticException.class, () -> maximo.plus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> maximo.negate().minus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> Money.valueOf("10000000000000.00"));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1E+30")));
+    }
+
+    @Test
+    void toString_DeberiaUsarSiempreDosDecimales() {
+        // Act & Assert
+        assertEquals("0.00", Money.ZERO.toString());
+        assertEquals("-0.05", Money.ofCents(-5).toString());
+        assertEquals("1250.00", Money.valueOf("1250").toString());
+        assertEquals(new BigDecimal("-125.30"), Money.valueOf("-125.3").toBigDecimal());
+    }
+
+    @Test
+    void json_DeberiaEscribirseComoNumeroYLeerseDeNumeroOTexto() throws Exception {
+        // Act & Assert
+        assertEquals("-125.30", objectMapper.writeValueAsString(Money.valueOf("-125.3")));
+        assertEquals(Money.ofCents(12537), objectMapper.readValue("125.37", Money.class));
+        assertEquals(Money.ofCents(1000), objectMapper.readValue("10", Money.class));
+        assertEquals(Money.ofCents(1000), objectMapper.readValue("\"10.00\"", Money.class));
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("10.001", Money.class));
+    }
+
+    @Test
+    void decimalMin_DeberiaValidarCamposMoney() {
+        // Arrange
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        CuentaRequestDTO cuenta = new CuentaRequestDTO();
+        cuenta.setNumeroCuenta("4001234567890001");
+        cuenta.setTipoCuenta("AHORRO");
+        cuenta.setClienteId(1L);
+
+        // Act & Assert
+        cuenta.setSaldoInicial(Money.valueOf("-0.01"));
+        assertEquals(1, validator.validate(cuenta).size());
+        cuenta.setSaldoInicial(Money.ZERO);
+        assertTrue(validator.validate(cuenta).isEmpty());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ejercicio.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TipoMovimientoTest {
+
+    @Test
+    void from_DeberiaAceptarNombresCanonicosYAliasHeredados() {
+        // Act & Assert
+        assertEquals(TipoMovimiento.CREDITO, TipoMovimiento.from("credito"));
+        assertEquals(TipoMovimiento.CREDITO, TipoMovimiento.from(" DEPOSITO "));
+        assertEquals(TipoMovimiento.DEBITO, TipoMovimiento.from("Retiro"));
+        assertEquals(TipoCuenta.AHORRO, TipoCuenta.from("AHORROS"));
+        assertEquals(TipoCuenta.CORRIENTE, TipoCuenta.from("corriente"));
+    }
+
+    @Test
+    void from_DeberiaRechazarTiposDesconocidos() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> TipoMovimiento.from("TRANSFERENCIA"));
+        assertThrows(IllegalArgumentException.class, () -> TipoCuenta.from(null));
+        assertThrows(IllegalArgumentException.class, () -> TipoMovimiento.fromCode((short) 9));
+    }
+
+    @Test
+    void codigos_DeberianCoincidirConLasTablasDeLaMigracion() {
+        // Act & Assert
+        assertEquals(1, TipoMovimiento.CREDITO.getCode());
+        assertEquals(2, TipoMovimiento.DEBITO.getCode());
+        assertEquals(1, TipoCuenta.AHORRO.getCode());
+        assertEquals(2, TipoCuenta.CORRIENTE.getCode());
+        for (TipoMovimiento tipo : TipoMovimiento.values()) {
+            assertEquals(tipo, new TipoMovimientoConverter().convertToEntityAttribute(tipo.getCode()));
+        }
+    }
+
+    @Test
+    void matching_DeberiaBuscarPorSubcadenaEnNombresYAlias() {
+        // Act & Assert
+        assertEquals(List.of(TipoMovimiento.CREDITO), TipoMovimiento.matching("depo"));
+        assertEquals(List.of(TipoMovimiento.CREDITO, TipoMovimiento.DEBITO), TipoMovimiento.matching("ito"));
+        assertTrue(TipoMovimiento.matching("nomina").isEmpty());
+    }
+}
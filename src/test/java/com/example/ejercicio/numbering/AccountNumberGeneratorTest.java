@@ -0,0 +1,78 @@
+package com.example.ejercicio.numbering;
+
+import com.example.ejercicio.dto.CuentaRequestDTO;
+import com.example.ejercicio.dto.CuentaResponseDTO;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.service.CuentaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:numeroscuenta;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("embedded")
+class AccountNumberGeneratorTest {
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void next_NoDeberiaRepetirNumerosEntreNodosConcurrentes() throws Exception {
+        // Arrange
+        List<AccountNumberGenerator> nodos = List.of(
+                new AccountNumberGenerator(jdbcTemplate, new SimpleMeterRegistry()),
+                new AccountNumberGenerator(jdbcTemplate, new SimpleMeterRegistry()));
+        Set<String> numeros = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            AccountNumberGenerator nodo = nodos.get(i % 2);
+            tareas.add(executor.submit(() -> IntStream.range(0, 500).forEach(n -> numeros.add(nodo.next()))));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(4000, numeros.size());
+        assertTrue(numeros.stream().allMatch(AccountNumberGenerator::isReserved));
+        assertTrue(numeros.stream().allMatch(AccountNumberGenerator::hasValidCheckDigit));
+    }
+
+    @Test
+    void createAccount_DeberiaGenerarNumeroCuandoNoSeIndica() {
+        // Arrange
+        CuentaRequestDTO cuenta = new CuentaRequestDTO();
+        cuenta.setTipoCuenta("CORRIENTE");
+        cuenta.setSaldoInicial(Money.valueOf("50.00"));
+        cuenta.setClienteId(jdbcTemplate.queryForObject("SELECT MIN(persona_id) FROM clientes", Long.class));
+
+        // Act
+        CuentaResponseDTO creada = cuentaService.createAccount(cuenta);
+        cuenta.setNumeroCuenta(creada.getNumeroCuenta());
+
+        // Assert
+        assertTrue(AccountNumberGenerator.isReserved(creada.getNumeroCuenta()));
+        assertTrue(AccountNumberGenerator.hasValidCheckDigit(creada.getNumeroCuenta()));
+        assertThrows(IllegalArgumentException.class, () -> cuentaService.createAccount(cuenta));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ejercicio.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovimientoPartitionMaintenanceTest {
+
+    private static final YearMonth ACTUAL = YearMonth.of(2025, 11);
+
+    @Test
+    void partitionName_DeberiaUsarAnioYMes() {
+        // Act & Assert
+        assertEquals("movimientos_p202511", MovimientoPartitionMaintenance.partitionName(ACTUAL));
+    }
+
+    @Test
+    void missingMonths_DeberiaIncluirElMesActualYLosSiguientesQueFalten() {
+        // Arrange
+        Set<String> existentes = Set.of("movimientos_default", "movimientos_p202511", "movimientos_p202512");
+
+        // Act
+        List<YearMonth> faltantes = MovimientoPartitionMaintenance.missingMonths(ACTUAL, 3, existentes);
+
+        // Assert
+        assertEquals(List.of(YearMonth.of(2026, 1), YearMonth.of(2026, 2)), faltantes);
+    }
+
+    @Test
+    void expiredPartitions_DeberiaDesacoplarSoloLosMesesFueraDeLaRetencion() {
+        // Arrange
+        Set<String> existentes = Set.of("movimientos_default", "movimientos_p202508", "movimientos_p202509",
+                "movimientos_p202510", "movimientos_p202511", "movimientos_p202512");
+
+        // Act
+        List<String> vencidas = MovimientoPartitionMaintenance.expiredPartitions(ACTUAL, 2, existentes);
+
+        // Assert
+        assertEquals(List.of("movimientos_p202508", "movimientos_p202509"), vencidas);
+    }
+
+    @Test
+    void expiredPartitions_NoDeberiaDesacoplarNadaSinRetencion() {
+        // Act & Assert
+        assertTrue(MovimientoPartitionMaintenance.expiredPartitions(ACTUAL, 0, Set.of("movimientos_p200001")).isEmpty());
+    }
+}
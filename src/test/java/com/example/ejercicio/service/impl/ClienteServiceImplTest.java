@@ -1,5 +1,8 @@
 package com.example.ejercicio.service.impl;
 
+import com.example.ejercicio.balance.ClientBalanceAggregate;
+import com.example.ejercicio.bloom.BloomFilterProperties;
+import com.example.ejercicio.bloom.ExistenceFilters;
 import com.example.ejercicio.dto.ClienteRequestDTO;
 import com.example.ejercicio.dto.ClienteResponseDTO;
 import com.example.ejercicio.exception.DuplicateResourceException;
@@ -7,17 +10,22 @@ import com.example.ejercicio.exception.ResourceNotFoundException;
 import com.example.ejercicio.model.Cliente;
 import com.example.ejercicio.repository.ClienteRepository;
 import com.example.ejercicio.repository.CuentaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -36,6 +44,13 @@ class ClienteServiceImplTest {
     @Mock
     private CuentaRepository cuentaRepository;
 
+    @Mock
+    private ClientBalanceAggregate clientBalances;
+
+    // Never built, so every existence check reaches the mocked repository
+    @Spy
+    private ExistenceFilters existenceFilters = new ExistenceFilters(null, null, new BloomFilterProperties(), new SimpleMeterRegistry());
+
     @InjectMocks
     private ClienteServiceImpl clienteService;
 
@@ -74,9 +89,7 @@ class ClienteServiceImplTest {
     @Test
     void crearCliente_DeberiaCrearClienteExitosamente() {
         // Arrange
-        when(clienteRepository.existsByClienteId("CLI001")).thenReturn(false);
-        when(clienteRepository.existsByIdentificacion("1234567890")).thenReturn(false);
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenReturn(cliente);
 
         // Act
         ClienteResponseDTO resultado = clienteService.createClient(clienteRequestDTO);
@@ -88,15 +101,15 @@ class ClienteServiceImplTest {
         assertEquals("1234567890", resultado.getIdentificacion());
         assertTrue(resultado.getEstado());
 
-        verify(clienteRepository).existsByClienteId("CLI001");
-        verify(clienteRepository).existsByIdentificacion("1234567890");
-        verify(clienteRepository).save(any(Cliente.class));
+        verify(clienteRepository, never()).existsByClienteId(any());
+        verify(clienteRepository, never()).existsByIdentificacion(any());
+        verify(clienteRepository).saveAndFlush(any(Cliente.class));
     }
 
     @Test
     void crearCliente_DeberiaLanzarExcepcionCuandoClienteIdYaExiste() {
         // Arrange
-        when(clienteRepository.existsByClienteId("CLI001")).thenReturn(true);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenThrow(uniqueViolation("clientes_clienteid_key"));
 
         // Act & Assert
         DuplicateResourceException exception = assertThrows(
@@ -105,15 +118,13 @@ class ClienteServiceImplTest {
         );
 
         assertEquals("Ya existe un cliente con el clienteId: CLI001", exception.getMessage());
-        verify(clienteRepository).existsByClienteId("CLI001");
-        verify(clienteRepository, never()).save(any(Cliente.class));
+        verify(clientBalances, never()).clientCreated(any());
     }
 
     @Test
     void crearCliente_DeberiaLanzarExcepcionCuandoIdentificacionYaExiste() {
         // Arrange
-        when(clienteRepository.existsByClienteId("CLI001")).thenReturn(false);
-        when(clienteRepository.existsByIdentificacion("1234567890")).thenReturn(true);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenThrow(uniqueViolation("personas_identificacion_key"));
 
         // Act & Assert
         DuplicateResourceException exception = assertThrows(
@@ -122,9 +133,7 @@ class ClienteServiceImplTest {
         );
 
         assertEquals("Ya existe un cliente con la identificación: 1234567890", exception.getMessage());
-        verify(clienteRepository).existsByClienteId("CLI001");
-        verify(clienteRepository).existsByIdentificacion("1234567890");
-        verify(clienteRepository, never()).save(any(Cliente.class));
+        verify(clientBalances, never()).clientCreated(any());
     }
 
     @Test
@@ -250,9 +259,7 @@ class ClienteServiceImplTest {
         actualizacion.setEstado(true);
 
         when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
-        when(clienteRepository.existsByClienteId("CLI001")).thenReturn(false);
-        when(clienteRepository.existsByIdentificacion("1234567890")).thenReturn(false);
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenReturn(cliente);
 
         // Act
         ClienteResponseDTO resultado = clienteService.updateClient(1L, actualizacion);
@@ -260,7 +267,24 @@ class ClienteServiceImplTest {
         // Assert
         assertNotNull(resultado);
         verify(clienteRepository).findById(1L);
-        verify(clienteRepository).save(any(Cliente.class));
+        verify(clienteRepository).saveAndFlush(any(Cliente.class));
+    }
+
+    @Test
+    void actualizarCliente_DeberiaLanzarExcepcionCuandoClienteIdYaExisteEnOtroNodo() {
+        // Arrange
+        clienteRequestDTO.setClienteId("CLI002");
+        when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenThrow(uniqueViolation("clientes_clienteid_key"));
+
+        // Act & Assert
+        DuplicateResourceException exception = assertThrows(
+                DuplicateResourceException.class,
+                () -> clienteService.updateClient(1L, clienteRequestDTO)
+        );
+
+        assertEquals("Ya existe un cliente con el clienteId: CLI002", exception.getMessage());
+        verify(clienteRepository, never()).existsByClienteId(any());
     }
 
     @Test
@@ -351,4 +375,10 @@ class ClienteServiceImplTest {
         assertFalse(resultado);
         verify(clienteRepository).existsByIdentificacion("9999999999");
     }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraint) {
+        SQLException cause = new SQLException("duplicate key value violates unique constraint \"" + constraint + "\"", "23505");
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", cause, constraint));
+    }
 }
@@ -0,0 +1,96 @@
+package com.example.ejercicio.service.impl;
+
+import com.example.ejercicio.balance.ClientBalanceReconciler;
+import com.example.ejercicio.ledger.LedgerReconciler;
+import com.example.ejercicio.model.Money;
+import com.example.ejercicio.service.CuentaService;
+import com.example.ejercicio.service.MovimientoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recadena;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "app.archive.directory=target/recadena-sin-archivo"
+})
+@ActiveProfiles("embedded")
+class MovimientoServiceImplRechainTest {
+
+    private static final String MOVIMIENTOS_DE_CUENTA = "SELECT id FROM movimientos WHERE cuenta_id = ? ORDER BY fecha, id";
+    private static final String CUENTAS_CON_MOVIMIENTOS = "SELECT cuenta_id FROM movimientos GROUP BY cuenta_id HAVING COUNT(*) > 2 ORDER BY cuenta_id";
+
+    @Autowired
+    private MovimientoService movimientoService;
+
+    @Autowired
+    private CuentaService cuentaService;
+
+    @Autowired
+    private LedgerReconciler ledgerReconciler;
+
+    @Autowired
+    private ClientBalanceReconciler clientBalanceReconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deleteMovements_DeberiaRehacerLaCadenaDeSaldosDeLosPosteriores() {
+        // Arrange
+        List<Long> cuentas = jdbcTemplate.queryForList(CUENTAS_CON_MOVIMIENTOS, Long.class);
+        Long cuenta = cuentas.get(0);
+        List<Long> movimientos = jdbcTemplate.queryForList(MOVIMIENTOS_DE_CUENTA, Long.class, cuenta);
+        Long primero = movimientos.get(0);
+        Long ultimo = movimientos.get(movimientos.size() - 1);
+        Money valorPrimero = valor(primero);
+        Money saldoUltimo = saldo(ultimo);
+        Money saldoCuenta = cuentaService.getAccountBalance(cuenta);
+
+        // Act
+        movimientoService.deleteMovement(primero);
+
+        // Assert
+        assertEquals(saldoUltimo.minus(valorPrimero), saldo(ultimo));
+        assertEquals(saldoCuenta.minus(valorPrimero), cuentaService.getAccountBalance(cuenta));
+        assertEquals(0, ledgerReconciler.reconcile().descuadres());
+        assertTrue(clientBalanceReconciler.reconcile(false).descuadrados().isEmpty());
+    }
+
+    @Test
+    void deleteMovements_DeberiaBorrarVariosPorCuentaConUnaSolaRecadena() {
+        // Arrange
+        List<Long> cuentas = jdbcTemplate.queryForList(CUENTAS_CON_MOVIMIENTOS, Long.class);
+        Long cuenta = cuentas.get(cuentas.size() - 1);
+        List<Long> movimientos = jdbcTemplate.queryForList(MOVIMIENTOS_DE_CUENTA, Long.class, cuenta);
+        Long primero = movimientos.get(0);
+        Long segundo = movimientos.get(1);
+        Long ultimo = movimientos.get(movimientos.size() - 1);
+        Long deOtraCuenta = jdbcTemplate.queryForList(MOVIMIENTOS_DE_CUENTA, Long.class, cuentas.get(cuentas.size() - 2)).get(0);
+        Money borrado = valor(primero).plus(valor(segundo));
+        Money saldoUltimo = saldo(ultimo);
+
+        // Act
+        movimientoService.deleteMovements(List.of(segundo, deOtraCuenta, primero));
+
+        // Assert
+        assertEquals(movimientos.size() - 2, jdbcTemplate.queryForList(MOVIMIENTOS_DE_CUENTA, Long.class, cuenta).size());
+        assertEquals(saldoUltimo.minus(borrado), saldo(ultimo));
+        assertEquals(0, ledgerReconciler.reconcile().descuadres());
+        assertTrue(clientBalanceReconciler.reconcile(false).descuadrados().isEmpty());
+    }
+
+    private Money valor(Long movimientoId) {
+        return Money.of(jdbcTemplate.queryForObject("SELECT valor FROM movimientos WHERE id = ?", BigDecimal.class, movimientoId));
+    }
+
+    private Money saldo(Long movimientoId) {
+        return Money.of(jdbcTemplate.queryForObject("SELECT saldo FROM movimientos WHERE id = ?", BigDecimal.class, movimientoId));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ejercicio.sql;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositoryLatenciesTest {
+
+    private RepositoryLatencies latencies;
+
+    @BeforeEach
+    void setUp() {
+        latencies = new RepositoryLatencies();
+    }
+
+    @Test
+    void slowest_DeberiaOrdenarLosMetodosPorP99Descendente() {
+        // Arrange
+        for (int i = 0; i < 100; i++) {
+            latencies.record("CuentaRepository.findById", TimeUnit.MILLISECONDS.toNanos(1));
+            latencies.record("MovimientoRepository.buscarMovimientos", TimeUnit.MILLISECONDS.toNanos(40));
+        }
+
+        // Act
+        List<Map<String, Object>> slowest = latencies.slowest(10);
+
+        // Assert
+        assertEquals(2, slowest.size());
+        assertEquals("MovimientoRepository.buscarMovimientos", slowest.get(0).get("metodo"));
+        assertEquals(100L, slowest.get(0).get("sentencias"));
+        assertEquals(40.0, (double) slowest.get(0).get("p99Ms"), 0.1);
+    }
+
+    @Test
+    void slowest_DeberiaLimitarElNumeroDeMetodos() {
+        // Arrange
+        latencies.record("ClienteRepository.findById", 1_000);
+        latencies.record("CuentaRepository.findById", 2_000);
+        latencies.record("MovimientoRepository.findAll", 3_000);
+
+        // Act & Assert
+        assertEquals(2, latencies.slowest(2).size());
+    }
+
+    @Test
+    void record_DeberiaAgruparSentenciasSinRepositorio() {
+        // Act
+        latencies.record(null, 1_000);
+
+        // Assert
+        assertEquals(RepositoryLatencies.UNATTRIBUTED, latencies.slowest(1).get(0).get("metodo"));
+    }
+}
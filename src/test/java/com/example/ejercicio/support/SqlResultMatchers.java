@@ -0,0 +1,50 @@
+package com.example.ejercicio.support;
+
+import com.example.ejercicio.sql.SqlStatsResponseAdvice;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers over the X-SQL-* headers written for each request, e.g.
+ * {@code .andExpect(SqlResultMatchers.statementsAtMost(2))}. The headers must be enabled
+ * (app.sql-stats.response-headers=true, the default outside the prod profile).
+ */
+public final class SqlResultMatchers {
+
+    private SqlResultMatchers() {
+    }
+
+    public static ResultMatcher statementsAtMost(int max) {
+        return result -> {
+            int statements = header(result.getResponse().getHeader(SqlStatsResponseAdvice.STATEMENTS_HEADER),
+                    SqlStatsResponseAdvice.STATEMENTS_HEADER);
+            assertTrue(statements <= max, "Se esperaban como máximo " + max + " sentencias SQL pero se ejecutaron " + statements);
+        };
+    }
+
+    public static ResultMatcher rowsAtMost(long max) {
+        return result -> {
+            int rows = header(result.getResponse().getHeader(SqlStatsResponseAdvice.ROWS_HEADER),
+                    SqlStatsResponseAdvice.ROWS_HEADER);
+            assertTrue(rows <= max, "Se esperaban como máximo " + max + " filas leídas pero se leyeron " + rows);
+        };
+    }
+
+    /**
+     * Fails when any single SQL string ran more than {@code max} times, the usual shape of an N+1.
+     */
+    public static ResultMatcher noStatementRepeatedMoreThan(int max) {
+        return result -> {
+            int repetitions = header(result.getResponse().getHeader(SqlStatsResponseAdvice.MAX_REPETITIONS_HEADER),
+                    SqlStatsResponseAdvice.MAX_REPETITIONS_HEADER);
+            assertTrue(repetitions <= max, "Una misma sentencia SQL se ejecutó " + repetitions + " veces (máximo " + max + ")");
+        };
+    }
+
+    private static int header(String value, String name) {
+        assertNotNull(value, "La respuesta no incluye la cabecera " + name);
+        return Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.ejercicio.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracesEndpointTest {
+
+    private InMemorySpanExporter exporter;
+    private TracesEndpoint endpoint;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new InMemorySpanExporter(3);
+        endpoint = new TracesEndpoint(exporter);
+        tracer = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build()
+                .get("test");
+    }
+
+    @Test
+    void traces_DeberiaResumirCadaTrazaPorSuSpanRaiz() {
+        // Arrange
+        Span raiz = tracer.spanBuilder("http get /cuentas/{id}/saldo").startSpan();
+        try (Scope scope = raiz.makeCurrent()) {
+            tracer.spanBuilder("cuenta-repository.find-by-id").startSpan().end();
+        }
+        raiz.end();
+
+        // Act
+        List<Map<String, Object>> traces = endpoint.traces();
+
+        // Assert
+        assertEquals(1, traces.size());
+        assertEquals("http get /cuentas/{id}/saldo", traces.get(0).get("nombre"));
+        assertEquals(2, traces.get(0).get("spans"));
+    }
+
+    @Test
+    void trace_DeberiaDevolverLosSpansConSuPadre() {
+        // Arrange
+        Span raiz = tracer.spanBuilder("raiz").startSpan();
+        try (Scope scope = raiz.makeCurrent()) {
+            tracer.spanBuilder("hijo").startSpan().end();
+        }
+        raiz.end();
+        String traceId = raiz.getSpanContext().getTraceId();
+
+        // Act
+        List<Map<String, Object>> spans = endpoint.trace(traceId);
+
+        // Assert
+        assertEquals(2, spans.size());
+        Map<String, Object> hijo = spans.stream().filter(s -> "hijo".equals(s.get("nombre"))).findFirst().orElseThrow();
+        assertEquals(raiz.getSpanContext().getSpanId(), hijo.get("parentSpanId"));
+    }
+
+    @Test
+    void export_DeberiaDescartarLosSpansMasAntiguosAlSuperarElLimite() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            tracer.spanBuilder("span-" + i).startSpan().end();
+        }
+
+        // Assert
+        assertEquals(3, exporter.snapshot().size());
+        assertEquals("span-2", exporter.snapshot().get(0).getName());
+    }
+}